@@ -0,0 +1,302 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package allocation.java;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Calendar;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunset;
+import main.java.SunriseSunsetBatchCalculator;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * The {@link AllocationBudgetTest} class fails the build when a hot path of
+ * the {@link SunriseSunsetCalculator}, the {@link SunriseSunset} or the
+ * {@link SunriseSunsetBatchCalculator} allocates more bytes per call than its
+ * budget. Each call is first run until the JIT compiler has compiled it, and
+ * the bytes allocated by the thread are then averaged over many calls with
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}.
+ * 
+ * The budgets are a little above the allocation measured on OpenJDK 11 and
+ * 17, which depends on the escape analysis of the JIT compiler. They are
+ * measured as the library runs by default, without the
+ * {@code SolarCalculationStatistics}. A budget is
+ * lowered with the allocation it guards, never raised to let a change pass.
+ * 
+ * @version 1.0
+ */
+public class AllocationBudgetTest {
+	/* The calls measured, run twice as many times before to be compiled */
+	private static final int CALLS = 10000;
+	/* The calls measured of the BigDecimal and bulk computations */
+	private static final int SLOW_CALLS = 1000;
+
+	/* A budget for the calls returning primitives, allowing no object */
+	private static final long NO_OBJECT = 16;
+	/* The BigDecimal calculation of an event and its String or Calendar */
+	private static final long BIG_DECIMAL_EVENT = 20000;
+	/* The "HH:mm" String of an event */
+	private static final long TIME_STRING = 128;
+	/* The Calendar of an event, cloned from the date */
+	private static final long CALENDAR = 640;
+	/* An Instant, ZonedDateTime, Duration or LocalTime */
+	private static final long DATE_TIME = 256;
+	/* The array of the eight SolarEvent */
+	private static final long EVENT_ARRAY = 192;
+
+	private static com.sun.management.ThreadMXBean threads;
+
+	/* Keeps the results alive so the JIT compiler cannot drop the calls */
+	private static Object sink;
+	private static long primitiveSink;
+
+	private final Calendar calendar = createCalendar();
+	private final LocalDate date = LocalDate.of(2015, 6, 21);
+
+	@BeforeClass
+	public static void setupClass() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemorySupported());
+		threads.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseTime(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseCalendar(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEvent(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testCalculatorBigDecimal() {
+		SunriseSunsetCalculator calculator = createCalculator(CalculationMode.BIG_DECIMAL);
+		assertBudget("BIG_DECIMAL computeSunriseTime", BIG_DECIMAL_EVENT,
+				SLOW_CALLS, () -> sink = calculator.computeSunriseTime(
+						Twilight.OFFICIAL, calendar));
+		assertBudget("BIG_DECIMAL computeSunriseCalendar", BIG_DECIMAL_EVENT
+				+ CALENDAR, SLOW_CALLS,
+				() -> sink = calculator.computeSunriseCalendar(
+						Twilight.OFFICIAL, calendar));
+		assertBudget("BIG_DECIMAL computeSunriseEvent(LocalDate)",
+				BIG_DECIMAL_EVENT + CALENDAR, SLOW_CALLS,
+				() -> primitiveSink = calculator.computeSunriseEvent(
+						Twilight.OFFICIAL, date));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseTime(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseCalendar(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEvent(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEvent(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testCalculatorPrimitive() {
+		for (CalculationMode mode : getPrimitiveModes()) {
+			SunriseSunsetCalculator calculator = createCalculator(mode);
+			assertBudget(mode + " computeSunriseTime", TIME_STRING,
+					() -> sink = calculator.computeSunriseTime(
+							Twilight.OFFICIAL, calendar));
+			assertBudget(mode + " computeSunriseCalendar", CALENDAR,
+					() -> sink = calculator.computeSunriseCalendar(
+							Twilight.OFFICIAL, calendar));
+			assertBudget(mode + " computeSunriseMinutes", NO_OBJECT,
+					() -> primitiveSink = calculator.computeSunriseMinutes(
+							Twilight.OFFICIAL, calendar));
+			assertBudget(mode + " computeSunriseEvent(Calendar)", NO_OBJECT,
+					() -> primitiveSink = calculator.computeSunriseEvent(
+							Twilight.OFFICIAL, calendar));
+			assertBudget(mode + " computeSunriseEvent(LocalDate)", NO_OBJECT,
+					() -> primitiveSink = calculator.computeSunriseEvent(
+							Twilight.OFFICIAL, date));
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getOfficialSunrise(Calendar)}
+	 * {@link main.java.SunriseSunset#getOfficialSunriseCalendar(Calendar)}
+	 * {@link main.java.SunriseSunset#getSunriseEvent(Twilight, Calendar)}
+	 */
+	@Test
+	public void testSunriseSunsetBigDecimal() {
+		SunriseSunset sunriseSunset = createSunriseSunset(CalculationMode.BIG_DECIMAL);
+		assertBudget("BIG_DECIMAL getOfficialSunrise", BIG_DECIMAL_EVENT,
+				SLOW_CALLS,
+				() -> sink = sunriseSunset.getOfficialSunrise(calendar));
+		assertBudget("BIG_DECIMAL getOfficialSunriseCalendar",
+				BIG_DECIMAL_EVENT + CALENDAR, SLOW_CALLS,
+				() -> sink = sunriseSunset.getOfficialSunriseCalendar(calendar));
+		assertBudget("BIG_DECIMAL getSunriseEvent", BIG_DECIMAL_EVENT,
+				SLOW_CALLS, () -> primitiveSink = sunriseSunset.getSunriseEvent(
+						Twilight.OFFICIAL, calendar));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getOfficialSunrise(Calendar)}
+	 * {@link main.java.SunriseSunset#getOfficialSunriseCalendar(Calendar)}
+	 * {@link main.java.SunriseSunset#getSunriseEvent(Twilight, Calendar)}
+	 * {@link main.java.SunriseSunset#getSunriseInstant(Twilight, LocalDate)}
+	 * {@link main.java.SunriseSunset#getSunriseDateTime(Twilight, LocalDate)}
+	 * {@link main.java.SunriseSunset#getDayLength(Twilight, LocalDate)}
+	 * {@link main.java.SunriseSunset#getSolarNoon(LocalDate)}
+	 * {@link main.java.SunriseSunset#getEventMinutes(Calendar)}
+	 */
+	@Test
+	public void testSunriseSunsetPrimitive() {
+		for (CalculationMode mode : getPrimitiveModes()) {
+			SunriseSunset sunriseSunset = createSunriseSunset(mode);
+			assertBudget(mode + " getOfficialSunrise", TIME_STRING,
+					() -> sink = sunriseSunset.getOfficialSunrise(calendar));
+			assertBudget(mode + " getOfficialSunriseCalendar", CALENDAR,
+					() -> sink = sunriseSunset
+							.getOfficialSunriseCalendar(calendar));
+			assertBudget(mode + " getSunriseEvent", NO_OBJECT,
+					() -> primitiveSink = sunriseSunset.getSunriseEvent(
+							Twilight.OFFICIAL, calendar));
+			assertBudget(mode + " getSunriseInstant", DATE_TIME,
+					() -> sink = sunriseSunset.getSunriseInstant(
+							Twilight.OFFICIAL, date));
+			assertBudget(mode + " getSunriseDateTime", DATE_TIME,
+					() -> sink = sunriseSunset.getSunriseDateTime(
+							Twilight.OFFICIAL, date));
+			assertBudget(mode + " getDayLength", DATE_TIME,
+					() -> sink = sunriseSunset.getDayLength(
+							Twilight.OFFICIAL, date));
+			assertBudget(mode + " getSolarNoon", DATE_TIME,
+					() -> sink = sunriseSunset.getSolarNoon(date));
+			assertBudget(mode + " getEventMinutes(Calendar)", EVENT_ARRAY,
+					() -> sink = sunriseSunset.getEventMinutes(calendar));
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#fillEventMinutes(LocalDate, int[][])}
+	 * {@link main.java.SunriseSunset#getEventMinutes(int)}
+	 * {@link main.java.SunriseSunset#fillDaylightMinutes(Twilight[], LocalDate, int[], int[][])}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseMinutes(Twilight[], LocalDate, int[][])}
+	 */
+	@Test
+	public void testBulkYear() {
+		SunriseSunset sunriseSunset = createSunriseSunset(CalculationMode.DOUBLE);
+		SunriseSunsetCalculator calculator = createCalculator(CalculationMode.DOUBLE);
+		LocalDate startDate = LocalDate.of(2015, 1, 1);
+		Twilight[] twilights = { Twilight.OFFICIAL, Twilight.CIVIL };
+		int[][] eventMinutes = new int[8][365];
+		int[][] minutes = new int[2][365];
+		int[] solarNoonMinutes = new int[365];
+
+		/* The arrays filled are reused, a year costs a few small objects */
+		assertBudget("fillEventMinutes", 256, SLOW_CALLS,
+				() -> sunriseSunset.fillEventMinutes(startDate, eventMinutes));
+		assertBudget("computeSunriseMinutes(Twilight[], LocalDate, int[][])",
+				128, SLOW_CALLS, () -> calculator.computeSunriseMinutes(
+						twilights, startDate, minutes));
+		assertBudget("fillDaylightMinutes", 192, SLOW_CALLS,
+				() -> sunriseSunset.fillDaylightMinutes(twilights, startDate,
+						solarNoonMinutes, minutes));
+		/* The eight arrays of 365 minutes returned, 11,808 bytes */
+		assertBudget("getEventMinutes(int)", 12500, SLOW_CALLS,
+				() -> sink = sunriseSunset.getEventMinutes(2015));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetBatchCalculator#computeSunriseEpochSeconds(Twilight, LocalDate, long[])}
+	 */
+	@Test
+	public void testBulkLocations() {
+		double[] latitudes = new double[1000];
+		double[] longitudes = new double[1000];
+		for (int i = 0; i < latitudes.length; i++) {
+			latitudes[i] = (i % 160) - 80;
+			longitudes[i] = (i % 360) - 180;
+		}
+		long[] epochSeconds = new long[latitudes.length];
+		for (CalculationMode mode : getPrimitiveModes()) {
+			SunriseSunsetBatchCalculator batch = new SunriseSunsetBatchCalculator(
+					latitudes, longitudes, mode);
+			/* The five chunks of 1024 doubles of the terms, 41,040 bytes */
+			assertBudget(mode + " computeSunriseEpochSeconds", 42000,
+					SLOW_CALLS,
+					() -> batch.computeSunriseEpochSeconds(Twilight.OFFICIAL,
+							date, epochSeconds));
+		}
+	}
+
+	private static void assertBudget(String name, long budget, Runnable call) {
+		assertBudget(name, budget, CALLS, call);
+	}
+
+	/*
+	 * Fails if the average bytes allocated by a call is over the budget
+	 */
+	private static void assertBudget(String name, long budget, int calls,
+			Runnable call) {
+		for (int i = 0; i < (calls * 2); i++) {
+			call.run();
+		}
+		long threadId = Thread.currentThread().getId();
+		long start = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < calls; i++) {
+			call.run();
+		}
+		long bytes = (threads.getThreadAllocatedBytes(threadId) - start)
+				/ calls;
+		assertTrue(name + " allocated " + bytes
+				+ " bytes per call, over its budget of " + budget,
+				bytes <= budget);
+	}
+
+	private static CalculationMode[] getPrimitiveModes() {
+		return new CalculationMode[] { CalculationMode.DOUBLE,
+				CalculationMode.EPHEMERIS_TABLE, CalculationMode.FAST_MATH };
+	}
+
+	private static SunriseSunsetCalculator createCalculator(
+			CalculationMode mode) {
+		return new SunriseSunsetCalculator("America/New_York",
+				new BigDecimal("39.9522"), new BigDecimal("-75.1642"), mode);
+	}
+
+	private static SunriseSunset createSunriseSunset(CalculationMode mode) {
+		return new SunriseSunset("America/New_York", new BigDecimal("39.9522"),
+				new BigDecimal("-75.1642"), mode);
+	}
+
+	private static Calendar createCalendar() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2015, Calendar.JUNE, 21);
+		return calendar;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package jmh.java;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import main.java.MathUtility;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link MathUtilityBenchmark} class measures the public helpers of the
+ * {@link MathUtility} class, and its fast trigonometry against
+ * {@link java.lang.Math}.
+ * 
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathUtilityBenchmark {
+	private final BigDecimal radians = new BigDecimal("0.5236");
+	private final BigDecimal degrees = new BigDecimal("90.8333");
+	private double angle = 4.2;
+	private double cosine = -0.31;
+	private Calendar date;
+
+	@Setup
+	public void setUp() {
+		date = Calendar.getInstance(TimeZone.getTimeZone("America/New_York"));
+		date.clear();
+		date.set(2015, Calendar.JUNE, 21);
+	}
+
+	@Benchmark
+	public BigDecimal dayOfYear() {
+		return MathUtility.getDayOfYear(date);
+	}
+
+	@Benchmark
+	public BigDecimal utcOffset() {
+		return MathUtility.getUTCOffset(date);
+	}
+
+	@Benchmark
+	public BigDecimal arcCosine() {
+		return MathUtility.getArcCosineFor(radians);
+	}
+
+	@Benchmark
+	public BigDecimal radiansToDegrees() {
+		return MathUtility.convertRadiansToDegrees(radians);
+	}
+
+	@Benchmark
+	public BigDecimal degreesToRadians() {
+		return MathUtility.convertDegreesToRadians(degrees);
+	}
+
+	@Benchmark
+	public double mathSin() {
+		return Math.sin(angle);
+	}
+
+	@Benchmark
+	public double fastSin() {
+		return MathUtility.fastSin(angle);
+	}
+
+	@Benchmark
+	public double mathCos() {
+		return Math.cos(angle);
+	}
+
+	@Benchmark
+	public double fastCos() {
+		return MathUtility.fastCos(angle);
+	}
+
+	@Benchmark
+	public double mathTan() {
+		return Math.tan(angle);
+	}
+
+	@Benchmark
+	public double fastTan() {
+		return MathUtility.fastTan(angle);
+	}
+
+	@Benchmark
+	public double mathAtan() {
+		return Math.atan(angle);
+	}
+
+	@Benchmark
+	public double fastAtan() {
+		return MathUtility.fastAtan(angle);
+	}
+
+	@Benchmark
+	public double mathAcos() {
+		return Math.acos(cosine);
+	}
+
+	@Benchmark
+	public double fastAcos() {
+		return MathUtility.fastAcos(cosine);
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package jmh.java;
+
+import static main.java.Twilight.OFFICIAL;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunsetBatchCalculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link SunriseSunsetBatchCalculatorBenchmark} class measures the
+ * sunrise of each location computed by the
+ * {@link SunriseSunsetBatchCalculator} in each primitive
+ * {@link CalculationMode}, reported per location.
+ * 
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SunriseSunsetBatchCalculatorBenchmark {
+	private static final int LOCATIONS = 10000;
+
+	@Param({ "DOUBLE", "EPHEMERIS_TABLE", "FAST_MATH" })
+	public CalculationMode mode;
+
+	private SunriseSunsetBatchCalculator batch;
+	private final long[] epochSeconds = new long[LOCATIONS];
+	private final LocalDate date = LocalDate.of(2015, 6, 21);
+
+	@Setup
+	public void setUp() {
+		double[] latitudes = new double[LOCATIONS];
+		double[] longitudes = new double[LOCATIONS];
+		for (int i = 0; i < LOCATIONS; i++) {
+			latitudes[i] = -60 + ((120.0 * i) / LOCATIONS);
+			longitudes[i] = -180 + ((360.0 * i) / LOCATIONS);
+		}
+		batch = new SunriseSunsetBatchCalculator(latitudes, longitudes, mode);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LOCATIONS)
+	public long[] sunriseEpochSeconds() {
+		batch.computeSunriseEpochSeconds(OFFICIAL, date, epochSeconds);
+		return epochSeconds;
+	}
+}
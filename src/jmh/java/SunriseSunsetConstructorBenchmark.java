@@ -0,0 +1,109 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package jmh.java;
+
+import java.math.BigDecimal;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link SunriseSunsetConstructorBenchmark} class measures each
+ * constructor of the {@link SunriseSunset} class.
+ * 
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SunriseSunsetConstructorBenchmark {
+	private final String timeZoneIdentifier = "America/New_York";
+	private final TimeZone timeZone = TimeZone
+			.getTimeZone("America/New_York");
+	private final BigDecimal latitude = new BigDecimal("39.9522");
+	private final BigDecimal longitude = new BigDecimal("-75.1642");
+	private final Double latitudeDouble = 39.9522;
+	private final Double longitudeDouble = -75.1642;
+	private final String latitudeString = "39.9522";
+	private final String longitudeString = "-75.1642";
+
+	@Benchmark
+	public SunriseSunset bigDecimalWithIdentifier() {
+		return new SunriseSunset(timeZoneIdentifier, latitude, longitude);
+	}
+
+	@Benchmark
+	public SunriseSunset bigDecimalWithTimeZone() {
+		return new SunriseSunset(timeZone, latitude, longitude);
+	}
+
+	@Benchmark
+	public SunriseSunset doubleWithIdentifier() {
+		return new SunriseSunset(timeZoneIdentifier, latitudeDouble,
+				longitudeDouble);
+	}
+
+	@Benchmark
+	public SunriseSunset doubleWithTimeZone() {
+		return new SunriseSunset(timeZone, latitudeDouble, longitudeDouble);
+	}
+
+	@Benchmark
+	public SunriseSunset stringWithIdentifier() {
+		return new SunriseSunset(timeZoneIdentifier, latitudeString,
+				longitudeString);
+	}
+
+	@Benchmark
+	public SunriseSunset stringWithTimeZone() {
+		return new SunriseSunset(timeZone, latitudeString, longitudeString);
+	}
+
+	@Benchmark
+	public SunriseSunset modeWithIdentifier() {
+		return new SunriseSunset(timeZoneIdentifier, latitude, longitude,
+				CalculationMode.DOUBLE);
+	}
+
+	@Benchmark
+	public SunriseSunset modeWithTimeZone() {
+		return new SunriseSunset(timeZone, latitude, longitude,
+				CalculationMode.DOUBLE);
+	}
+}
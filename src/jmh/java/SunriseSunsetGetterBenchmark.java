@@ -0,0 +1,254 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package jmh.java;
+
+import static main.java.Twilight.OFFICIAL;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunset;
+import main.java.Twilight;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link SunriseSunsetGetterBenchmark} class measures every getter of the
+ * {@link SunriseSunset} class in each {@link CalculationMode}.
+ * 
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SunriseSunsetGetterBenchmark {
+	private static final Twilight[] TWILIGHTS = { Twilight.ASTRONOMICAL,
+			Twilight.NAUTICAL, Twilight.CIVIL, Twilight.OFFICIAL };
+
+	@Param({ "BIG_DECIMAL", "DOUBLE", "EPHEMERIS_TABLE", "FAST_MATH" })
+	public CalculationMode mode;
+
+	private SunriseSunset sunriseSunset;
+	private Calendar date;
+	private LocalDate localDate;
+
+	@Setup
+	public void setUp() {
+		sunriseSunset = new SunriseSunset("America/New_York", new BigDecimal(
+				"39.9522"), new BigDecimal("-75.1642"), mode);
+		date = Calendar.getInstance();
+		date.clear();
+		date.set(2015, Calendar.JUNE, 21);
+		localDate = LocalDate.of(2015, 6, 21);
+	}
+
+	@Benchmark
+	public String astronomicalSunrise() {
+		return sunriseSunset.getAstronomicalSunrise(date);
+	}
+
+	@Benchmark
+	public Calendar astronomicalSunriseCalendar() {
+		return sunriseSunset.getAstronomicalSunriseCalendar(date);
+	}
+
+	@Benchmark
+	public String astronomicalSunset() {
+		return sunriseSunset.getAstronomicalSunset(date);
+	}
+
+	@Benchmark
+	public Calendar astronomicalSunsetCalendar() {
+		return sunriseSunset.getAstronomicalSunsetCalendar(date);
+	}
+
+	@Benchmark
+	public String nauticalSunrise() {
+		return sunriseSunset.getNauticalSunrise(date);
+	}
+
+	@Benchmark
+	public Calendar nauticalSunriseCalendar() {
+		return sunriseSunset.getNauticalSunriseCalendar(date);
+	}
+
+	@Benchmark
+	public String nauticalSunset() {
+		return sunriseSunset.getNauticalSunset(date);
+	}
+
+	@Benchmark
+	public Calendar nauticalSunsetCalendar() {
+		return sunriseSunset.getNauticalSunsetCalendar(date);
+	}
+
+	@Benchmark
+	public String civilSunrise() {
+		return sunriseSunset.getCivilSunrise(date);
+	}
+
+	@Benchmark
+	public Calendar civilSunriseCalendar() {
+		return sunriseSunset.getCivilSunriseCalendar(date);
+	}
+
+	@Benchmark
+	public String civilSunset() {
+		return sunriseSunset.getCivilSunset(date);
+	}
+
+	@Benchmark
+	public Calendar civilSunsetCalendar() {
+		return sunriseSunset.getCivilSunsetCalendar(date);
+	}
+
+	@Benchmark
+	public String officialSunrise() {
+		return sunriseSunset.getOfficialSunrise(date);
+	}
+
+	@Benchmark
+	public Calendar officialSunriseCalendar() {
+		return sunriseSunset.getOfficialSunriseCalendar(date);
+	}
+
+	@Benchmark
+	public String officialSunset() {
+		return sunriseSunset.getOfficialSunset(date);
+	}
+
+	@Benchmark
+	public Calendar officialSunsetCalendar() {
+		return sunriseSunset.getOfficialSunsetCalendar(date);
+	}
+
+	@Benchmark
+	public int sunriseMinutes() {
+		return sunriseSunset.getSunriseMinutes(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public int sunsetMinutes() {
+		return sunriseSunset.getSunsetMinutes(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public long sunriseEpochSecond() {
+		return sunriseSunset.getSunriseEpochSecond(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public long sunsetEpochSecond() {
+		return sunriseSunset.getSunsetEpochSecond(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public long sunriseEvent() {
+		return sunriseSunset.getSunriseEvent(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public long sunsetEvent() {
+		return sunriseSunset.getSunsetEvent(OFFICIAL, date);
+	}
+
+	@Benchmark
+	public Instant sunriseInstant() {
+		return sunriseSunset.getSunriseInstant(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public Instant sunsetInstant() {
+		return sunriseSunset.getSunsetInstant(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public ZonedDateTime sunriseDateTime() {
+		return sunriseSunset.getSunriseDateTime(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public ZonedDateTime sunsetDateTime() {
+		return sunriseSunset.getSunsetDateTime(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public OffsetDateTime sunriseOffsetDateTime() {
+		return sunriseSunset.getSunriseOffsetDateTime(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public OffsetDateTime sunsetOffsetDateTime() {
+		return sunriseSunset.getSunsetOffsetDateTime(OFFICIAL, localDate);
+	}
+
+	@Benchmark
+	public int[] eventMinutes() {
+		return sunriseSunset.getEventMinutes(date);
+	}
+
+	@Benchmark
+	public int[] sunriseMinutesOfTwilights() {
+		return sunriseSunset.getSunriseMinutes(TWILIGHTS, date);
+	}
+
+	@Benchmark
+	public int[] sunsetMinutesOfTwilights() {
+		return sunriseSunset.getSunsetMinutes(TWILIGHTS, date);
+	}
+
+	@Benchmark
+	public int[][] eventMinutesOfYear() {
+		return sunriseSunset.getEventMinutes(2015);
+	}
+
+	@Benchmark
+	public BigDecimal latitude() {
+		return sunriseSunset.getLatitude();
+	}
+
+	@Benchmark
+	public BigDecimal longitude() {
+		return sunriseSunset.getLongitude();
+	}
+}
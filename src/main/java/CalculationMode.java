@@ -0,0 +1,64 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+/**
+ * The {@link CalculationMode} selects the arithmetic used by a
+ * {@link SunriseSunsetCalculator} to compute the sunrise/sunset.
+ * 
+ * @version 1.0
+ */
+public enum CalculationMode {
+	/**
+	 * Every intermediate value is held in a BigDecimal rounded to four decimal
+	 * places. This is the original behaviour of the calculator.
+	 */
+	BIG_DECIMAL,
+
+	/**
+	 * Every intermediate value is held in a primitive double, avoiding the
+	 * BigDecimal allocations and rescaling of each step. The trigonometry is
+	 * evaluated on doubles in both modes, but BIG_DECIMAL rounds each step to
+	 * four decimal places, so a time can round to the next or previous minute.
+	 */
+	DOUBLE,
+
+	/**
+	 * As DOUBLE, but the declination and right ascension of the sun are
+	 * interpolated from the SolarEphemerisTable shared by every calculator
+	 * instead of being computed with trigonometry for each location.
+	 */
+	EPHEMERIS_TABLE,
+
+	/**
+	 * As DOUBLE, but the sine, cosine, tangent, arc tangent and arc cosine are
+	 * evaluated with the fast approximations of MathUtility (within 1e-13 of
+	 * java.lang.Math) and the cosine of the arc sine of the declination with a
+	 * square root. The rounded times are tested to match those of DOUBLE for
+	 * every twilight every 5 degrees of latitude up to 85 degrees north and
+	 * south, every 10 degrees of longitude and every fifth day of 2016; they
+	 * are not guaranteed to match everywhere.
+	 */
+	FAST_MATH
+}
@@ -0,0 +1,164 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@link ClockMap} class is a concurrent map holding at most a fixed
+ * number of entries. Lookups go to a {@link ConcurrentHashMap} without
+ * locking and only mark their entry as referenced. An insertion takes a lock
+ * to move the hand of a CLOCK (second chance) ring past the referenced
+ * entries, clearing their mark, and replaces the first entry that was not
+ * referenced since the hand last passed it, so the most used entries stay in
+ * the map. It bounds the caches, registries and time zone lookups of the
+ * library and of the server module.
+ * 
+ * @version 1.0
+ */
+public final class ClockMap<K, V> {
+	private final ConcurrentHashMap<K, Node<K, V>> nodes;
+	private final Node<?, ?>[] ring;
+	private final ReentrantLock ringLock = new ReentrantLock();
+	private int hand;
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a {@code ClockMap} holding at most the given number of entries
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of entries
+	 */
+	public ClockMap(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Invalid maximum size "
+					+ maximumSize);
+		}
+		this.nodes = new ConcurrentHashMap<K, Node<K, V>>(maximumSize * 2);
+		this.ring = new Node<?, ?>[maximumSize];
+	}
+
+	/**
+	 * Returns the value of the key and marks it as referenced
+	 * 
+	 * @param key
+	 *            the key to look up
+	 * @return The value, or null if the key is not in the map
+	 */
+	public V get(K key) {
+		Node<K, V> node = nodes.get(key);
+		if (node == null) {
+			return null;
+		}
+		if (!node.referenced) {
+			node.referenced = true;
+		}
+		return node.value;
+	}
+
+	/**
+	 * Adds the value unless the key is already in the map, evicting an entry
+	 * when the map is full
+	 * 
+	 * @param key
+	 *            the key to add
+	 * @param value
+	 *            the value to add
+	 * @return The value already in the map, or null if the value was added
+	 */
+	public V putIfAbsent(K key, V value) {
+		Node<K, V> node = new Node<K, V>(key, value);
+		Node<K, V> previous = nodes.putIfAbsent(key, node);
+		if (previous != null) {
+			return previous.value;
+		}
+		Node<?, ?> evicted = null;
+		ringLock.lock();
+		try {
+			while ((ring[hand] != null) && ring[hand].referenced) {
+				ring[hand].referenced = false;
+				hand = (hand + 1) % ring.length;
+			}
+			evicted = ring[hand];
+			ring[hand] = node;
+			hand = (hand + 1) % ring.length;
+		} finally {
+			ringLock.unlock();
+		}
+		if (evicted != null) {
+			nodes.remove(evicted.key, evicted);
+			evictions.increment();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of entries
+	 * 
+	 * @return The number of entries in the map
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Returns the number of entries removed to bound the size of the map
+	 * 
+	 * @return The number of evictions
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Removes every entry. The eviction count is kept.
+	 */
+	public void clear() {
+		ringLock.lock();
+		try {
+			nodes.clear();
+			for (int i = 0; i < ring.length; i++) {
+				ring[i] = null;
+			}
+			hand = 0;
+		} finally {
+			ringLock.unlock();
+		}
+	}
+
+	/* An entry of the map and of the ring */
+	private static final class Node<K, V> {
+		private final K key;
+		private final V value;
+		/* Set by every lookup and cleared by the hand of the ring */
+		private volatile boolean referenced;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
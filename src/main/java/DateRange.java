@@ -0,0 +1,111 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.LocalDate;
+
+/**
+ * The {@link DateRange} class is an immutable range of consecutive dates,
+ * from a start date to an end date both included.
+ * 
+ * @version 1.0
+ */
+public final class DateRange {
+	private final LocalDate start;
+	private final LocalDate end;
+
+	/**
+	 * Creates a {@code DateRange} from the start date to the end date
+	 * 
+	 * @param start
+	 *            the first date of the range
+	 * @param end
+	 *            the last date (inclusive) of the range
+	 */
+	public DateRange(LocalDate start, LocalDate end) {
+		if (end.isBefore(start)) {
+			throw new IllegalArgumentException("The end date " + end
+					+ " is before the start date " + start);
+		}
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Returns the first date of the range
+	 * 
+	 * @return The start {@code LocalDate}
+	 */
+	public LocalDate getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns the last date (inclusive) of the range
+	 * 
+	 * @return The end {@code LocalDate}
+	 */
+	public LocalDate getEnd() {
+		return end;
+	}
+
+	/**
+	 * Returns the number of dates of the range
+	 * 
+	 * @return The number of days from the start date to the end date included
+	 */
+	public int getDayCount() {
+		return (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+	}
+
+	/**
+	 * Returns whether a date is in the range
+	 * 
+	 * @param date
+	 *            the {@code LocalDate} to look for
+	 * @return true if the date is between the start and end dates included
+	 */
+	public boolean contains(LocalDate date) {
+		return !date.isBefore(start) && !date.isAfter(end);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (!(object instanceof DateRange)) {
+			return false;
+		}
+		DateRange other = (DateRange) object;
+		return start.equals(other.start) && end.equals(other.end);
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * start.hashCode()) + end.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return start + "/" + end;
+	}
+}
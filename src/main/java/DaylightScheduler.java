@@ -0,0 +1,441 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@link DaylightScheduler} class runs callbacks at a sunrise or sunset
+ * of a location, plus an offset, every day. Every pending firing is kept in
+ * one hierarchical timing wheel advanced by a single thread, so millions of
+ * registrations cost a few objects each and no thread or scheduled task of
+ * their own. A registration only computes its next firing, with the
+ * {@link SunriseSunsetCalculator} of its location, when it is added and
+ * each time it fires.
+ * 
+ * The wheel has four levels of {@value #LEVEL_0_SLOTS},
+ * {@value #LEVEL_SLOTS}, {@value #LEVEL_SLOTS} and {@value #LEVEL_SLOTS}
+ * slots; a slot of the first level covers one tick, and a slot of each
+ * other level covers a whole turn of the level below. A firing waits in the
+ * level matching how far it is, and moves down a level each time the level
+ * below wraps around, until it fires from the first level. With the default
+ * tick of one second the wheel spans more than two years; a firing that is
+ * further away waits in the last slot of the top level and is placed again
+ * when it is reached.
+ * 
+ * The callbacks run on the {@link Executor} given to the scheduler, or on
+ * the thread of the wheel, where they must be short. A day without the event
+ * (a polar day or night) is skipped; a registration whose event does not
+ * occur during the next {@value SolarEventTracker#MAXIMUM_SEARCH_DAYS} days
+ * is finished.
+ * 
+ * @version 1.0
+ */
+public class DaylightScheduler {
+	/* The default duration of a tick in milliseconds */
+	public static final long DEFAULT_TICK_MILLIS = 1000;
+
+	private static final int LEVEL_0_BITS = 8;
+	private static final int LEVEL_BITS = 6;
+	private static final int LEVEL_0_SLOTS = 1 << LEVEL_0_BITS;
+	private static final int LEVEL_SLOTS = 1 << LEVEL_BITS;
+	private static final int LEVELS = 4;
+	/* The number of ticks spanned by the whole wheel */
+	private static final long WHEEL_TICKS = 1L << (LEVEL_0_BITS
+			+ ((LEVELS - 1) * LEVEL_BITS));
+
+	private final long tickMillis;
+	private final Clock clock;
+	private final Executor executor;
+	/* The slots of each level, each the sentinel of a circular list */
+	private final Registration[][] wheel;
+	/* The registrations added or cancelled since the last tick */
+	private final ConcurrentLinkedQueue<Registration> additions =
+			new ConcurrentLinkedQueue<Registration>();
+	private final ConcurrentLinkedQueue<Registration> cancellations =
+			new ConcurrentLinkedQueue<Registration>();
+	private final AtomicBoolean started = new AtomicBoolean();
+	private final Thread thread;
+	private volatile boolean running = true;
+	/* The last tick processed, only used by the thread of the wheel */
+	private long currentTick;
+	private volatile int pendingCount;
+
+	/**
+	 * Creates a {@code DaylightScheduler} with a tick of
+	 * {@value #DEFAULT_TICK_MILLIS} milliseconds running the callbacks on the
+	 * thread of the wheel
+	 */
+	public DaylightScheduler() {
+		this(DEFAULT_TICK_MILLIS, Clock.systemUTC(), null);
+	}
+
+	/**
+	 * Creates a {@code DaylightScheduler} based on the parameters
+	 * 
+	 * @param tickMillis
+	 *            the duration of a tick in milliseconds, the precision of the
+	 *            firings
+	 * @param clock
+	 *            the {@code Clock} giving the current time
+	 * @param executor
+	 *            the {@code Executor} running the callbacks, or null to run
+	 *            them on the thread of the wheel
+	 */
+	public DaylightScheduler(long tickMillis, Clock clock, Executor executor) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("Invalid tick " + tickMillis);
+		}
+		this.tickMillis = tickMillis;
+		this.clock = clock;
+		this.executor = executor;
+		this.wheel = new Registration[LEVELS][];
+		for (int level = 0; level < LEVELS; level++) {
+			wheel[level] = new Registration[(level == 0) ? LEVEL_0_SLOTS
+					: LEVEL_SLOTS];
+			for (int slot = 0; slot < wheel[level].length; slot++) {
+				Registration sentinel = new Registration(this, null, null,
+						false, 0, null);
+				sentinel.previous = sentinel;
+				sentinel.next = sentinel;
+				wheel[level][slot] = sentinel;
+			}
+		}
+		this.thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				runWheel();
+			}
+		}, "DaylightScheduler");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts the thread of the wheel. The registrations made before are
+	 * placed on the first tick.
+	 */
+	public void start() {
+		if (started.compareAndSet(false, true)) {
+			currentTick = clock.millis() / tickMillis;
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the thread of the wheel. The pending firings are dropped.
+	 */
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Registers a callback run at a sunrise or sunset of a location plus an
+	 * offset, every day until it is cancelled
+	 * 
+	 * @param calculator
+	 *            the {@code SunriseSunsetCalculator} of the location
+	 * @param twilight
+	 *            the {@code Twilight} of the sunrise or sunset
+	 * @param isSunrise
+	 *            true to run the callback at the sunrise, false at the sunset
+	 * @param offset
+	 *            the {@code Duration} added to the sunrise or sunset, which
+	 *            can be negative
+	 * @param callback
+	 *            the {@code Runnable} to run
+	 * @return The {@code Registration}, to cancel it
+	 */
+	public Registration schedule(SunriseSunsetCalculator calculator,
+			Twilight twilight, boolean isSunrise, Duration offset,
+			Runnable callback) {
+		Registration registration = new Registration(this, calculator,
+				twilight, isSunrise, offset.toMillis(), callback);
+		additions.add(registration);
+		return registration;
+	}
+
+	/**
+	 * Registers a callback run at a solar event of a location plus an
+	 * offset, every day until it is cancelled
+	 * 
+	 * @param calculator
+	 *            the {@code SunriseSunsetCalculator} of the location
+	 * @param event
+	 *            the {@code SolarEvent} to run the callback at
+	 * @param offset
+	 *            the {@code Duration} added to the solar event, which can be
+	 *            negative
+	 * @param callback
+	 *            the {@code Runnable} to run
+	 * @return The {@code Registration}, to cancel it
+	 */
+	public Registration schedule(SunriseSunsetCalculator calculator,
+			SolarEvent event, Duration offset, Runnable callback) {
+		return schedule(calculator, event.twilight(), event.isSunrise(),
+				offset, callback);
+	}
+
+	/**
+	 * Returns the number of registrations waiting in the wheel
+	 * 
+	 * @return The number of pending firings
+	 */
+	public int getPendingCount() {
+		return pendingCount;
+	}
+
+	private void runWheel() {
+		while (running) {
+			long now = clock.millis();
+			long targetTick = now / tickMillis;
+			processCancellations();
+			processAdditions(now);
+			while (running && (currentTick < targetTick)) {
+				currentTick++;
+				cascade();
+				expire(wheel[0][(int) (currentTick & (LEVEL_0_SLOTS - 1))]);
+			}
+			long wait = ((targetTick + 1) * tickMillis) - clock.millis();
+			if (wait > 0) {
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(wait));
+			}
+		}
+	}
+
+	private void processCancellations() {
+		Registration registration;
+		while ((registration = cancellations.poll()) != null) {
+			if (registration.next != null) {
+				unlink(registration);
+			}
+		}
+	}
+
+	private void processAdditions(long now) {
+		Registration registration;
+		while ((registration = additions.poll()) != null) {
+			if (!registration.cancelled) {
+				place(registration, registration.computeNextFiring(now));
+			}
+		}
+	}
+
+	/*
+	 * Moves the registrations of the slot of each upper level that the ticks
+	 * have reached down the wheel, starting from the highest level that
+	 * wrapped around
+	 */
+	private void cascade() {
+		int shift = LEVEL_0_BITS;
+		for (int level = 1; level < LEVELS; level++) {
+			if ((currentTick & ((1L << shift) - 1)) != 0) {
+				return;
+			}
+			Registration sentinel = wheel[level][getSlot(currentTick, shift)];
+			Registration registration = sentinel.next;
+			sentinel.next = sentinel;
+			sentinel.previous = sentinel;
+			while (registration != sentinel) {
+				Registration next = registration.next;
+				registration.next = null;
+				registration.previous = null;
+				pendingCount--;
+				insert(registration);
+				registration = next;
+			}
+			shift += LEVEL_BITS;
+		}
+	}
+
+	private void expire(Registration sentinel) {
+		Registration registration = sentinel.next;
+		sentinel.next = sentinel;
+		sentinel.previous = sentinel;
+		while (registration != sentinel) {
+			Registration next = registration.next;
+			registration.next = null;
+			registration.previous = null;
+			pendingCount--;
+			if (registration.cancelled) {
+				// Dropped, the cancellation finds it unlinked
+			} else if (registration.deadlineTick > currentTick) {
+				insert(registration);
+			} else {
+				fire(registration);
+				place(registration, registration
+						.computeNextFiring(registration.firingMillis));
+			}
+			registration = next;
+		}
+	}
+
+	private void fire(Registration registration) {
+		try {
+			if (executor == null) {
+				registration.callback.run();
+			} else {
+				executor.execute(registration.callback);
+			}
+		} catch (RuntimeException e) {
+			Thread.UncaughtExceptionHandler handler = thread
+					.getUncaughtExceptionHandler();
+			handler.uncaughtException(thread, e);
+		}
+	}
+
+	private void place(Registration registration, long firingMillis) {
+		registration.firingMillis = firingMillis;
+		if (firingMillis == Long.MIN_VALUE) {
+			return;
+		}
+		registration.deadlineTick = Math.max(
+				Math.floorDiv(firingMillis + tickMillis - 1, tickMillis),
+				currentTick + 1);
+		insert(registration);
+	}
+
+	/* Adds the registration to the slot of the level matching its distance */
+	private void insert(Registration registration) {
+		long deadlineTick = registration.deadlineTick;
+		long ticks = deadlineTick - currentTick;
+		Registration sentinel;
+		if (ticks < LEVEL_0_SLOTS) {
+			sentinel = wheel[0][(int) (deadlineTick & (LEVEL_0_SLOTS - 1))];
+		} else {
+			if (ticks >= WHEEL_TICKS) {
+				deadlineTick = (currentTick + WHEEL_TICKS) - 1;
+			}
+			int level = 1;
+			int shift = LEVEL_0_BITS;
+			while ((deadlineTick - currentTick)
+					>= (1L << (shift + LEVEL_BITS))) {
+				level++;
+				shift += LEVEL_BITS;
+			}
+			sentinel = wheel[level][getSlot(deadlineTick, shift)];
+		}
+		registration.previous = sentinel.previous;
+		registration.next = sentinel;
+		sentinel.previous.next = registration;
+		sentinel.previous = registration;
+		pendingCount++;
+	}
+
+	private static int getSlot(long tick, int shift) {
+		return (int) ((tick >>> shift) & (LEVEL_SLOTS - 1));
+	}
+
+	private void unlink(Registration registration) {
+		registration.previous.next = registration.next;
+		registration.next.previous = registration.previous;
+		registration.next = null;
+		registration.previous = null;
+		pendingCount--;
+	}
+
+	/**
+	 * The {@link Registration} class is a callback registered with a
+	 * {@link DaylightScheduler}, and the entry of its next firing in the
+	 * wheel
+	 */
+	public static final class Registration {
+		private final DaylightScheduler scheduler;
+		private final SunriseSunsetCalculator calculator;
+		private final Twilight twilight;
+		private final boolean isSunrise;
+		private final long offsetMillis;
+		private final Runnable callback;
+		private volatile boolean cancelled;
+		private volatile long firingMillis = Long.MIN_VALUE;
+		/* The links of the slot, only used by the thread of the wheel */
+		private long deadlineTick;
+		private Registration previous;
+		private Registration next;
+
+		Registration(DaylightScheduler scheduler,
+				SunriseSunsetCalculator calculator, Twilight twilight,
+				boolean isSunrise, long offsetMillis, Runnable callback) {
+			this.scheduler = scheduler;
+			this.calculator = calculator;
+			this.twilight = twilight;
+			this.isSunrise = isSunrise;
+			this.offsetMillis = offsetMillis;
+			this.callback = callback;
+		}
+
+		/**
+		 * Cancels the registration. A firing already started is not
+		 * interrupted.
+		 */
+		public void cancel() {
+			if (!cancelled) {
+				cancelled = true;
+				scheduler.cancellations.add(this);
+			}
+		}
+
+		/**
+		 * Returns whether the registration was cancelled
+		 * 
+		 * @return true if {@link #cancel()} was called
+		 */
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * Returns the time of the next firing, once the wheel has placed the
+		 * registration
+		 * 
+		 * @return The {@code Instant} of the next firing, or null if it is
+		 *         not known yet or there is none
+		 */
+		public Instant getNextFiring() {
+			long millis = firingMillis;
+			return (millis == Long.MIN_VALUE) ? null : Instant
+					.ofEpochMilli(millis);
+		}
+
+		/* The first event plus the offset that is after the instant */
+		long computeNextFiring(long afterMillis) {
+			long target = afterMillis - offsetMillis;
+			long epochSecond = SolarEventTracker.findNextEvent(calculator,
+					twilight, isSunrise,
+					SolarEventTracker.getLocalEpochDay(calculator, target),
+					target);
+			if (epochSecond == SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND) {
+				return Long.MIN_VALUE;
+			}
+			return (epochSecond * 1000) + offsetMillis;
+		}
+	}
+}
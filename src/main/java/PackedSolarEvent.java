@@ -0,0 +1,99 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+/**
+ * The {@code PackedSolarEvent} class provides a set of helper methods to read
+ * and write a solar event packed into a primitive {@code long}. The upper 62
+ * bits hold the UTC epoch second of the event and the lower 2 bits hold its
+ * status, so a result can be passed around without allocating an object.
+ * 
+ * When the sun does not reach the zenith of the {@code Twilight} on the given
+ * date, the status is {@link #POLAR_DAY} or {@link #POLAR_NIGHT} and the epoch
+ * second is the start of that local date.
+ * 
+ * @version 1.0
+ */
+public final class PackedSolarEvent {
+	/* The sun crosses the zenith and the epoch second is the event */
+	public static final int EVENT = 0;
+	/* The sun stays above the zenith all day, so there is no event */
+	public static final int POLAR_DAY = 1;
+	/* The sun stays below the zenith all day, so there is no event */
+	public static final int POLAR_NIGHT = 2;
+
+	private static final int STATUS_BITS = 2;
+	private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+
+	private PackedSolarEvent() {
+	}
+
+	/**
+	 * Packs the epoch second and the status into a {@code long}
+	 * 
+	 * @param epochSecond
+	 *            The UTC epoch second
+	 * @param status
+	 *            One of {@link #EVENT}, {@link #POLAR_DAY} or
+	 *            {@link #POLAR_NIGHT}
+	 * @return The packed solar event
+	 */
+	public static long pack(long epochSecond, int status) {
+		return (epochSecond << STATUS_BITS) | status;
+	}
+
+	/**
+	 * Returns the UTC epoch second of the packed solar event
+	 * 
+	 * @param packedEvent
+	 *            The packed solar event
+	 * @return The UTC epoch second
+	 */
+	public static long epochSecond(long packedEvent) {
+		return packedEvent >> STATUS_BITS;
+	}
+
+	/**
+	 * Returns the status of the packed solar event
+	 * 
+	 * @param packedEvent
+	 *            The packed solar event
+	 * @return One of {@link #EVENT}, {@link #POLAR_DAY} or
+	 *         {@link #POLAR_NIGHT}
+	 */
+	public static int status(long packedEvent) {
+		return (int) (packedEvent & STATUS_MASK);
+	}
+
+	/**
+	 * Returns whether the sun crosses the zenith for the packed solar event
+	 * 
+	 * @param packedEvent
+	 *            The packed solar event
+	 * @return {@code true} if the packed solar event has an event time
+	 */
+	public static boolean hasEvent(long packedEvent) {
+		return status(packedEvent) == EVENT;
+	}
+}
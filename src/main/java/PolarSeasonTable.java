@@ -0,0 +1,247 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+/**
+ * The {@link PolarSeasonTable} class holds, for a band of latitudes and a
+ * {@link Twilight}, the days of the year on which every location of the band
+ * has a polar day or a polar night around its sunrise and around its
+ * sunset, and the last day of each of these polar seasons. It is built once
+ * from the declination of the sun and lets a {@link SunriseSunsetCalculator}
+ * classify a day and skip a whole polar season in constant time.
+ * 
+ * The sun stays above the zenith {@code Z} at the latitude {@code phi}
+ * when {@code |phi + delta| > 180 - Z} and below it when
+ * {@code |phi - delta| > Z}, where {@code delta} is the declination of the
+ * sun. A day is only classified by the table when this holds (or fails) for
+ * every latitude of the band and every declination the sun has at the
+ * sunrise or sunset of any longitude on that day; the few days on the edge
+ * of a season are left to the calculator.
+ * 
+ * The tables are immutable and shared by {@link #getInstance(Twilight,
+ * double)}, which keeps the most used of them.
+ * 
+ * @version 1.0
+ */
+public final class PolarSeasonTable {
+	/* The width in degrees of a band of latitudes */
+	public static final double BAND_DEGREES = 0.25;
+
+	/* The status of a day in the table */
+	static final byte NORMAL = 0;
+	static final byte POLAR_DAY = 1;
+	static final byte POLAR_NIGHT = 2;
+	static final byte MIXED = 3;
+
+	private static final SolarDayType[] TYPES = { SolarDayType.NORMAL,
+			SolarDayType.POLAR_DAY, SolarDayType.POLAR_NIGHT, null };
+	private static final int BANDS = (int) Math.round(180 / BAND_DEGREES);
+	/* The maximum number of tables shared by getInstance */
+	private static final int MAXIMUM_SIZE = 4096;
+	private static final ClockMap<Key, PolarSeasonTable> TABLES =
+			new ClockMap<Key, PolarSeasonTable>(MAXIMUM_SIZE);
+	private static final int DAYS = 366;
+	/* The samples of the declination during the day of an event */
+	private static final int SAMPLES_PER_DAY = 16;
+	/* The margin in degrees covering the rounding of the calculation */
+	private static final double EPSILON = 0.05;
+
+	private final int band;
+	/* The status of each day of the year, indexed from 1 */
+	private final byte[] sunriseStatus = new byte[DAYS + 1];
+	private final byte[] sunsetStatus = new byte[DAYS + 1];
+	/* The last day of the polar season of each polar day, or 0 */
+	private final short[] sunriseSeasonEnd = new short[DAYS + 1];
+	private final short[] sunsetSeasonEnd = new short[DAYS + 1];
+
+	private PolarSeasonTable(double zenith, int band) {
+		this.band = band;
+		double minimumLatitude = (band * BAND_DEGREES) - 90;
+		double maximumLatitude = Math.min(minimumLatitude + BAND_DEGREES, 90);
+		build(zenith, minimumLatitude, maximumLatitude, true, sunriseStatus,
+				sunriseSeasonEnd);
+		build(zenith, minimumLatitude, maximumLatitude, false, sunsetStatus,
+				sunsetSeasonEnd);
+	}
+
+	/**
+	 * Returns the table of the band of a latitude for a {@code Twilight},
+	 * building it on the first request
+	 * 
+	 * @param twilight
+	 *            the {@code Twilight} of the sunrise and sunset
+	 * @param latitude
+	 *            the latitude in degrees
+	 * @return The {@code PolarSeasonTable} of the band of the latitude
+	 */
+	public static PolarSeasonTable getInstance(Twilight twilight,
+			double latitude) {
+		int band = getBand(latitude);
+		Key key = new Key(twilight.cosine(), band);
+		PolarSeasonTable table = TABLES.get(key);
+		if (table == null) {
+			table = new PolarSeasonTable(Math.toDegrees(Math.acos(twilight
+					.cosine())), band);
+			PolarSeasonTable previous = TABLES.putIfAbsent(key, table);
+			if (previous != null) {
+				table = previous;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the lowest latitude of the band of the table
+	 * 
+	 * @return The latitude in degrees
+	 */
+	public double getMinimumLatitude() {
+		return (band * BAND_DEGREES) - 90;
+	}
+
+	/**
+	 * Returns the type of a day shared by every location of the band
+	 * 
+	 * @param dayOfYear
+	 *            the day of the year, from 1 to 366
+	 * @param isSunrise
+	 *            true for the sunrise, false for the sunset
+	 * @return The {@code SolarDayType} of every location, or null if the
+	 *         locations of the band do not all have the same type that day
+	 */
+	public SolarDayType getDayType(int dayOfYear, boolean isSunrise) {
+		return TYPES[getStatus(dayOfYear, isSunrise)];
+	}
+
+	/**
+	 * Returns the last day of the polar day or polar night shared by every
+	 * location of the band
+	 * 
+	 * @param dayOfYear
+	 *            a day of the year, from 1 to 366
+	 * @param isSunrise
+	 *            true for the sunrise, false for the sunset
+	 * @return The last day of the year of the polar season containing the
+	 *         day, or 0 if the day is not in one
+	 */
+	public int getSeasonEnd(int dayOfYear, boolean isSunrise) {
+		return isSunrise ? sunriseSeasonEnd[dayOfYear]
+				: sunsetSeasonEnd[dayOfYear];
+	}
+
+	byte getStatus(int dayOfYear, boolean isSunrise) {
+		return isSunrise ? sunriseStatus[dayOfYear] : sunsetStatus[dayOfYear];
+	}
+
+	static int getBand(double latitude) {
+		int band = (int) Math.floor((latitude + 90) / BAND_DEGREES);
+		return Math.max(0, Math.min(band, BANDS - 1));
+	}
+
+	/*
+	 * Classifies each day from the range of the declination during the hours
+	 * in which the event of any longitude is computed, then links each polar
+	 * day to the last day of its season
+	 */
+	private static void build(double zenith, double minimumLatitude,
+			double maximumLatitude, boolean isSunrise, byte[] status,
+			short[] seasonEnd) {
+		double polarDayLimit = 180 - zenith;
+		// The longitude hour is between -12 and 12
+		double firstHour = isSunrise ? -6 : 6;
+		for (int day = 1; day <= DAYS; day++) {
+			double minimumDeclination = Double.POSITIVE_INFINITY;
+			double maximumDeclination = Double.NEGATIVE_INFINITY;
+			for (int sample = 0; sample <= SAMPLES_PER_DAY; sample++) {
+				double time = day + ((firstHour + ((24.0 * sample)
+						/ SAMPLES_PER_DAY)) / 24);
+				double declination = getDeclination(time);
+				minimumDeclination = Math.min(minimumDeclination, declination);
+				maximumDeclination = Math.max(maximumDeclination, declination);
+			}
+			minimumDeclination -= EPSILON;
+			maximumDeclination += EPSILON;
+			double minimumSum = minimumLatitude + minimumDeclination;
+			double maximumSum = maximumLatitude + maximumDeclination;
+			double minimumDifference = minimumLatitude - maximumDeclination;
+			double maximumDifference = maximumLatitude - minimumDeclination;
+			if ((minimumSum > polarDayLimit) || (maximumSum < -polarDayLimit)) {
+				status[day] = POLAR_DAY;
+			} else if ((minimumDifference > zenith)
+					|| (maximumDifference < -zenith)) {
+				status[day] = POLAR_NIGHT;
+			} else if ((maximumSum <= polarDayLimit)
+					&& (minimumSum >= -polarDayLimit)
+					&& (maximumDifference <= zenith)
+					&& (minimumDifference >= -zenith)) {
+				status[day] = NORMAL;
+			} else {
+				status[day] = MIXED;
+			}
+		}
+		for (int day = DAYS; day >= 1; day--) {
+			if ((status[day] == POLAR_DAY) || (status[day] == POLAR_NIGHT)) {
+				boolean sameSeason = (day < DAYS)
+						&& (status[day + 1] == status[day]);
+				seasonEnd[day] = sameSeason ? seasonEnd[day + 1]
+						: (short) day;
+			}
+		}
+	}
+
+	/* The declination in degrees with the steps of the calculator */
+	private static double getDeclination(double time) {
+		double meanAnomaly = SunriseSunsetCalculator.getMeanAnomaly(time);
+		double sunTrueLong = SunriseSunsetCalculator.getSunTrueLongitude(
+				meanAnomaly, false);
+		return Math.toDegrees(Math.asin(SunriseSunsetCalculator
+				.getSinOfSunDeclination(sunTrueLong, false)));
+	}
+
+	/* The cosine of the zenith and the band of a table */
+	private static final class Key {
+		private final double cosineZenith;
+		private final int band;
+
+		Key(double cosineZenith, int band) {
+			this.cosineZenith = cosineZenith;
+			this.band = band;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return (band == other.band)
+					&& (Double.compare(cosineZenith, other.cosineZenith) == 0);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * Double.hashCode(cosineZenith)) + band;
+		}
+	}
+}
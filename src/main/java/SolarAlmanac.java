@@ -0,0 +1,219 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * The {@link SolarAlmanac} class reads an almanac file written by a
+ * {@link SolarAlmanacWriter}: the minutes of every {@link SolarEvent} of
+ * every day of a year for a list of locations. The file is memory-mapped, so
+ * a lookup is a few multiplications and one read of a short from the page
+ * cache, without any calculation or object allocation.
+ * 
+ * The file starts with a header of {@value #HEADER_SIZE} bytes (the big-endian
+ * ints {@value #MAGIC}, {@value #VERSION}, year, locations, days and events).
+ * It is followed by the double latitude and longitude of each location, then
+ * by one record per location holding one big-endian short per day and per
+ * {@code SolarEvent} (in the order of {@link SolarEvent#ordinal()}): the
+ * minutes of the event from 00:00 of the local day in the time zone of the
+ * location, or {@link #NO_EVENT} when the sun does not cross the zenith of the
+ * {@code Twilight} that day.
+ * 
+ * @version 1.0
+ */
+public class SolarAlmanac {
+	/* The first int of an almanac file ("SUNA") */
+	public static final int MAGIC = 0x53554E41;
+	/* The version of the almanac file format */
+	public static final int VERSION = 1;
+	/* The number of bytes before the locations of an almanac file */
+	public static final int HEADER_SIZE = 32;
+	/* The minutes of an event that does not occur on that day */
+	public static final short NO_EVENT = SunriseSunsetCalculator.NO_EVENT;
+
+	static final int EVENT_COUNT = SolarEvent.values().length;
+	/* The size of the latitude and longitude of a location */
+	static final int LOCATION_SIZE = 16;
+
+	private final int year;
+	private final int locations;
+	private final int days;
+	private final int recordSize;
+	private final int locationsPerSegment;
+	private final MappedByteBuffer coordinates;
+	/* The records, split into mappings of at most 2 GB each */
+	private final MappedByteBuffer[] segments;
+
+	/**
+	 * Opens an almanac file and maps it into memory
+	 * 
+	 * @param file
+	 *            the almanac file to read
+	 * @throws IOException
+	 *             if the file cannot be mapped or is not an almanac file
+	 */
+	public SolarAlmanac(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, READ)) {
+			if (channel.size() < HEADER_SIZE) {
+				throw new IOException(file + " is not an almanac file");
+			}
+			MappedByteBuffer header = channel.map(READ_ONLY, 0, HEADER_SIZE);
+			if (header.getInt() != MAGIC) {
+				throw new IOException(file + " is not an almanac file");
+			}
+			int version = header.getInt();
+			if (version != VERSION) {
+				throw new IOException(file + " has the unknown version "
+						+ version);
+			}
+			this.year = header.getInt();
+			this.locations = header.getInt();
+			this.days = header.getInt();
+			if (header.getInt() != EVENT_COUNT) {
+				throw new IOException(file + " does not hold "
+						+ EVENT_COUNT + " events");
+			}
+			this.recordSize = getRecordSize(days);
+			this.locationsPerSegment = getLocationsPerSegment(days);
+			long dataPosition = getDataPosition(locations);
+			if (channel.size() < (dataPosition
+					+ ((long) locations * recordSize))) {
+				throw new IOException(file + " is truncated");
+			}
+			this.coordinates = channel.map(READ_ONLY, HEADER_SIZE,
+					(long) locations * LOCATION_SIZE);
+			this.segments = new MappedByteBuffer[(locations
+					+ locationsPerSegment - 1) / locationsPerSegment];
+			for (int i = 0; i < segments.length; i++) {
+				int first = i * locationsPerSegment;
+				int count = Math.min(locationsPerSegment, locations - first);
+				segments[i] = channel.map(READ_ONLY, dataPosition
+						+ ((long) first * recordSize), (long) count
+						* recordSize);
+			}
+		}
+	}
+
+	/**
+	 * Returns the year of the almanac
+	 * 
+	 * @return The year
+	 */
+	public int getYear() {
+		return year;
+	}
+
+	/**
+	 * Returns the number of locations of the almanac
+	 * 
+	 * @return The number of locations
+	 */
+	public int getLocationCount() {
+		return locations;
+	}
+
+	/**
+	 * Returns the number of days of the almanac, the length of its year
+	 * 
+	 * @return The number of days
+	 */
+	public int getDayCount() {
+		return days;
+	}
+
+	/**
+	 * Returns the latitude of a location
+	 * 
+	 * @param location
+	 *            the index of the location
+	 * @return The latitude in degrees
+	 */
+	public double getLatitude(int location) {
+		return coordinates.getDouble(checkLocation(location) * LOCATION_SIZE);
+	}
+
+	/**
+	 * Returns the longitude of a location
+	 * 
+	 * @param location
+	 *            the index of the location
+	 * @return The longitude in degrees
+	 */
+	public double getLongitude(int location) {
+		return coordinates.getDouble((checkLocation(location) * LOCATION_SIZE)
+				+ 8);
+	}
+
+	/**
+	 * Returns the minutes of a solar event of a location
+	 * 
+	 * @param location
+	 *            the index of the location
+	 * @param dayOfYear
+	 *            the day of the year, from 1 to {@link #getDayCount()}
+	 * @param event
+	 *            the {@code SolarEvent}
+	 * @return The minutes of the event from 00:00 of the local day (0 to
+	 *         1439), or {@link #NO_EVENT} if the event does not occur that
+	 *         day
+	 */
+	public int getMinutes(int location, int dayOfYear, SolarEvent event) {
+		checkLocation(location);
+		if ((dayOfYear < 1) || (dayOfYear > days)) {
+			throw new IndexOutOfBoundsException("Day of year " + dayOfYear);
+		}
+		int segment = location / locationsPerSegment;
+		int record = location - (segment * locationsPerSegment);
+		return segments[segment].getShort((record * recordSize)
+				+ ((((dayOfYear - 1) * EVENT_COUNT) + event.ordinal()) * 2));
+	}
+
+	private int checkLocation(int location) {
+		if ((location < 0) || (location >= locations)) {
+			throw new IndexOutOfBoundsException("Location " + location);
+		}
+		return location;
+	}
+
+	/* The size of the minutes of every event of a year of a location */
+	static int getRecordSize(int days) {
+		return days * EVENT_COUNT * 2;
+	}
+
+	/* The number of whole records that fit in one mapping */
+	static int getLocationsPerSegment(int days) {
+		return Integer.MAX_VALUE / getRecordSize(days);
+	}
+
+	static long getDataPosition(int locations) {
+		return HEADER_SIZE + ((long) locations * LOCATION_SIZE);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.TimeZone;
+
+/**
+ * The {@link SolarAlmanacWriter} class computes every {@link SolarEvent} of
+ * every day of a year for a list of locations and writes them to an almanac
+ * file, in the format described by {@link SolarAlmanac}. The days of a
+ * location are computed together by the date range methods of a
+ * {@link SunriseSunsetCalculator}, and the minutes are written directly into
+ * the memory-mapped file.
+ * 
+ * @version 1.0
+ */
+public class SolarAlmanacWriter {
+	private static final SolarEvent[] EVENTS = SolarEvent.values();
+
+	private final CalculationMode mode;
+	/*
+	 * The twilights of the sunrises and of the sunsets in the order of the
+	 * SolarEvent, which lists every sunrise before the sunsets
+	 */
+	private final Twilight[] sunriseTwilights;
+	private final Twilight[] sunsetTwilights;
+
+	/**
+	 * Creates a {@code SolarAlmanacWriter} using
+	 * {@link CalculationMode#EPHEMERIS_TABLE}
+	 */
+	public SolarAlmanacWriter() {
+		this(CalculationMode.EPHEMERIS_TABLE);
+	}
+
+	/**
+	 * Creates a {@code SolarAlmanacWriter} using the given
+	 * {@link CalculationMode}
+	 * 
+	 * @param mode
+	 *            the {@code CalculationMode} of the calculators. The days of
+	 *            a location are computed with primitive doubles, so
+	 *            {@link CalculationMode#BIG_DECIMAL} is the same as
+	 *            {@link CalculationMode#DOUBLE}.
+	 */
+	public SolarAlmanacWriter(CalculationMode mode) {
+		this.mode = mode;
+		int sunrises = 0;
+		for (SolarEvent event : EVENTS) {
+			if (event.isSunrise()) {
+				sunrises++;
+			}
+		}
+		this.sunriseTwilights = new Twilight[sunrises];
+		this.sunsetTwilights = new Twilight[EVENTS.length - sunrises];
+		for (int i = 0; i < EVENTS.length; i++) {
+			if (i < sunrises) {
+				sunriseTwilights[i] = EVENTS[i].twilight();
+			} else {
+				sunsetTwilights[i - sunrises] = EVENTS[i].twilight();
+			}
+		}
+	}
+
+	/**
+	 * Computes the almanac of the locations for a year and writes it to a
+	 * file
+	 * 
+	 * @param year
+	 *            The year to compute the almanac for.
+	 * @param latitudes
+	 *            The latitude of each location in degrees.
+	 * @param longitudes
+	 *            The longitude of each location in degrees.
+	 * @param timeZones
+	 *            The {@code TimeZone} of each location.
+	 * @param file
+	 *            The file to create or replace.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public void write(int year, double[] latitudes, double[] longitudes,
+			TimeZone[] timeZones, Path file) throws IOException {
+		int locations = latitudes.length;
+		if ((longitudes.length != locations)
+				|| (timeZones.length != locations)) {
+			throw new IllegalArgumentException(
+					"The latitudes, longitudes and time zones do not have the"
+							+ " same length");
+		}
+		int days = Year.isLeap(year) ? 366 : 365;
+		int recordSize = SolarAlmanac.getRecordSize(days);
+		int locationsPerSegment = SolarAlmanac.getLocationsPerSegment(days);
+		long dataPosition = SolarAlmanac.getDataPosition(locations);
+		LocalDate startDate = LocalDate.of(year, 1, 1);
+		int[][] sunrises = new int[sunriseTwilights.length][days];
+		int[][] sunsets = new int[sunsetTwilights.length][days];
+		SolarBulkCalculationEvent event = SolarFlightRecorder.isRecording()
+				? SolarBulkCalculationEvent.start() : null;
+		try (FileChannel channel = FileChannel.open(file, CREATE,
+				TRUNCATE_EXISTING, READ, WRITE)) {
+			MappedByteBuffer header = channel.map(READ_WRITE, 0,
+					dataPosition);
+			header.putInt(SolarAlmanac.MAGIC).putInt(SolarAlmanac.VERSION)
+					.putInt(year).putInt(locations).putInt(days)
+					.putInt(EVENTS.length);
+			header.position(SolarAlmanac.HEADER_SIZE);
+			for (int location = 0; location < locations; location++) {
+				header.putDouble(latitudes[location]).putDouble(
+						longitudes[location]);
+			}
+			for (int first = 0; first < locations;
+					first += locationsPerSegment) {
+				int count = Math.min(locationsPerSegment, locations - first);
+				MappedByteBuffer segment = channel.map(READ_WRITE,
+						dataPosition + ((long) first * recordSize),
+						(long) count * recordSize);
+				for (int location = first; location < (first + count);
+						location++) {
+					SunriseSunsetCalculator calculator =
+							new SunriseSunsetCalculator(timeZones[location],
+									new BigDecimal(latitudes[location]),
+									new BigDecimal(longitudes[location]),
+									mode);
+					calculator.computeUnrecordedMinutes(sunriseTwilights,
+							startDate, sunrises, true);
+					calculator.computeUnrecordedMinutes(sunsetTwilights,
+							startDate, sunsets, false);
+					for (int day = 0; day < days; day++) {
+						for (int[] minutes : sunrises) {
+							segment.putShort((short) minutes[day]);
+						}
+						for (int[] minutes : sunsets) {
+							segment.putShort((short) minutes[day]);
+						}
+					}
+				}
+			}
+		}
+		if (event != null) {
+			event.end("SolarAlmanacWriter.write", locations, startDate, days,
+					SolarBulkCalculationEvent.getTwilights(EVENTS));
+		}
+	}
+}
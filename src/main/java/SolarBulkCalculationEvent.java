@@ -0,0 +1,262 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@link SolarBulkCalculationEvent} class is the JDK Flight Recorder event
+ * of a computation of many sunrises/sunsets at once: a
+ * {@link SunriseSunsetCalculator} over a range of dates, a
+ * {@link SunriseSunsetBatchCalculator} over many locations, or a whole grid,
+ * almanac or batch run. The calculations a grid, almanac or batch run is made
+ * of are not recorded on their own, so each of them is one event with its
+ * total duration and allocation.
+ * 
+ * The bytes allocated are read from the
+ * {@code com.sun.management.ThreadMXBean} only while a recording enables the
+ * event: those of the calling thread, plus those of the threads it hands the
+ * work to between {@link #beginWork()} and {@link #endWork(long)}.
+ * 
+ * @version 1.0
+ */
+@Name("main.java.SolarBulkCalculation")
+@Label("Solar Bulk Calculation")
+@Category("SunriseSunset")
+@Description("A computation of the sunrises/sunsets of many dates or locations")
+final class SolarBulkCalculationEvent extends Event {
+	@Label("Operation")
+	String operation;
+
+	@Label("Location Count")
+	int locationCount;
+
+	@Label("Latitude")
+	@Description("The latitude in degrees of a single location, NaN for many")
+	double latitude;
+
+	@Label("Longitude")
+	@Description("The longitude in degrees of a single location, NaN for many")
+	double longitude;
+
+	@Label("Time Zone")
+	@Description("The time zone of a single location, null for many")
+	String timeZone;
+
+	@Label("Start Date")
+	String startDate;
+
+	@Label("Day Count")
+	int dayCount;
+
+	@Label("Twilights")
+	@Description("The degrees of the zenith of each Twilight computed")
+	String twilights;
+
+	@Label("Allocated")
+	@DataAmount(DataAmount.BYTES)
+	long allocatedBytes;
+
+	/* The thread that started the event, whose allocation is read directly */
+	private transient Thread caller;
+	/* The bytes allocated by the other threads doing the work */
+	private transient LongAdder workerAllocatedBytes;
+
+	/**
+	 * Begins the event, reading the bytes allocated so far if a recording
+	 * enables it
+	 * 
+	 * @return The {@code SolarBulkCalculationEvent} to end once the
+	 *         computation is done
+	 */
+	static SolarBulkCalculationEvent start() {
+		SolarBulkCalculationEvent event = new SolarBulkCalculationEvent();
+		if (event.isEnabled()) {
+			event.caller = Thread.currentThread();
+			event.workerAllocatedBytes = new LongAdder();
+			event.allocatedBytes = getAllocatedBytes();
+			event.begin();
+		}
+		return event;
+	}
+
+	/**
+	 * Returns the {@code Twilight} of each solar event
+	 * 
+	 * @param events
+	 *            the {@code SolarEvent} computed
+	 * @return The {@code Twilight} of the events
+	 */
+	static Twilight[] getTwilights(SolarEvent[] events) {
+		Twilight[] twilights = new Twilight[events.length];
+		for (int i = 0; i < events.length; i++) {
+			twilights[i] = events[i].twilight();
+		}
+		return twilights;
+	}
+
+	/**
+	 * Returns the bytes allocated so far by the thread about to do a part of
+	 * the work, to pass to {@link #endWork(long)}
+	 * 
+	 * @return The bytes allocated by the current thread, or 0 if the event is
+	 *         not enabled
+	 */
+	long beginWork() {
+		return (workerAllocatedBytes == null) ? 0 : getAllocatedBytes();
+	}
+
+	/**
+	 * Adds the bytes allocated by the current thread since
+	 * {@link #beginWork()} to the event. The calling thread is left out, its
+	 * bytes being read when the event ends.
+	 * 
+	 * @param startAllocatedBytes
+	 *            the value returned by {@link #beginWork()}
+	 */
+	void endWork(long startAllocatedBytes) {
+		if ((workerAllocatedBytes != null)
+				&& (Thread.currentThread() != caller)) {
+			workerAllocatedBytes.add(getAllocatedBytes()
+					- startAllocatedBytes);
+		}
+	}
+
+	/**
+	 * Ends the event of a computation for one location and commits it if a
+	 * recording enables it
+	 * 
+	 * @param operation
+	 *            the name of the computation
+	 * @param calculator
+	 *            the {@code SunriseSunsetCalculator} of the location
+	 * @param startDate
+	 *            the first date computed
+	 * @param dayCount
+	 *            the number of dates computed
+	 * @param twilights
+	 *            the {@code Twilight} computed
+	 */
+	void end(String operation, SunriseSunsetCalculator calculator,
+			LocalDate startDate, int dayCount, Twilight[] twilights) {
+		end();
+		if (shouldCommit()) {
+			this.latitude = calculator.latitude.doubleValue();
+			this.longitude = calculator.longitude.doubleValue();
+			this.timeZone = calculator.timeZone.getID();
+			commit(operation, 1, startDate, dayCount, twilights);
+		}
+	}
+
+	/**
+	 * Ends the event of a computation for many locations and commits it if a
+	 * recording enables it
+	 * 
+	 * @param operation
+	 *            the name of the computation
+	 * @param locationCount
+	 *            the number of locations computed
+	 * @param startDate
+	 *            the first date computed
+	 * @param dayCount
+	 *            the number of dates computed
+	 * @param twilights
+	 *            the {@code Twilight} computed
+	 */
+	void end(String operation, int locationCount, LocalDate startDate,
+			int dayCount, Twilight[] twilights) {
+		end();
+		if (shouldCommit()) {
+			this.latitude = Double.NaN;
+			this.longitude = Double.NaN;
+			commit(operation, locationCount, startDate, dayCount, twilights);
+		}
+	}
+
+	private void commit(String operation, int locationCount,
+			LocalDate startDate, int dayCount, Twilight[] twilights) {
+		this.operation = operation;
+		this.locationCount = locationCount;
+		this.startDate = (startDate == null) ? null : startDate.toString();
+		this.dayCount = dayCount;
+		this.twilights = getDegrees(twilights);
+		this.allocatedBytes = (getAllocatedBytes() - allocatedBytes)
+				+ workerAllocatedBytes.sum();
+		commit();
+	}
+
+	/*
+	 * The degrees of each Twilight, once each in the order given
+	 */
+	private static String getDegrees(Twilight[] twilights) {
+		StringBuilder degrees = new StringBuilder();
+		for (int i = 0; i < twilights.length; i++) {
+			boolean repeated = false;
+			for (int j = 0; j < i; j++) {
+				repeated |= (twilights[j] == twilights[i]);
+			}
+			if (!repeated) {
+				if (degrees.length() > 0) {
+					degrees.append(',');
+				}
+				degrees.append(twilights[i].degrees().toPlainString());
+			}
+		}
+		return degrees.toString();
+	}
+
+	private static long getAllocatedBytes() {
+		com.sun.management.ThreadMXBean threads = Threads.MX_BEAN;
+		return (threads == null) ? 0 : Math.max(threads
+				.getThreadAllocatedBytes(Thread.currentThread().getId()), 0);
+	}
+
+	/*
+	 * The allocation counter of the threads, looked up the first time an
+	 * enabled event needs it, or null if the JVM has none
+	 */
+	private static final class Threads {
+		static final com.sun.management.ThreadMXBean MX_BEAN = getMXBean();
+
+		private static com.sun.management.ThreadMXBean getMXBean() {
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			if ((threads instanceof com.sun.management.ThreadMXBean)
+					&& ((com.sun.management.ThreadMXBean) threads)
+							.isThreadAllocatedMemorySupported()) {
+				return (com.sun.management.ThreadMXBean) threads;
+			}
+			return null;
+		}
+	}
+}
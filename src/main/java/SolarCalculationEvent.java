@@ -0,0 +1,110 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@link SolarCalculationEvent} class is the JDK Flight Recorder event of
+ * one sunrise/sunset computed by a {@link SunriseSunsetCalculator}, with the
+ * intermediate values of the calculation: the mean anomaly and true
+ * longitude of the sun and the cosine of its local hour angle, which is
+ * below -1 or above 1 on a polar day or night.
+ * 
+ * The event is disabled unless a recording enables it, and even then only
+ * one call in {@value #DEFAULT_SAMPLE_INTERVAL} is recorded, or one in the
+ * value of the {@code sunrisesunset.jfr.sampleInterval} system property. A
+ * threshold set by the recording keeps only the slow calls. The intermediate
+ * values are computed again with primitive doubles for the calls recorded,
+ * so the other calls only pay for the check.
+ * 
+ * @version 1.0
+ */
+@Name("main.java.SolarCalculation")
+@Label("Solar Calculation")
+@Category("SunriseSunset")
+@Description("A sampled sunrise/sunset with the intermediate values")
+@Enabled(false)
+@StackTrace(false)
+final class SolarCalculationEvent extends Event {
+	/* The default number of calls for one recorded */
+	static final int DEFAULT_SAMPLE_INTERVAL = 1000;
+	/* The system property replacing the default sample interval */
+	static final String SAMPLE_INTERVAL_PROPERTY = "sunrisesunset.jfr.sampleInterval";
+
+	private static final int SAMPLE_INTERVAL = Math.max(Integer.getInteger(
+			SAMPLE_INTERVAL_PROPERTY, DEFAULT_SAMPLE_INTERVAL), 1);
+
+	@Label("Latitude")
+	double latitude;
+
+	@Label("Longitude")
+	double longitude;
+
+	@Label("Time Zone")
+	String timeZone;
+
+	@Label("Calculation Mode")
+	String mode;
+
+	@Label("Zenith")
+	@Description("The degrees of the zenith of the Twilight")
+	double zenith;
+
+	@Label("Sunrise")
+	boolean sunrise;
+
+	@Label("Day Of Year")
+	int dayOfYear;
+
+	@Label("Mean Anomaly")
+	double meanAnomaly;
+
+	@Label("True Longitude")
+	double sunTrueLongitude;
+
+	@Label("Cosine Of Local Hour")
+	@Description("Below -1 on a polar day and above 1 on a polar night")
+	double cosineSunLocalHour;
+
+	/**
+	 * Returns whether the ended event is enabled, within the threshold of the
+	 * recording and sampled
+	 * 
+	 * @return {@code true} if the event is to be committed
+	 */
+	boolean shouldSample() {
+		return shouldCommit()
+				&& ((SAMPLE_INTERVAL == 1) || (ThreadLocalRandom.current()
+						.nextInt(SAMPLE_INTERVAL) == 0));
+	}
+}
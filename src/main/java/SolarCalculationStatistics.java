@@ -0,0 +1,259 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The {@link SolarCalculationStatistics} class counts the sunrises and sunsets
+ * computed one at a time by every {@link SunriseSunsetCalculator}: the calls
+ * by {@link Twilight} and by sunrise/sunset, the calls without an event and
+ * the latency of each call in a histogram of fixed buckets. They are read
+ * through {@link #getInstance()}, or with any JMX console once
+ * {@link #register()} has registered them in the platform MBean server under
+ * {@value #OBJECT_NAME}.
+ * 
+ * Every counter is a {@link LongAdder}, so the threads computing events never
+ * wait for each other. The bucket of a latency is found from the highest bit
+ * of the nanoseconds, each bucket holding twice the range of the one before.
+ * 
+ * The statistics are disabled unless the JVM is started with
+ * {@code -Dsunrisesunset.statistics=true}, as they add two
+ * {@code System.nanoTime()} calls and the counters to every calculation. The
+ * switch is read once into a {@code static final} field, so the
+ * just-in-time compiler removes the disabled branch from the calculations.
+ * 
+ * @version 1.0
+ */
+public final class SolarCalculationStatistics implements
+		SolarCalculationStatisticsMXBean {
+	/* The name of the MBean in the platform MBean server */
+	public static final String OBJECT_NAME = "main.java:type=SolarCalculationStatistics";
+	/* The system property enabling the statistics when set to true */
+	public static final String ENABLED_PROPERTY = "sunrisesunset.statistics";
+
+	/* Whether the calculators record their calls, read once at startup */
+	static final boolean ENABLED = "true".equalsIgnoreCase(System
+			.getProperty(ENABLED_PROPERTY));
+
+	/* The number of latency buckets, the last one without an upper bound */
+	private static final int BUCKET_COUNT = 24;
+	/* The first bucket holds the latencies below 2^7 = 128 nanoseconds */
+	private static final int FIRST_BUCKET_BITS = 7;
+	/* The names of the counters by Twilight, the custom degrees last */
+	private static final String[] TWILIGHT_NAMES = { "ASTRONOMICAL",
+			"NAUTICAL", "CIVIL", "OFFICIAL", "OTHER" };
+
+	private static final SolarCalculationStatistics INSTANCE = new SolarCalculationStatistics();
+
+	/* The calls by Twilight, the sunrises at even and the sunsets at odd index */
+	private final LongAdder[] calls = newAdders(TWILIGHT_NAMES.length * 2);
+	private final LongAdder noEvents = new LongAdder();
+	private final LongAdder latencyNanos = new LongAdder();
+	private final LongAdder[] buckets = newAdders(BUCKET_COUNT);
+
+	private SolarCalculationStatistics() {
+	}
+
+	/**
+	 * Returns the statistics shared by every {@code SunriseSunsetCalculator}
+	 * 
+	 * @return The {@code SolarCalculationStatistics}
+	 */
+	public static SolarCalculationStatistics getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers the statistics in the platform MBean server under
+	 * {@value #OBJECT_NAME}, unless they already are. Starting the platform
+	 * MBean server takes a few hundred milliseconds, so this is best called
+	 * once at startup rather than before a calculation.
+	 * 
+	 * @throws JMException
+	 *             if the statistics cannot be registered
+	 */
+	public static synchronized void register() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(OBJECT_NAME);
+		if (!server.isRegistered(name)) {
+			server.registerMBean(INSTANCE, name);
+		}
+	}
+
+	/**
+	 * Counts a sunrise/sunset computed since the given start. Only called when
+	 * {@link #ENABLED}.
+	 * 
+	 * @param twilight
+	 *            the {@code Twilight} of the sunrise/sunset
+	 * @param isSunrise
+	 *            whether a sunrise or a sunset was computed
+	 * @param hasEvent
+	 *            whether the sunrise/sunset occurs
+	 * @param startNanos
+	 *            the {@code System.nanoTime()} before the calculation
+	 */
+	static void record(Twilight twilight, boolean isSunrise,
+			boolean hasEvent, long startNanos) {
+		INSTANCE.add(twilight, isSunrise, hasEvent, System.nanoTime()
+				- startNanos);
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return ENABLED;
+	}
+
+	@Override
+	public long getCallCount() {
+		return getSunriseCount() + getSunsetCount();
+	}
+
+	@Override
+	public long getSunriseCount() {
+		return sum(0);
+	}
+
+	@Override
+	public long getSunsetCount() {
+		return sum(1);
+	}
+
+	@Override
+	public Map<String, Long> getCallCountsByTwilight() {
+		Map<String, Long> counts = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < TWILIGHT_NAMES.length; i++) {
+			counts.put(TWILIGHT_NAMES[i],
+					calls[i * 2].sum() + calls[i * 2 + 1].sum());
+		}
+		return counts;
+	}
+
+	@Override
+	public long getNoEventCount() {
+		return noEvents.sum();
+	}
+
+	@Override
+	public double getNoEventRate() {
+		long callCount = getCallCount();
+		return (callCount == 0) ? 0.0 : (double) noEvents.sum() / callCount;
+	}
+
+	@Override
+	public double getAverageLatencyNanos() {
+		long callCount = getCallCount();
+		return (callCount == 0) ? 0.0 : (double) latencyNanos.sum()
+				/ callCount;
+	}
+
+	@Override
+	public long[] getLatencyBucketBounds() {
+		long[] bounds = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+			bounds[i] = 1L << (i + FIRST_BUCKET_BITS);
+		}
+		bounds[BUCKET_COUNT - 1] = Long.MAX_VALUE;
+		return bounds;
+	}
+
+	@Override
+	public long[] getLatencyHistogram() {
+		long[] histogram = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			histogram[i] = buckets[i].sum();
+		}
+		return histogram;
+	}
+
+	@Override
+	public void reset() {
+		for (LongAdder adder : calls) {
+			adder.reset();
+		}
+		noEvents.reset();
+		latencyNanos.reset();
+		for (LongAdder adder : buckets) {
+			adder.reset();
+		}
+	}
+
+	private void add(Twilight twilight, boolean isSunrise, boolean hasEvent,
+			long nanos) {
+		calls[getTwilightIndex(twilight) * 2 + (isSunrise ? 0 : 1)]
+				.increment();
+		if (!hasEvent) {
+			noEvents.increment();
+		}
+		latencyNanos.add(nanos);
+		buckets[getBucket(nanos)].increment();
+	}
+
+	private long sum(int direction) {
+		long sum = 0;
+		for (int i = direction; i < calls.length; i += 2) {
+			sum += calls[i].sum();
+		}
+		return sum;
+	}
+
+	/*
+	 * The index of the bit above the highest bit of the nanoseconds, less the
+	 * bits of the first bucket
+	 */
+	static int getBucket(long nanos) {
+		int bits = Long.SIZE - Long.numberOfLeadingZeros(nanos);
+		return Math.min(Math.max(bits - FIRST_BUCKET_BITS, 0),
+				BUCKET_COUNT - 1);
+	}
+
+	private static int getTwilightIndex(Twilight twilight) {
+		if (twilight == Twilight.ASTRONOMICAL) {
+			return 0;
+		} else if (twilight == Twilight.NAUTICAL) {
+			return 1;
+		} else if (twilight == Twilight.CIVIL) {
+			return 2;
+		} else if (twilight == Twilight.OFFICIAL) {
+			return 3;
+		}
+		return 4;
+	}
+
+	private static LongAdder[] newAdders(int length) {
+		LongAdder[] adders = new LongAdder[length];
+		for (int i = 0; i < length; i++) {
+			adders[i] = new LongAdder();
+		}
+		return adders;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link SolarCalculationStatistics},
+ * registered in the platform MBean server under
+ * {@value SolarCalculationStatistics#OBJECT_NAME} by
+ * {@link SolarCalculationStatistics#register()}.
+ * 
+ * @version 1.0
+ */
+public interface SolarCalculationStatisticsMXBean {
+	/**
+	 * Returns whether the calculations are counted. The statistics are
+	 * enabled by starting the JVM with
+	 * {@code -Dsunrisesunset.statistics=true}.
+	 * 
+	 * @return {@code true} if the calculations are counted
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Returns the number of sunrises and sunsets computed
+	 * 
+	 * @return The number of calculations
+	 */
+	long getCallCount();
+
+	/**
+	 * Returns the number of sunrises computed
+	 * 
+	 * @return The number of sunrise calculations
+	 */
+	long getSunriseCount();
+
+	/**
+	 * Returns the number of sunsets computed
+	 * 
+	 * @return The number of sunset calculations
+	 */
+	long getSunsetCount();
+
+	/**
+	 * Returns the number of calculations of each {@code Twilight}, keyed by
+	 * ASTRONOMICAL, NAUTICAL, CIVIL, OFFICIAL and OTHER for the
+	 * {@code Twilight} created with other degrees
+	 * 
+	 * @return The number of calculations by {@code Twilight}
+	 */
+	Map<String, Long> getCallCountsByTwilight();
+
+	/**
+	 * Returns the number of calculations without a sunrise/sunset, the sun
+	 * staying above or below the zenith all day
+	 * 
+	 * @return The number of calculations without an event
+	 */
+	long getNoEventCount();
+
+	/**
+	 * Returns the share of the calculations without a sunrise/sunset
+	 * 
+	 * @return The rate between 0 and 1, or 0 before the first calculation
+	 */
+	double getNoEventRate();
+
+	/**
+	 * Returns the average time of a calculation
+	 * 
+	 * @return The average latency in nanoseconds, or 0 before the first
+	 *         calculation
+	 */
+	double getAverageLatencyNanos();
+
+	/**
+	 * Returns the exclusive upper bound of each bucket of the
+	 * {@link #getLatencyHistogram()}. The last bucket has no bound and is
+	 * given as {@code Long.MAX_VALUE}.
+	 * 
+	 * @return The upper bounds in nanoseconds
+	 */
+	long[] getLatencyBucketBounds();
+
+	/**
+	 * Returns the number of calculations that took a time below the bound of
+	 * each bucket and at least the bound of the previous bucket
+	 * 
+	 * @return The number of calculations in each bucket
+	 */
+	long[] getLatencyHistogram();
+
+	/**
+	 * Sets every counter back to zero
+	 */
+	void reset();
+}
@@ -0,0 +1,166 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+/**
+ * The {@link SolarEphemerisTable} holds the declination and right ascension of
+ * the sun sampled over the days of the year. These terms depend only on the
+ * time of the year (the longitude hour of the {@link SunriseSunsetCalculator}
+ * ), not on the location, so a single table is shared by every calculator
+ * using {@link CalculationMode#EPHEMERIS_TABLE}, which leaves only the
+ * latitude and longitude specific work to each location.
+ * 
+ * The values between two samples are linearly interpolated. With the default
+ * of 96 samples a day the interpolation error is below 1e-6 degrees, far below
+ * the minute of the results.
+ * 
+ * @version 1.0
+ */
+public final class SolarEphemerisTable {
+	/* The number of samples a day of the default table */
+	public static final int DEFAULT_SAMPLES_PER_DAY = 96;
+	/* The range of longitude hours covered by the table */
+	private static final double FIRST_DAY = -1;
+	private static final double LAST_DAY = 369;
+
+	private final int samplesPerDay;
+	private final double[] sinOfSunDeclination;
+	private final double[] cosineOfSunDeclination;
+	/* Right ascension in hours, increased by 24 after each full turn */
+	private final double[] rightAscension;
+
+	/**
+	 * Creates a {@code SolarEphemerisTable} with the number of samples a day
+	 * 
+	 * @param samplesPerDay
+	 *            The number of samples of each day of the table
+	 */
+	public SolarEphemerisTable(int samplesPerDay) {
+		if (samplesPerDay <= 0) {
+			throw new IllegalArgumentException(
+					"The samples per day must be positive: " + samplesPerDay);
+		}
+		this.samplesPerDay = samplesPerDay;
+		int samples = (int) ((LAST_DAY - FIRST_DAY) * samplesPerDay) + 1;
+		this.sinOfSunDeclination = new double[samples];
+		this.cosineOfSunDeclination = new double[samples];
+		this.rightAscension = new double[samples];
+
+		double turns = 0;
+		for (int i = 0; i < samples; i++) {
+			double longitudeHour = FIRST_DAY + ((double) i / samplesPerDay);
+			double sunTrueLong = SunriseSunsetCalculator.getSunTrueLongitude(
+					SunriseSunsetCalculator.getMeanAnomaly(longitudeHour),
+					false);
+			sinOfSunDeclination[i] = SunriseSunsetCalculator
+					.getSinOfSunDeclination(sunTrueLong, false);
+			cosineOfSunDeclination[i] = SunriseSunsetCalculator
+					.getCosineOfSunDeclination(sinOfSunDeclination[i], false);
+			double hours = SunriseSunsetCalculator.getRightAscension(
+					sunTrueLong, false) + turns;
+			if ((i > 0) && (hours < rightAscension[i - 1] - 12)) {
+				turns += 24;
+				hours += 24;
+			}
+			rightAscension[i] = hours;
+		}
+	}
+
+	/**
+	 * Returns the table shared by every calculator
+	 * 
+	 * @return The {@code SolarEphemerisTable} with
+	 *         {@link #DEFAULT_SAMPLES_PER_DAY}
+	 */
+	public static SolarEphemerisTable getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
+
+	/**
+	 * Returns the number of samples a day
+	 * 
+	 * @return The number of samples of each day of the table
+	 */
+	public int getSamplesPerDay() {
+		return samplesPerDay;
+	}
+
+	/**
+	 * Returns the sine of the declination of the sun
+	 * 
+	 * @param longitudeHour
+	 *            The day of the year plus the fraction of the day of the
+	 *            event at the longitude, from -1 to 369
+	 * @return The sine of the declination of the sun
+	 */
+	public double getSinOfSunDeclination(double longitudeHour) {
+		return interpolate(sinOfSunDeclination, longitudeHour);
+	}
+
+	/**
+	 * Returns the cosine of the declination of the sun
+	 * 
+	 * @param longitudeHour
+	 *            The day of the year plus the fraction of the day of the
+	 *            event at the longitude, from -1 to 369
+	 * @return The cosine of the declination of the sun
+	 */
+	public double getCosineOfSunDeclination(double longitudeHour) {
+		return interpolate(cosineOfSunDeclination, longitudeHour);
+	}
+
+	/**
+	 * Returns the right ascension of the sun
+	 * 
+	 * @param longitudeHour
+	 *            The day of the year plus the fraction of the day of the
+	 *            event at the longitude, from -1 to 369
+	 * @return The right ascension of the sun in hours, from 0 to 24
+	 */
+	public double getRightAscension(double longitudeHour) {
+		double hours = interpolate(rightAscension, longitudeHour);
+		while (hours >= 24) {
+			hours -= 24;
+		}
+		return hours;
+	}
+
+	private double interpolate(double[] samples, double longitudeHour) {
+		double position = (longitudeHour - FIRST_DAY) * samplesPerDay;
+		int index = (int) position;
+		if ((position < 0) || (index >= samples.length - 1)) {
+			throw new IllegalArgumentException("The longitude hour "
+					+ longitudeHour + " is outside of the table");
+		}
+		double fraction = position - index;
+		return samples[index]
+				+ ((samples[index + 1] - samples[index]) * fraction);
+	}
+
+	/* Creates the default table on first use */
+	private static final class DefaultHolder {
+		private static final SolarEphemerisTable DEFAULT = new SolarEphemerisTable(
+				DEFAULT_SAMPLES_PER_DAY);
+	}
+}
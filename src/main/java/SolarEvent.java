@@ -0,0 +1,67 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+/**
+ * The {@link SolarEvent} enumerates the sunrise and sunset of each of the
+ * standard {@link Twilight} in the order in which they occur during a day.
+ * 
+ * @version 1.0
+ */
+public enum SolarEvent {
+	ASTRONOMICAL_SUNRISE(Twilight.ASTRONOMICAL, true),
+	NAUTICAL_SUNRISE(Twilight.NAUTICAL, true),
+	CIVIL_SUNRISE(Twilight.CIVIL, true),
+	OFFICIAL_SUNRISE(Twilight.OFFICIAL, true),
+	OFFICIAL_SUNSET(Twilight.OFFICIAL, false),
+	CIVIL_SUNSET(Twilight.CIVIL, false),
+	NAUTICAL_SUNSET(Twilight.NAUTICAL, false),
+	ASTRONOMICAL_SUNSET(Twilight.ASTRONOMICAL, false);
+
+	private final Twilight twilight;
+	private final boolean sunrise;
+
+	private SolarEvent(Twilight twilight, boolean sunrise) {
+		this.twilight = twilight;
+		this.sunrise = sunrise;
+	}
+
+	/**
+	 * Returns the twilight
+	 * 
+	 * @return The {@code Twilight} of the solar event
+	 */
+	public Twilight twilight() {
+		return twilight;
+	}
+
+	/**
+	 * Returns whether the solar event is a sunrise
+	 * 
+	 * @return {@code true} for a sunrise and {@code false} for a sunset
+	 */
+	public boolean isSunrise() {
+		return sunrise;
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link SolarEventPublisher} class publishes the {@link SolarEvent} of
+ * a collection of locations over a range of dates, one
+ * {@link SolarEventRecord} for each location and date, every date of a
+ * location before the next location.
+ * 
+ * Nothing is computed ahead of the demand of a subscriber: a record is only
+ * computed once it has been requested, and then handed to
+ * {@link Flow.Subscriber#onNext(Object)} straight away, so a slow subscriber
+ * slows the computation down instead of filling a buffer. Each subscriber
+ * receives every record from the first one, and its signals are delivered on
+ * the executor of the publisher one at a time.
+ * 
+ * @version 1.0
+ */
+public class SolarEventPublisher implements Flow.Publisher<SolarEventRecord> {
+	private static final SolarEvent[] EVENTS = SolarEvent.values();
+
+	private final SunriseSunsetCalculator[] calculators;
+	private final LocalDate startDate;
+	private final int days;
+	private final Executor executor;
+
+	/**
+	 * Creates a {@code SolarEventPublisher} delivering its records on the
+	 * common {@code ForkJoinPool}
+	 * 
+	 * @param calculators
+	 *            the {@code SunriseSunsetCalculator} of each location
+	 * @param startDate
+	 *            the first date of each location
+	 * @param endDate
+	 *            the last date (inclusive) of each location
+	 */
+	public SolarEventPublisher(
+			Collection<SunriseSunsetCalculator> calculators,
+			LocalDate startDate, LocalDate endDate) {
+		this(calculators, startDate, endDate, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a {@code SolarEventPublisher}
+	 * 
+	 * @param calculators
+	 *            the {@code SunriseSunsetCalculator} of each location
+	 * @param startDate
+	 *            the first date of each location
+	 * @param endDate
+	 *            the last date (inclusive) of each location
+	 * @param executor
+	 *            the {@code Executor} computing and delivering the records
+	 */
+	public SolarEventPublisher(
+			Collection<SunriseSunsetCalculator> calculators,
+			LocalDate startDate, LocalDate endDate, Executor executor) {
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("The end date " + endDate
+					+ " is before the start date " + startDate);
+		}
+		this.calculators = calculators
+				.toArray(new SunriseSunsetCalculator[calculators.size()]);
+		this.startDate = startDate;
+		this.days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the number of records published to each subscriber
+	 * 
+	 * @return The number of locations times the number of dates
+	 */
+	public long getRecordCount() {
+		return (long) calculators.length * days;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super SolarEventRecord> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("The subscriber is null");
+		}
+		Subscription subscription = new Subscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		// Completes at once when there is nothing to publish
+		subscription.schedule();
+	}
+
+	private SolarEventRecord computeRecord(long index) {
+		int location = (int) (index / days);
+		LocalDate date = startDate.plusDays(index % days);
+		SunriseSunsetCalculator calculator = calculators[location];
+		long[] packedEvents = new long[EVENTS.length];
+		for (SolarEvent event : EVENTS) {
+			packedEvents[event.ordinal()] = event.isSunrise() ? calculator
+					.computeSunriseEvent(event.twilight(), date) : calculator
+					.computeSunsetEvent(event.twilight(), date);
+		}
+		return new SolarEventRecord(location, calculator, date, packedEvents);
+	}
+
+	/*
+	 * The demand of one subscriber. Requests and cancellations only update
+	 * the counters; a single drain on the executor at a time computes and
+	 * delivers as many records as were requested.
+	 */
+	private final class Subscription implements Flow.Subscription, Runnable {
+		private final Flow.Subscriber<? super SolarEventRecord> subscriber;
+		private final AtomicLong requested = new AtomicLong();
+		/* The number of times the drain was asked to run */
+		private final AtomicInteger pending = new AtomicInteger();
+		private volatile boolean cancelled;
+		private volatile Throwable error;
+		/* The index of the next record, only used by the drain */
+		private long next;
+
+		Subscription(Flow.Subscriber<? super SolarEventRecord> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				error = new IllegalArgumentException(
+						"The number of records requested is not positive: "
+								+ n);
+			} else {
+				long current;
+				long updated;
+				do {
+					current = requested.get();
+					updated = current + n;
+					if (updated < 0) {
+						updated = Long.MAX_VALUE;
+					}
+				} while (!requested.compareAndSet(current, updated));
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+
+		void schedule() {
+			if (pending.getAndIncrement() == 0) {
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			long count = getRecordCount();
+			while (true) {
+				if (cancelled) {
+					return;
+				}
+				if (error != null) {
+					cancelled = true;
+					subscriber.onError(error);
+					return;
+				}
+				long demand = requested.get();
+				long delivered = 0;
+				while ((delivered != demand) && (next < count) && !cancelled) {
+					SolarEventRecord record = computeRecord(next++);
+					try {
+						subscriber.onNext(record);
+					} catch (RuntimeException e) {
+						// A subscriber that throws is no longer served
+						cancelled = true;
+						throw e;
+					}
+					delivered++;
+				}
+				if (next == count) {
+					if (!cancelled) {
+						cancelled = true;
+						subscriber.onComplete();
+					}
+					return;
+				}
+				if ((delivered != 0) && (demand != Long.MAX_VALUE)) {
+					requested.addAndGet(-delivered);
+				}
+				missed = pending.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The {@link SolarEventRecord} class holds every {@link SolarEvent} of one
+ * location on one local date, as published by a {@link SolarEventPublisher}.
+ * 
+ * @version 1.0
+ */
+public final class SolarEventRecord {
+	private final int locationIndex;
+	private final SunriseSunsetCalculator calculator;
+	private final LocalDate date;
+	/* The packed events indexed by SolarEvent#ordinal() */
+	private final long[] packedEvents;
+
+	SolarEventRecord(int locationIndex, SunriseSunsetCalculator calculator,
+			LocalDate date, long[] packedEvents) {
+		this.locationIndex = locationIndex;
+		this.calculator = calculator;
+		this.date = date;
+		this.packedEvents = packedEvents;
+	}
+
+	/**
+	 * Returns the position of the location among the published locations
+	 * 
+	 * @return The index of the location, from 0
+	 */
+	public int getLocationIndex() {
+		return locationIndex;
+	}
+
+	/**
+	 * Returns the calculator of the location
+	 * 
+	 * @return The {@code SunriseSunsetCalculator} of the location
+	 */
+	public SunriseSunsetCalculator getCalculator() {
+		return calculator;
+	}
+
+	/**
+	 * Returns the date of the events
+	 * 
+	 * @return The {@code LocalDate} in the time zone of the location
+	 */
+	public LocalDate getDate() {
+		return date;
+	}
+
+	/**
+	 * Returns a solar event of the date packed with
+	 * {@link PackedSolarEvent#pack(long, int)}
+	 * 
+	 * @param event
+	 *            the {@code SolarEvent} to return
+	 * @return The packed event
+	 */
+	public long getPackedEvent(SolarEvent event) {
+		return packedEvents[event.ordinal()];
+	}
+
+	/**
+	 * Returns the instant of a solar event of the date
+	 * 
+	 * @param event
+	 *            the {@code SolarEvent} to return
+	 * @return The {@code Instant} of the event, or null if it does not occur
+	 */
+	public Instant getInstant(SolarEvent event) {
+		long packedEvent = packedEvents[event.ordinal()];
+		if (!PackedSolarEvent.hasEvent(packedEvent)) {
+			return null;
+		}
+		return Instant.ofEpochSecond(PackedSolarEvent.epochSecond(packedEvent));
+	}
+
+	@Override
+	public String toString() {
+		return "location " + locationIndex + " on " + date;
+	}
+}
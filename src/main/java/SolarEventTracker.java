@@ -0,0 +1,269 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The {@link SolarEventTracker} class answers which {@link SolarEvent} of a
+ * location comes next after an instant. It remembers the events of the
+ * local day of the last query and of the day after, so that polling it
+ * again only computes when the day of the query moves on: the next day
+ * becomes the current one and only the day after it is computed. The days
+ * without an event (a polar day or night) are skipped until an event is
+ * found, searching at most {@value #MAXIMUM_SEARCH_DAYS} days ahead.
+ * 
+ * A tracker can be polled by many threads at once. The remembered days are
+ * replaced as a whole, so a thread either sees the old days or the new ones.
+ * 
+ * @version 1.0
+ */
+public class SolarEventTracker {
+	/* The number of days searched for the next event */
+	public static final int MAXIMUM_SEARCH_DAYS = 400;
+
+	private static final SolarEvent[] EVENTS = SolarEvent.values();
+	private static final long MILLIS_PER_DAY = 86400000L;
+
+	private final SunriseSunsetCalculator calculator;
+	private volatile Days days;
+
+	/**
+	 * Creates a {@code SolarEventTracker} for the location of a calculator
+	 * 
+	 * @param calculator
+	 *            the {@code SunriseSunsetCalculator} of the location
+	 */
+	public SolarEventTracker(SunriseSunsetCalculator calculator) {
+		this.calculator = calculator;
+	}
+
+	/**
+	 * Returns the first occurrence of a solar event after an instant
+	 * 
+	 * @param event
+	 *            the {@code SolarEvent} to look for
+	 * @param instant
+	 *            the {@code Instant} the event must follow
+	 * @return The {@code Instant} of the event, or null if it does not occur
+	 *         during the next {@value #MAXIMUM_SEARCH_DAYS} days
+	 */
+	public Instant getNext(SolarEvent event, Instant instant) {
+		long afterMillis = instant.toEpochMilli();
+		Days current = getDays(afterMillis);
+		for (int day = 0; day < 2; day++) {
+			long packedEvent = current.events[(day * EVENTS.length)
+					+ event.ordinal()];
+			if (isAfter(packedEvent, afterMillis)) {
+				return Instant.ofEpochSecond(PackedSolarEvent
+						.epochSecond(packedEvent));
+			}
+		}
+		long epochSecond = findNextEvent(calculator, event.twilight(),
+				event.isSunrise(), current.epochDay + 2, afterMillis);
+		if (epochSecond == SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND) {
+			return null;
+		}
+		return Instant.ofEpochSecond(epochSecond);
+	}
+
+	/**
+	 * Returns the first solar event of any kind after an instant
+	 * 
+	 * @param instant
+	 *            the {@code Instant} the event must follow
+	 * @return The {@code NextEvent}, or null if no event occurs during the
+	 *         next {@value #MAXIMUM_SEARCH_DAYS} days
+	 */
+	public NextEvent getNext(Instant instant) {
+		long afterMillis = instant.toEpochMilli();
+		Days current = getDays(afterMillis);
+		NextEvent next = getFirstAfter(current.events, afterMillis);
+		if (next != null) {
+			return next;
+		}
+		// Each kind of event skips its own polar seasons
+		SolarEvent first = null;
+		long firstEpochSecond = Long.MAX_VALUE;
+		for (SolarEvent event : EVENTS) {
+			long epochSecond = findNextEvent(calculator, event.twilight(),
+					event.isSunrise(), current.epochDay + 2, afterMillis);
+			if ((epochSecond != SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND)
+					&& (epochSecond < firstEpochSecond)) {
+				first = event;
+				firstEpochSecond = epochSecond;
+			}
+		}
+		if (first == null) {
+			return null;
+		}
+		return new NextEvent(first, Instant.ofEpochSecond(firstEpochSecond));
+	}
+
+	/*
+	 * The days of the local date of the instant, shifted by one day or
+	 * computed again when that date is not the remembered one
+	 */
+	private Days getDays(long afterMillis) {
+		long epochDay = getLocalEpochDay(calculator, afterMillis);
+		Days current = days;
+		if ((current != null) && (current.epochDay == epochDay)) {
+			return current;
+		}
+		long[] events = new long[EVENTS.length * 2];
+		if ((current != null) && (current.epochDay == (epochDay - 1))) {
+			System.arraycopy(current.events, EVENTS.length, events, 0,
+					EVENTS.length);
+		} else {
+			computeEvents(epochDay, events, 0);
+		}
+		computeEvents(epochDay + 1, events, EVENTS.length);
+		current = new Days(epochDay, events);
+		days = current;
+		return current;
+	}
+
+	private void computeEvents(long epochDay, long[] events, int offset) {
+		LocalDate date = LocalDate.ofEpochDay(epochDay);
+		for (SolarEvent event : EVENTS) {
+			events[offset + event.ordinal()] = event.isSunrise() ? calculator
+					.computeSunriseEvent(event.twilight(), date) : calculator
+					.computeSunsetEvent(event.twilight(), date);
+		}
+	}
+
+	private static NextEvent getFirstAfter(long[] events, long afterMillis) {
+		int first = -1;
+		for (int i = 0; i < events.length; i++) {
+			if (isAfter(events[i], afterMillis)
+					&& ((first < 0) || (PackedSolarEvent.epochSecond(events[i])
+							< PackedSolarEvent.epochSecond(events[first])))) {
+				first = i;
+			}
+		}
+		if (first < 0) {
+			return null;
+		}
+		return new NextEvent(EVENTS[first % EVENTS.length],
+				Instant.ofEpochSecond(PackedSolarEvent
+						.epochSecond(events[first])));
+	}
+
+	private static boolean isAfter(long packedEvent, long afterMillis) {
+		return PackedSolarEvent.hasEvent(packedEvent)
+				&& ((PackedSolarEvent.epochSecond(packedEvent) * 1000)
+						> afterMillis);
+	}
+
+	/**
+	 * Searches the days from a local date for the first sunrise or sunset
+	 * after an instant, without remembering them. The events of a local day
+	 * never occur after that day, so the search can start from the local date
+	 * of the instant, and a polar day or polar night is skipped whole with
+	 * {@link SunriseSunsetCalculator#getNextEventDate(Twilight, LocalDate,
+	 * boolean)}.
+	 * 
+	 * @return The epoch second of the event, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} if it
+	 *         does not occur during the {@value #MAXIMUM_SEARCH_DAYS} days
+	 *         from the date
+	 */
+	static long findNextEvent(SunriseSunsetCalculator calculator,
+			Twilight twilight, boolean isSunrise, long epochDay,
+			long afterMillis) {
+		long lastEpochDay = epochDay + MAXIMUM_SEARCH_DAYS;
+		long day = epochDay;
+		while (day < lastEpochDay) {
+			LocalDate date = calculator.getNextEventDate(twilight,
+					LocalDate.ofEpochDay(day), isSunrise);
+			if ((date == null) || (date.toEpochDay() >= lastEpochDay)) {
+				break;
+			}
+			long packedEvent = isSunrise ? calculator.computeSunriseEvent(
+					twilight, date) : calculator.computeSunsetEvent(twilight,
+					date);
+			if (isAfter(packedEvent, afterMillis)) {
+				return PackedSolarEvent.epochSecond(packedEvent);
+			}
+			day = date.toEpochDay() + 1;
+		}
+		return SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND;
+	}
+
+	/* The local epoch day of an instant in the time zone of a calculator */
+	static long getLocalEpochDay(SunriseSunsetCalculator calculator,
+			long epochMillis) {
+		return Math.floorDiv(epochMillis
+				+ calculator.timeZone.getOffset(epochMillis), MILLIS_PER_DAY);
+	}
+
+	/* The events of a local day and of the day after, in event order */
+	private static final class Days {
+		private final long epochDay;
+		private final long[] events;
+
+		Days(long epochDay, long[] events) {
+			this.epochDay = epochDay;
+			this.events = events;
+		}
+	}
+
+	/**
+	 * The {@link NextEvent} class is a {@link SolarEvent} and the instant it
+	 * occurs at
+	 */
+	public static final class NextEvent {
+		private final SolarEvent event;
+		private final Instant instant;
+
+		NextEvent(SolarEvent event, Instant instant) {
+			this.event = event;
+			this.instant = instant;
+		}
+
+		/**
+		 * Returns the solar event
+		 * 
+		 * @return The {@code SolarEvent}
+		 */
+		public SolarEvent getEvent() {
+			return event;
+		}
+
+		/**
+		 * Returns the instant of the solar event
+		 * 
+		 * @return The {@code Instant} of the event
+		 */
+		public Instant getInstant() {
+			return instant;
+		}
+
+		@Override
+		public String toString() {
+			return event + " at " + instant;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * The {@link SolarFlightRecorder} class tells the calculators whether to
+ * create their JDK Flight Recorder events. It is the only class outside of
+ * the events that refers to the {@code jdk.jfr} module, and only once the
+ * module is known to be in the runtime, so the calculators also work on a
+ * runtime linked without it.
+ * 
+ * @version 1.0
+ */
+final class SolarFlightRecorder {
+	/* Whether the jdk.jfr module is in the runtime, checked once */
+	private static final boolean AVAILABLE = ModuleLayer.boot()
+			.findModule("jdk.jfr").isPresent();
+
+	private SolarFlightRecorder() {
+	}
+
+	/**
+	 * Returns whether the Flight Recorder runs. The event classes are only
+	 * loaded once it does, since loading one initializes the Flight Recorder
+	 * support of the JVM.
+	 * 
+	 * @return {@code true} if the events are to be created
+	 */
+	static boolean isRecording() {
+		return AVAILABLE && FlightRecorder.isInitialized();
+	}
+}
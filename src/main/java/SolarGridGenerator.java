@@ -0,0 +1,343 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@link SolarGridGenerator} class computes every {@link SolarEvent} of a
+ * regular latitude/longitude grid covering the globe for a date or a range of
+ * dates, and writes the results directly into a memory-mapped binary file.
+ * The rows of the grid are split between the threads of a
+ * {@link ForkJoinPool} and each row is computed with a
+ * {@link SunriseSunsetBatchCalculator}.
+ * 
+ * The file starts with a header of {@value #HEADER_SIZE} bytes (the big-endian
+ * ints {@value #MAGIC}, {@value #VERSION}, rows, columns and events, then the
+ * double step in degrees, the long epoch day of the first date and the int
+ * number of days). It is followed by one block per day and per
+ * {@code SolarEvent} (in the order of {@link SolarEvent#ordinal()}), each
+ * holding one big-endian int per cell in row-major order: the minutes of the
+ * event counted from 00:00 UTC of the date (negative for the day before), or
+ * {@link #POLAR_DAY} or {@link #POLAR_NIGHT} when the sun does not cross the
+ * zenith of the {@code Twilight}. Row {@code r} is the latitude
+ * {@code -90 + r * step} and column {@code c} the longitude
+ * {@code -180 + c * step}.
+ * 
+ * @version 1.0
+ */
+public class SolarGridGenerator {
+	/* The first int of a grid file ("SUNG") */
+	public static final int MAGIC = 0x53554E47;
+	/* The version of the grid file format */
+	public static final int VERSION = 1;
+	/* The number of bytes before the first block of a grid file */
+	public static final int HEADER_SIZE = 64;
+	/* The cell value when the sun stays above the zenith all day */
+	public static final int POLAR_DAY = Integer.MAX_VALUE;
+	/* The cell value when the sun stays below the zenith all day */
+	public static final int POLAR_NIGHT = Integer.MIN_VALUE;
+
+	private static final SolarEvent[] EVENTS = SolarEvent.values();
+	/* The number of rows below which a task is not split any more */
+	private static final int ROWS_PER_TASK = 4;
+
+	private final double step;
+	private final int rows;
+	private final int columns;
+	private final double[] longitudes;
+	private final CalculationMode mode;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a {@code SolarGridGenerator} for a grid with the given step
+	 * using {@link CalculationMode#EPHEMERIS_TABLE} and the common
+	 * {@code ForkJoinPool}
+	 * 
+	 * @param step
+	 *            the distance in degrees between two rows and two columns
+	 */
+	public SolarGridGenerator(double step) {
+		this(step, CalculationMode.EPHEMERIS_TABLE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a {@code SolarGridGenerator} for a grid with the given step
+	 * 
+	 * @param step
+	 *            the distance in degrees between two rows and two columns
+	 * @param mode
+	 *            the {@code CalculationMode} of the
+	 *            {@code SunriseSunsetBatchCalculator} of each row
+	 * @param pool
+	 *            the {@code ForkJoinPool} computing the rows
+	 */
+	public SolarGridGenerator(double step, CalculationMode mode,
+			ForkJoinPool pool) {
+		if (!(step > 0) || (step > 180)) {
+			throw new IllegalArgumentException("Invalid grid step " + step);
+		}
+		this.step = step;
+		this.rows = (int) Math.floor((180 / step) + 1e-9) + 1;
+		this.columns = (int) Math.ceil((360 / step) - 1e-9);
+		if (((long) rows * columns * 4) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("A grid step of " + step
+					+ " does not fit in a mapped block");
+		}
+		this.longitudes = new double[columns];
+		for (int column = 0; column < columns; column++) {
+			longitudes[column] = getLongitude(column);
+		}
+		this.mode = mode;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns the number of rows (latitudes) of the grid
+	 * 
+	 * @return The number of rows
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Returns the number of columns (longitudes) of the grid
+	 * 
+	 * @return The number of columns
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the latitude of a row of the grid
+	 * 
+	 * @param row
+	 *            the index of the row
+	 * @return The latitude in degrees
+	 */
+	public double getLatitude(int row) {
+		return Math.min(-90 + (row * step), 90);
+	}
+
+	/**
+	 * Returns the longitude of a column of the grid
+	 * 
+	 * @param column
+	 *            the index of the column
+	 * @return The longitude in degrees
+	 */
+	public double getLongitude(int column) {
+		return -180 + (column * step);
+	}
+
+	/**
+	 * Returns the position in a grid file of the value of a cell
+	 * 
+	 * @param day
+	 *            the index of the day from the first date of the file
+	 * @param event
+	 *            the {@code SolarEvent}
+	 * @param row
+	 *            the index of the row
+	 * @param column
+	 *            the index of the column
+	 * @return The position in bytes from the start of the file
+	 */
+	public long getPosition(int day, SolarEvent event, int row, int column) {
+		long block = ((long) day * EVENTS.length) + event.ordinal();
+		return HEADER_SIZE + (4 * ((block * rows * columns)
+				+ ((long) row * columns) + column));
+	}
+
+	/**
+	 * Computes the grid for a date and writes it to a file
+	 * 
+	 * @param date
+	 *            The UTC date to compute the grid for.
+	 * @param file
+	 *            The file to create or replace.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public void generate(LocalDate date, Path file) throws IOException {
+		generate(date, date, file);
+	}
+
+	/**
+	 * Computes the grid for every day of a year and writes it to a file
+	 * 
+	 * @param year
+	 *            The year to compute the grid for.
+	 * @param file
+	 *            The file to create or replace.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public void generate(int year, Path file) throws IOException {
+		generate(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), file);
+	}
+
+	/**
+	 * Computes the grid for every day from the start date to the end date
+	 * (inclusive) and writes it to a file
+	 * 
+	 * @param startDate
+	 *            The first UTC date to compute the grid for.
+	 * @param endDate
+	 *            The last UTC date to compute the grid for.
+	 * @param file
+	 *            The file to create or replace.
+	 * @throws IOException
+	 *             If the file cannot be mapped.
+	 */
+	public void generate(LocalDate startDate, LocalDate endDate, Path file)
+			throws IOException {
+		long firstEpochDay = startDate.toEpochDay();
+		long days = (endDate.toEpochDay() - firstEpochDay) + 1;
+		if (days <= 0) {
+			throw new IllegalArgumentException(endDate + " is before "
+					+ startDate);
+		}
+		SolarBulkCalculationEvent bulkEvent = SolarFlightRecorder
+				.isRecording() ? SolarBulkCalculationEvent.start() : null;
+		long blockSize = 4L * rows * columns;
+		try (FileChannel channel = FileChannel.open(file, CREATE,
+				TRUNCATE_EXISTING, READ, WRITE)) {
+			MappedByteBuffer header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns)
+					.putInt(EVENTS.length).putDouble(step)
+					.putLong(firstEpochDay).putInt((int) days);
+			MappedByteBuffer[][] blocks = new MappedByteBuffer[(int) days][];
+			for (int day = 0; day < days; day++) {
+				blocks[day] = new MappedByteBuffer[EVENTS.length];
+				for (SolarEvent event : EVENTS) {
+					blocks[day][event.ordinal()] = channel.map(READ_WRITE,
+							getPosition(day, event, 0, 0), blockSize);
+				}
+			}
+			pool.invoke(new GridTask(0, rows, firstEpochDay, blocks,
+					bulkEvent));
+		}
+		if (bulkEvent != null) {
+			bulkEvent.end("SolarGridGenerator.generate", rows * columns,
+					startDate, (int) days,
+					SolarBulkCalculationEvent.getTwilights(EVENTS));
+		}
+	}
+
+	/*
+	 * Computes the rows from the first index (inclusive) to the last index
+	 * (exclusive). Every task writes with absolute puts to its own rows of the
+	 * shared blocks, so the blocks need no locking.
+	 */
+	private class GridTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int fromRow;
+		private final int toRow;
+		private final long firstEpochDay;
+		private final MappedByteBuffer[][] blocks;
+		/* The event of the grid while recording, null otherwise */
+		private final SolarBulkCalculationEvent bulkEvent;
+
+		GridTask(int fromRow, int toRow, long firstEpochDay,
+				MappedByteBuffer[][] blocks,
+				SolarBulkCalculationEvent bulkEvent) {
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.firstEpochDay = firstEpochDay;
+			this.blocks = blocks;
+			this.bulkEvent = bulkEvent;
+		}
+
+		@Override
+		protected void compute() {
+			if ((toRow - fromRow) > ROWS_PER_TASK) {
+				int middle = (fromRow + toRow) >>> 1;
+				invokeAll(new GridTask(fromRow, middle, firstEpochDay, blocks,
+						bulkEvent), new GridTask(middle, toRow, firstEpochDay,
+						blocks, bulkEvent));
+				return;
+			}
+			long allocatedBytes = (bulkEvent == null) ? 0 : bulkEvent
+					.beginWork();
+			double[] latitudes = new double[columns];
+			long[] events = new long[columns];
+			for (int row = fromRow; row < toRow; row++) {
+				Arrays.fill(latitudes, getLatitude(row));
+				SunriseSunsetBatchCalculator batch = new SunriseSunsetBatchCalculator(
+						latitudes, longitudes, mode);
+				int rowPosition = 4 * row * columns;
+				for (int day = 0; day < blocks.length; day++) {
+					long epochDay = firstEpochDay + day;
+					LocalDate date = LocalDate.ofEpochDay(epochDay);
+					for (SolarEvent event : EVENTS) {
+						batch.computeUnrecordedEvents(event.twilight(), date,
+								events, 0, columns, event.isSunrise());
+						MappedByteBuffer block = blocks[day][event.ordinal()];
+						for (int column = 0; column < columns; column++) {
+							block.putInt(rowPosition + (4 * column),
+									getMinutes(events[column], epochDay));
+						}
+					}
+				}
+			}
+			if (bulkEvent != null) {
+				bulkEvent.endWork(allocatedBytes);
+			}
+		}
+	}
+
+	/*
+	 * Converts a packed event to the minutes from 00:00 UTC of the date or to
+	 * the polar day/night value.
+	 */
+	private static int getMinutes(long packedEvent, long epochDay) {
+		switch (PackedSolarEvent.status(packedEvent)) {
+		case PackedSolarEvent.POLAR_DAY:
+			return POLAR_DAY;
+		case PackedSolarEvent.POLAR_NIGHT:
+			return POLAR_NIGHT;
+		default:
+			long seconds = PackedSolarEvent.epochSecond(packedEvent)
+					- (epochDay * 86400);
+			return (int) (seconds / 60);
+		}
+	}
+}
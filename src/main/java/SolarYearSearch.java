@@ -0,0 +1,513 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link SolarYearSearch} class answers questions about one sunrise or
+ * sunset over a whole year (its earliest and latest time, the dates it falls
+ * after or before a time) without computing every day of the year.
+ * 
+ * Away from a polar season the time of the event follows a smooth yearly
+ * curve with a few turning points. The curve is sampled every
+ * {@value #SAMPLE_DAYS} days (every day close to a polar season, where it
+ * gets steep), each turning point is located between its neighbouring
+ * samples with a golden-section search, and the days on which the UTC offset
+ * changes or the event crosses local midnight are located by bisection. This
+ * leaves pieces on which the minutes of the event only increase or only
+ * decrease, so their extremes are at their ends and a time is crossed at
+ * most once, found by bisection. The days are computed at most once and
+ * only on demand.
+ * 
+ * The UTC offset is assumed to change at most once between two samples.
+ * 
+ * @version 1.0
+ */
+final class SolarYearSearch {
+	/* The days between two samples of the yearly curve */
+	static final int SAMPLE_DAYS = 10;
+	/* The days around a polar season on which every day is sampled */
+	private static final int EDGE_DAYS = 2 * SAMPLE_DAYS;
+	private static final int MINUTES_PER_DAY = 1440;
+	private static final double MILLIS_PER_HOUR = 3600000.0;
+	/* The golden ratio conjugate splitting a golden-section interval */
+	private static final double GOLDEN_SECTION = 0.3819660112501051;
+	private static final int UNKNOWN_OFFSET = Integer.MIN_VALUE;
+
+	private final SunriseSunsetCalculator calculator;
+	private final double cosineZenith;
+	private final boolean isSunrise;
+	private final LocalDate firstDate;
+	private final long firstEpochDay;
+	/* The local hours (NaN until computed) and UTC offsets of each day */
+	private final double[] hours;
+	private final int[] offsets;
+	/* The sampled days and their unwrapped hours in standard time */
+	private int[] sampleDays = new int[64];
+	private double[] sampleHours = new double[64];
+	private int sampleCount;
+	/* The first and last day of each piece of the year, in order */
+	private int[] pieceStarts = new int[16];
+	private int[] pieceEnds = new int[16];
+	private int pieceCount;
+	private int evaluationCount;
+
+	/**
+	 * Splits a year of the sunrise or sunset of a calculator into monotonic
+	 * pieces
+	 * 
+	 * @param calculator
+	 *            the {@code SunriseSunsetCalculator} of the location
+	 * @param twilight
+	 *            the {@code Twilight} of the sunrise or sunset
+	 * @param isSunrise
+	 *            true for the sunrise, false for the sunset
+	 * @param year
+	 *            the year to search
+	 */
+	SolarYearSearch(SunriseSunsetCalculator calculator, Twilight twilight,
+			boolean isSunrise, int year) {
+		this.calculator = calculator;
+		this.cosineZenith = SunriseSunsetCalculator.getCosineZenith(twilight);
+		this.isSunrise = isSunrise;
+		this.firstDate = LocalDate.of(year, 1, 1);
+		this.firstEpochDay = firstDate.toEpochDay();
+		int days = firstDate.lengthOfYear();
+		this.hours = new double[days];
+		this.offsets = new int[days];
+		Arrays.fill(hours, Double.NaN);
+		Arrays.fill(offsets, UNKNOWN_OFFSET);
+		boolean[] eventDays = calculator.getEventDays(twilight, days,
+				isSunrise);
+		boolean[] edgeDays = getEdgeDays(eventDays);
+		int start = 0;
+		while (start < days) {
+			if (!eventDays[start]) {
+				start++;
+				continue;
+			}
+			int end = start;
+			while (((end + 1) < days) && eventDays[end + 1]) {
+				end++;
+			}
+			splitRun(start, end, edgeDays);
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Returns the first date of the year with the earliest event
+	 * 
+	 * @return The {@code LocalDate}, or null if the event never occurs
+	 */
+	LocalDate getEarliest() {
+		return getExtreme(false);
+	}
+
+	/**
+	 * Returns the first date of the year with the latest event
+	 * 
+	 * @return The {@code LocalDate}, or null if the event never occurs
+	 */
+	LocalDate getLatest() {
+		return getExtreme(true);
+	}
+
+	/**
+	 * Returns the dates of the year on which the event occurs after, or
+	 * before, a minute of the local day
+	 * 
+	 * @param minutes
+	 *            the minutes since local midnight
+	 * @param isAfter
+	 *            true for the events after the minute, false for those
+	 *            before it
+	 * @return The {@code DateRange} of the dates in order, without two ranges
+	 *         next to each other
+	 */
+	List<DateRange> getDates(int minutes, boolean isAfter) {
+		List<DateRange> ranges = new ArrayList<DateRange>();
+		int rangeStart = -1;
+		int rangeEnd = -1;
+		for (int piece = 0; piece < pieceCount; piece++) {
+			int start = pieceStarts[piece];
+			int end = pieceEnds[piece];
+			boolean startMatches = matches(start, minutes, isAfter);
+			boolean endMatches = matches(end, minutes, isAfter);
+			if (!startMatches && !endMatches) {
+				continue;
+			} else if (startMatches && !endMatches) {
+				end = findLast(start, end, minutes, isAfter, true);
+			} else if (!startMatches) {
+				start = findLast(start, end, minutes, isAfter, false) + 1;
+			}
+			if ((rangeStart >= 0) && (start == (rangeEnd + 1))) {
+				rangeEnd = end;
+			} else {
+				if (rangeStart >= 0) {
+					ranges.add(getRange(rangeStart, rangeEnd));
+				}
+				rangeStart = start;
+				rangeEnd = end;
+			}
+		}
+		if (rangeStart >= 0) {
+			ranges.add(getRange(rangeStart, rangeEnd));
+		}
+		return ranges;
+	}
+
+	/**
+	 * Returns the number of days computed so far
+	 * 
+	 * @return The number of days of the year computed by the calculator
+	 */
+	int getEvaluationCount() {
+		return evaluationCount;
+	}
+
+	/*
+	 * The extreme of each piece is at one of its ends, and the days with the
+	 * same minutes next to it are found by bisection
+	 */
+	private LocalDate getExtreme(boolean latest) {
+		int best = -1;
+		int bestPiece = -1;
+		int bestMinutes = 0;
+		for (int piece = 0; piece < pieceCount; piece++) {
+			int[] ends = { pieceStarts[piece], pieceEnds[piece] };
+			for (int day : ends) {
+				int dayMinutes = getMinutes(day);
+				if ((best < 0) || (latest ? dayMinutes > bestMinutes
+						: dayMinutes < bestMinutes)) {
+					best = day;
+					bestPiece = piece;
+					bestMinutes = dayMinutes;
+				}
+			}
+		}
+		if (best < 0) {
+			return null;
+		}
+		// The days before it with the same minutes end its piece
+		int start = pieceStarts[bestPiece];
+		best = getPlateauStart(start, best, bestMinutes, latest);
+		while ((best == start) && (bestPiece > 0)
+				&& (pieceEnds[bestPiece - 1] == (best - 1))
+				&& (getMinutes(best - 1) == bestMinutes)) {
+			bestPiece--;
+			start = pieceStarts[bestPiece];
+			best = getPlateauStart(start, best - 1, bestMinutes, latest);
+		}
+		return firstDate.plusDays(best);
+	}
+
+	/*
+	 * Samples a run of days with an event, then cuts it at the turning
+	 * points, the changes of UTC offset and the crossings of midnight
+	 */
+	private void splitRun(int start, int end, boolean[] edgeDays) {
+		int firstSample = sampleCount;
+		for (int day = start;; day = getNextSample(day, start, end,
+				edgeDays)) {
+			double standardHours = getStandardHours(day);
+			if (sampleCount > firstSample) {
+				standardHours = unwrap(standardHours,
+						sampleHours[sampleCount - 1]);
+			}
+			addSample(day, standardHours);
+			if (day == end) {
+				break;
+			}
+		}
+		int pieceStart = start;
+		for (int i = firstSample + 1; i < (sampleCount - 1); i++) {
+			double before = sampleHours[i] - sampleHours[i - 1];
+			double after = sampleHours[i + 1] - sampleHours[i];
+			if ((before * after) < 0) {
+				int turn = findTurn(sampleDays[i - 1], sampleDays[i + 1],
+						before > 0);
+				if (turn > pieceStart) {
+					splitMonotonic(pieceStart, turn - 1);
+					pieceStart = turn;
+				}
+			}
+		}
+		splitMonotonic(pieceStart, end);
+	}
+
+	/*
+	 * The second and the last but one days are sampled too, so that a
+	 * turning point near an end of the run is seen
+	 */
+	private static int getNextSample(int day, int start, int end,
+			boolean[] edgeDays) {
+		if ((day == start) || (day >= (end - 1)) || edgeDays[day]) {
+			return day + 1;
+		}
+		return Math.min(day + SAMPLE_DAYS, end - 1);
+	}
+
+	/* Cuts a monotonic run at each change of the UTC offset */
+	private void splitMonotonic(int start, int end) {
+		int first = findSample(start);
+		int pieceStart = start;
+		int previous = start;
+		for (int i = first; (i < sampleCount) && (sampleDays[i] <= end); i++) {
+			int day = Math.max(sampleDays[i], start);
+			pieceStart = splitOffset(pieceStart, previous, day);
+			previous = day;
+		}
+		pieceStart = splitOffset(pieceStart, previous, end);
+		splitMidnight(pieceStart, end);
+	}
+
+	private int splitOffset(int pieceStart, int from, int to) {
+		int offset = getOffset(from);
+		if (getOffset(to) == offset) {
+			return pieceStart;
+		}
+		int low = from;
+		int high = to;
+		while ((high - low) > 1) {
+			int middle = (low + high) >>> 1;
+			if (getOffset(middle) == offset) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		splitMidnight(pieceStart, low);
+		return high;
+	}
+
+	/*
+	 * Cuts a monotonic run with one UTC offset at each crossing of local
+	 * midnight, where the minutes of the day wrap around
+	 */
+	private void splitMidnight(int start, int end) {
+		long startMinutes = getUnwrappedMinutes(start);
+		long endMinutes = getUnwrappedMinutes(end);
+		boolean increasing = endMinutes >= startMinutes;
+		long midnight = Math.floorDiv(Math.min(startMinutes, endMinutes),
+				MINUTES_PER_DAY) * MINUTES_PER_DAY;
+		int pieceStart = start;
+		for (midnight += MINUTES_PER_DAY; midnight <= Math.max(startMinutes,
+				endMinutes); midnight += MINUTES_PER_DAY) {
+			// The first day on the other side of midnight
+			int low = pieceStart;
+			int high = end;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				boolean crossed = increasing ? getUnwrappedMinutes(middle)
+						>= midnight : getUnwrappedMinutes(middle) < midnight;
+				if (crossed) {
+					high = middle;
+				} else {
+					low = middle + 1;
+				}
+			}
+			if (low > pieceStart) {
+				addPiece(pieceStart, low - 1);
+				pieceStart = low;
+			}
+		}
+		addPiece(pieceStart, end);
+	}
+
+	/* Golden-section search of the turning point between two samples */
+	private int findTurn(int low, int high, boolean isMaximum) {
+		int reference = findSample(low);
+		while ((high - low) > 4) {
+			int step = (int) Math.round((high - low) * GOLDEN_SECTION);
+			int left = low + step;
+			int right = high - step;
+			double leftHours = getUnwrappedHours(left, reference);
+			double rightHours = getUnwrappedHours(right, reference);
+			if (isMaximum ? leftHours >= rightHours : leftHours <= rightHours) {
+				high = right;
+			} else {
+				low = left;
+			}
+		}
+		int turn = low;
+		double turnHours = getUnwrappedHours(low, reference);
+		for (int day = low + 1; day <= high; day++) {
+			double dayHours = getUnwrappedHours(day, reference);
+			if (isMaximum ? dayHours > turnHours : dayHours < turnHours) {
+				turn = day;
+				turnHours = dayHours;
+			}
+		}
+		return turn;
+	}
+
+	/*
+	 * The first day of a monotonic piece ending at its extreme with the
+	 * minutes of that extreme
+	 */
+	private int getPlateauStart(int start, int end, int extremeMinutes,
+			boolean latest) {
+		if (!matches(start, extremeMinutes, !latest)) {
+			return start;
+		}
+		return findLast(start, end, extremeMinutes, !latest, true) + 1;
+	}
+
+	/*
+	 * The last day of a monotonic piece on which the event is (or is not)
+	 * after, or before, the minutes, given that it is (or is not) so on the
+	 * first day of the piece
+	 */
+	private int findLast(int start, int end, int minutes, boolean isAfter,
+			boolean isMatching) {
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (matches(middle, minutes, isAfter) == isMatching) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	private boolean matches(int day, int minutes, boolean isAfter) {
+		int dayMinutes = getMinutes(day);
+		return isAfter ? dayMinutes > minutes : dayMinutes < minutes;
+	}
+
+	private int getMinutes(int day) {
+		return SunriseSunsetCalculator.getMinutesOfDay(SunriseSunsetCalculator
+				.getLocalMinutes(getHours(day)));
+	}
+
+	/*
+	 * The minutes of the day counted on from the midnight of the nearest
+	 * sample, so that they do not wrap around inside a piece
+	 */
+	private long getUnwrappedMinutes(int day) {
+		int minutes = getMinutes(day);
+		double localMinutes = (getUnwrappedHours(day, findSample(day))
+				+ (getOffset(day) / MILLIS_PER_HOUR)) * 60;
+		return minutes + (Math.round((localMinutes - minutes)
+				/ MINUTES_PER_DAY) * MINUTES_PER_DAY);
+	}
+
+	private double getUnwrappedHours(int day, int sample) {
+		return unwrap(getStandardHours(day), sampleHours[sample]);
+	}
+
+	private static double unwrap(double hours, double reference) {
+		return hours + (Math.rint((reference - hours) / 24) * 24);
+	}
+
+	private double getStandardHours(int day) {
+		return getHours(day) - (getOffset(day) / MILLIS_PER_HOUR);
+	}
+
+	private double getHours(int day) {
+		double dayHours = hours[day];
+		if (Double.isNaN(dayHours)) {
+			dayHours = calculator.computeSolarEventHours(cosineZenith,
+					firstEpochDay + day, day + 1, isSunrise);
+			hours[day] = dayHours;
+			evaluationCount++;
+		}
+		return dayHours;
+	}
+
+	private int getOffset(int day) {
+		int offset = offsets[day];
+		if (offset == UNKNOWN_OFFSET) {
+			offset = calculator.getUTCOffsetMillis(firstEpochDay + day);
+			offsets[day] = offset;
+		}
+		return offset;
+	}
+
+	/* The index of the sample nearest to a day */
+	private int findSample(int day) {
+		int index = Arrays.binarySearch(sampleDays, 0, sampleCount, day);
+		if (index >= 0) {
+			return index;
+		}
+		int after = -index - 1;
+		if (after == 0) {
+			return 0;
+		} else if (after == sampleCount) {
+			return sampleCount - 1;
+		}
+		boolean isAfterNearer = (sampleDays[after] - day)
+				< (day - sampleDays[after - 1]);
+		return isAfterNearer ? after : after - 1;
+	}
+
+	private void addSample(int day, double standardHours) {
+		if (sampleCount == sampleDays.length) {
+			sampleDays = Arrays.copyOf(sampleDays, sampleCount * 2);
+			sampleHours = Arrays.copyOf(sampleHours, sampleCount * 2);
+		}
+		sampleDays[sampleCount] = day;
+		sampleHours[sampleCount] = standardHours;
+		sampleCount++;
+	}
+
+	private void addPiece(int start, int end) {
+		if (pieceCount == pieceStarts.length) {
+			pieceStarts = Arrays.copyOf(pieceStarts, pieceCount * 2);
+			pieceEnds = Arrays.copyOf(pieceEnds, pieceCount * 2);
+		}
+		pieceStarts[pieceCount] = start;
+		pieceEnds[pieceCount] = end;
+		pieceCount++;
+	}
+
+	private DateRange getRange(int start, int end) {
+		return new DateRange(firstDate.plusDays(start), firstDate.plusDays(end));
+	}
+
+	/*
+	 * The days within EDGE_DAYS of a day without an event, counting on into
+	 * the years before and after
+	 */
+	private static boolean[] getEdgeDays(boolean[] eventDays) {
+		int days = eventDays.length;
+		boolean[] edgeDays = new boolean[days];
+		for (int day = 0; day < days; day++) {
+			if (!eventDays[day]) {
+				for (int near = -EDGE_DAYS; near <= EDGE_DAYS; near++) {
+					edgeDays[Math.floorMod(day + near, days)] = true;
+				}
+			}
+		}
+		return edgeDays;
+	}
+}
@@ -29,7 +29,16 @@ import static main.java.Twilight.NAUTICAL;
 import static main.java.Twilight.OFFICIAL;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
 import java.util.TimeZone;
 
 /**
@@ -51,14 +60,24 @@ import java.util.TimeZone;
  * sunrise/sunset and 3 types of {@code Twilight} based on specific timezone,
  * latitude and longitude.
  * 
+ * A {@link SunriseSunset} is immutable. The methods taking a {@code LocalDate}
+ * never touch an object of the caller, so one instance per location can be
+ * shared by any number of threads without copies or locks. The methods taking
+ * a {@code Calendar} set the time zone of that {@code Calendar}, which must
+ * therefore not be shared between threads.
+ * 
  * @version 1.0
  */
 public class SunriseSunset {
+	/* The Twilight of the sunrises and sunsets in the order of SolarEvent */
+	private static final Twilight[] SUNRISE_TWILIGHTS = getTwilights(true);
+	private static final Twilight[] SUNSET_TWILIGHTS = getTwilights(false);
+
 	/* The values associated to the specific Location */
-	protected BigDecimal latitude;
-	protected BigDecimal longitude;
+	protected final BigDecimal latitude;
+	protected final BigDecimal longitude;
 	/* The value to set to calculate the sunrise/sunset */
-	protected SunriseSunsetCalculator sunrisesunset;
+	protected final SunriseSunsetCalculator sunrisesunset;
 
 	/**
 	 * The {@link SunriseSunset} initialization based on time zone
@@ -198,6 +217,60 @@ public class SunriseSunset {
 				longitude);
 	}
 
+	/**
+	 * The {@link SunriseSunset} initialization based on time zone
+	 * {@code String}, latitude {@code BigDecimal}, longitude
+	 * {@code BigDecimal} and {@code CalculationMode}
+	 *
+	 * @param timeZoneIdentifier
+	 *            A {@code String} based on the time zone is a region that
+	 *            observes a uniform standard time for legal, commercial, and
+	 *            social purposes.
+	 * @param latitude
+	 *            A {@code BigDecimal} value that represents latitude of the
+	 *            specific location
+	 * @param longitude
+	 *            A {@code BigDecimal} value that represents longitude of the
+	 *            specific location
+	 * @param mode
+	 *            The {@code CalculationMode} used to compute the
+	 *            sunrise/sunset
+	 */
+	public SunriseSunset(String timeZoneIdentifier, BigDecimal latitude,
+			BigDecimal longitude, CalculationMode mode) {
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.sunrisesunset = new SunriseSunsetCalculator(timeZoneIdentifier,
+				latitude, longitude, mode);
+	}
+
+	/**
+	 * The {@link SunriseSunset} initialization based on time zone
+	 * {@code TimeZone}, latitude {@code BigDecimal}, longitude
+	 * {@code BigDecimal} and {@code CalculationMode}
+	 *
+	 * @param timeZone
+	 *            A {@code TimeZone} based on the time zone is a region that
+	 *            observes a uniform standard time for legal, commercial, and
+	 *            social purposes.
+	 * @param latitude
+	 *            A {@code BigDecimal} value that represents latitude of the
+	 *            specific location
+	 * @param longitude
+	 *            A {@code BigDecimal} value that represents longitude of the
+	 *            specific location
+	 * @param mode
+	 *            The {@code CalculationMode} used to compute the
+	 *            sunrise/sunset
+	 */
+	public SunriseSunset(TimeZone timeZone, BigDecimal latitude,
+			BigDecimal longitude, CalculationMode mode) {
+		this.latitude = latitude;
+		this.longitude = longitude;
+		this.sunrisesunset = new SunriseSunsetCalculator(timeZone, latitude,
+				longitude, mode);
+	}
+
 	/**
 	 * Returns the astronomical twilight associated to sunrise which occurs when
 	 * the Sun is between 12 degrees and 18 degrees below the horizon.
@@ -419,7 +492,512 @@ public class SunriseSunset {
 	}
 
 	/**
-	 * Computes the sunrise for an arbitrary declination.
+	 * Returns the sunrise for the {@code Twilight} as the minutes since local
+	 * midnight. No objects are allocated when the {@code SunriseSunset} uses
+	 * {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunrise for.
+	 * @return The sunrise in minutes (0 to 1439) of the local day, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no sunrise.
+	 */
+	public int getSunriseMinutes(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunriseMinutes(twilight, date);
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} as the minutes since local
+	 * midnight. No objects are allocated when the {@code SunriseSunset} uses
+	 * {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunset for.
+	 * @return The sunset in minutes (0 to 1439) of the local day, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no sunset.
+	 */
+	public int getSunsetMinutes(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunsetMinutes(twilight, date);
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} as the UTC epoch second.
+	 * No objects are allocated when the {@code SunriseSunset} uses
+	 * {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunrise for.
+	 * @return The sunrise in seconds since 1970-01-01T00:00:00Z, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} for no
+	 *         sunrise.
+	 */
+	public long getSunriseEpochSecond(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunriseEpochSecond(twilight, date);
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} as the UTC epoch second. No
+	 * objects are allocated when the {@code SunriseSunset} uses
+	 * {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunset for.
+	 * @return The sunset in seconds since 1970-01-01T00:00:00Z, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} for no
+	 *         sunset.
+	 */
+	public long getSunsetEpochSecond(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunsetEpochSecond(twilight, date);
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} as a
+	 * {@link PackedSolarEvent}, which tells the polar day from the polar
+	 * night when there is no sunrise. No objects are allocated when the
+	 * {@code SunriseSunset} uses {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunrise for.
+	 * @return The sunrise packed with
+	 *         {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long getSunriseEvent(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunriseEvent(twilight, date);
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} as a
+	 * {@link PackedSolarEvent}, which tells the polar day from the polar
+	 * night when there is no sunset. No objects are allocated when the
+	 * {@code SunriseSunset} uses {@link CalculationMode#DOUBLE}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunset for.
+	 * @return The sunset packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long getSunsetEvent(Twilight twilight, Calendar date) {
+		return sunrisesunset.computeSunsetEvent(twilight, date);
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} on the given date as an
+	 * {@code Instant}. It is safe to call from many threads at once, and uses
+	 * the {@code CalculationMode} of the {@code SunriseSunset} like the
+	 * {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunrise for.
+	 * @return The sunrise as an {@code Instant}, or null for no sunrise.
+	 */
+	public Instant getSunriseInstant(Twilight twilight, LocalDate date) {
+		ZonedDateTime sunrise = getSunriseDateTime(twilight, date);
+		return (sunrise == null) ? null : sunrise.toInstant();
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} on the given date as an
+	 * {@code Instant}. It is safe to call from many threads at once, and uses
+	 * the {@code CalculationMode} of the {@code SunriseSunset} like the
+	 * {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunset for.
+	 * @return The sunset as an {@code Instant}, or null for no sunset.
+	 */
+	public Instant getSunsetInstant(Twilight twilight, LocalDate date) {
+		ZonedDateTime sunset = getSunsetDateTime(twilight, date);
+		return (sunset == null) ? null : sunset.toInstant();
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} on the given date in the
+	 * time zone of the location. It is safe to call from many threads at
+	 * once, and uses the {@code CalculationMode} of the {@code SunriseSunset}
+	 * like the {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunrise for.
+	 * @return The sunrise as a {@code ZonedDateTime}, or null for no sunrise.
+	 */
+	public ZonedDateTime getSunriseDateTime(Twilight twilight, LocalDate date) {
+		return sunrisesunset.computeSunriseDateTime(twilight, date);
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} on the given date in the
+	 * time zone of the location. It is safe to call from many threads at
+	 * once, and uses the {@code CalculationMode} of the {@code SunriseSunset}
+	 * like the {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunset for.
+	 * @return The sunset as a {@code ZonedDateTime}, or null for no sunset.
+	 */
+	public ZonedDateTime getSunsetDateTime(Twilight twilight, LocalDate date) {
+		return sunrisesunset.computeSunsetDateTime(twilight, date);
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} on the given date with the
+	 * offset of the location. It is safe to call from many threads at once,
+	 * and uses the {@code CalculationMode} of the {@code SunriseSunset} like
+	 * the {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunrise for.
+	 * @return The sunrise as an {@code OffsetDateTime}, or null for no
+	 *         sunrise.
+	 */
+	public OffsetDateTime getSunriseOffsetDateTime(Twilight twilight,
+			LocalDate date) {
+		ZonedDateTime sunrise = getSunriseDateTime(twilight, date);
+		return (sunrise == null) ? null : sunrise.toOffsetDateTime();
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} on the given date with the
+	 * offset of the location. It is safe to call from many threads at once,
+	 * and uses the {@code CalculationMode} of the {@code SunriseSunset} like
+	 * the {@code Calendar} methods.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location to
+	 *            compute the sunset for.
+	 * @return The sunset as an {@code OffsetDateTime}, or null for no sunset.
+	 */
+	public OffsetDateTime getSunsetOffsetDateTime(Twilight twilight,
+			LocalDate date) {
+		ZonedDateTime sunset = getSunsetDateTime(twilight, date);
+		return (sunset == null) ? null : sunset.toOffsetDateTime();
+	}
+
+	/**
+	 * Returns the minutes since local midnight of every {@link SolarEvent} on
+	 * every day of the year. The primitive double calculation is used
+	 * whatever the {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param year
+	 *            The year to compute the solar events for
+	 * @return The minutes indexed by {@link SolarEvent#ordinal()} and then by
+	 *         the day of the year minus one, with
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no event.
+	 */
+	public int[][] getEventMinutes(int year) {
+		LocalDate startDate = LocalDate.of(year, 1, 1);
+		return getEventMinutes(startDate,
+				startDate.plusDays(startDate.lengthOfYear() - 1));
+	}
+
+	/**
+	 * Returns the minutes since local midnight of every {@link SolarEvent} on
+	 * every day from the start date to the end date. The primitive double
+	 * calculation is used whatever the {@code CalculationMode} of the
+	 * {@code SunriseSunset}.
+	 * 
+	 * @param startDate
+	 *            The first date to compute the solar events for
+	 * @param endDate
+	 *            The last date (inclusive) to compute the solar events for
+	 * @return The minutes indexed by {@link SolarEvent#ordinal()} and then by
+	 *         the day since the start date, with
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no event.
+	 */
+	public int[][] getEventMinutes(LocalDate startDate, LocalDate endDate) {
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("The end date " + endDate
+					+ " is before the start date " + startDate);
+		}
+		int days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+		int[][] eventMinutes = new int[SolarEvent.values().length][days];
+		fillEventMinutes(startDate, eventMinutes);
+		return eventMinutes;
+	}
+
+	/**
+	 * Fills the minutes since local midnight of every {@link SolarEvent} on
+	 * each day starting at the start date, one day for each element of the
+	 * arrays. The arrays can be reused from one location to the next.
+	 * 
+	 * @param startDate
+	 *            The first date to compute the solar events for
+	 * @param eventMinutes
+	 *            The minutes indexed by {@link SolarEvent#ordinal()} and then
+	 *            by the day since the start date, filled with
+	 *            {@link SunriseSunsetCalculator#NO_EVENT} for no event.
+	 */
+	public void fillEventMinutes(LocalDate startDate, int[][] eventMinutes) {
+		sunrisesunset.computeSunriseMinutes(SUNRISE_TWILIGHTS, startDate,
+				Arrays.copyOfRange(eventMinutes, 0, SUNRISE_TWILIGHTS.length));
+		sunrisesunset.computeSunsetMinutes(SUNSET_TWILIGHTS, startDate, Arrays
+				.copyOfRange(eventMinutes, SUNRISE_TWILIGHTS.length,
+						eventMinutes.length));
+	}
+
+	/**
+	 * Returns how long the sun stays above the zenith of the {@code Twilight}
+	 * on the given date, from the hour angles of the sunrise and sunset
+	 * without computing their times. It is safe to call from many threads at
+	 * once. The primitive double calculation is used whatever the
+	 * {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise and sunset
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location
+	 * @return The day length to the minute, 24 hours for a polar day and zero
+	 *         for a polar night.
+	 */
+	public Duration getDayLength(Twilight twilight, LocalDate date) {
+		return Duration.ofMinutes(sunrisesunset.computeDayLengthMinutes(
+				twilight, date));
+	}
+
+	/**
+	 * Returns how long the sun stays between the official horizon and the
+	 * zenith of the {@code Twilight} on the given date, at dawn and at dusk
+	 * together. It is safe to call from many threads at once. The primitive
+	 * double calculation is used whatever the {@code CalculationMode} of the
+	 * {@code SunriseSunset}.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} ending the twilight
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location
+	 * @return The twilight duration to the minute.
+	 */
+	public Duration getTwilightDuration(Twilight twilight, LocalDate date) {
+		return Duration.ofMinutes(sunrisesunset.computeTwilightMinutes(
+				twilight, date));
+	}
+
+	/**
+	 * Returns the solar noon, halfway between the sunrise and the sunset, on
+	 * the given date in the time zone of the location. It is safe to call
+	 * from many threads at once. The primitive double calculation is used
+	 * whatever the {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the location
+	 * @return The solar noon to the minute.
+	 */
+	public LocalTime getSolarNoon(LocalDate date) {
+		return LocalTime.ofSecondOfDay(sunrisesunset
+				.computeSolarNoonMinutes(date) * 60L);
+	}
+
+	/**
+	 * Fills the solar noon and the day length of each {@code Twilight} on
+	 * each day starting at the start date, one day for each element of the
+	 * solar noon minutes. The arrays can be reused from one location to the
+	 * next. The primitive double calculation is used whatever the
+	 * {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param twilights
+	 *            The {@code Twilight} of the day lengths
+	 * @param startDate
+	 *            The first date to compute
+	 * @param solarNoonMinutes
+	 *            The solar noon in minutes since local midnight of each day
+	 * @param dayLengthMinutes
+	 *            The day length in minutes of each day, one array for each
+	 *            {@code Twilight} at the same index
+	 */
+	public void fillDaylightMinutes(Twilight[] twilights, LocalDate startDate,
+			int[] solarNoonMinutes, int[][] dayLengthMinutes) {
+		sunrisesunset.computeDaylightMinutes(twilights, startDate,
+				solarNoonMinutes, dayLengthMinutes);
+	}
+
+	/**
+	 * Returns the first date of the year with the earliest time of a
+	 * {@link SolarEvent}, such as the earliest sunset. The yearly curve of
+	 * the event is searched for its turning points rather than computed on
+	 * every day. The primitive double calculation is used whatever the
+	 * {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param event
+	 *            The {@code SolarEvent} to search
+	 * @param year
+	 *            The year to search
+	 * @return The {@code LocalDate} of the earliest event, or null if the
+	 *         event never occurs during the year.
+	 */
+	public LocalDate getEarliest(SolarEvent event, int year) {
+		return new SolarYearSearch(sunrisesunset, event.twilight(),
+				event.isSunrise(), year).getEarliest();
+	}
+
+	/**
+	 * Returns the first date of the year with the latest time of a
+	 * {@link SolarEvent}, such as the latest sunrise. The yearly curve of the
+	 * event is searched for its turning points rather than computed on every
+	 * day. The primitive double calculation is used whatever the
+	 * {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param event
+	 *            The {@code SolarEvent} to search
+	 * @param year
+	 *            The year to search
+	 * @return The {@code LocalDate} of the latest event, or null if the event
+	 *         never occurs during the year.
+	 */
+	public LocalDate getLatest(SolarEvent event, int year) {
+		return new SolarYearSearch(sunrisesunset, event.twilight(),
+				event.isSunrise(), year).getLatest();
+	}
+
+	/**
+	 * Returns the dates of the year on which a {@link SolarEvent} occurs
+	 * after the given local time, such as the dates of a sunset after 20:00.
+	 * The dates where the event crosses the time are found by bisection
+	 * rather than by computing every day. The primitive double calculation
+	 * is used whatever the {@code CalculationMode} of the
+	 * {@code SunriseSunset}.
+	 * 
+	 * @param event
+	 *            The {@code SolarEvent} to search
+	 * @param year
+	 *            The year to search
+	 * @param time
+	 *            The local time (to the minute) the event must follow
+	 * @return The {@code DateRange} of the dates in order, empty if the event
+	 *         is never after the time.
+	 */
+	public List<DateRange> getDatesAfter(SolarEvent event, int year,
+			LocalTime time) {
+		return new SolarYearSearch(sunrisesunset, event.twilight(),
+				event.isSunrise(), year).getDates(getMinutes(time), true);
+	}
+
+	/**
+	 * Returns the dates of the year on which a {@link SolarEvent} occurs
+	 * before the given local time, such as the dates of a sunrise before
+	 * 06:00. The dates where the event crosses the time are found by
+	 * bisection rather than by computing every day. The primitive double
+	 * calculation is used whatever the {@code CalculationMode} of the
+	 * {@code SunriseSunset}.
+	 * 
+	 * @param event
+	 *            The {@code SolarEvent} to search
+	 * @param year
+	 *            The year to search
+	 * @param time
+	 *            The local time (to the minute) the event must precede
+	 * @return The {@code DateRange} of the dates in order, empty if the event
+	 *         is never before the time.
+	 */
+	public List<DateRange> getDatesBefore(SolarEvent event, int year,
+			LocalTime time) {
+		return new SolarYearSearch(sunrisesunset, event.twilight(),
+				event.isSunrise(), year).getDates(getMinutes(time), false);
+	}
+
+	/**
+	 * Returns the minutes since local midnight of every {@link SolarEvent} on
+	 * the given date. The terms of the calculation shared by the
+	 * {@code Twilight} are computed once for all the sunrises and once for all
+	 * the sunsets. The primitive double calculation is used whatever the
+	 * {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            solar events for.
+	 * @return The minutes indexed by {@link SolarEvent#ordinal()}, with
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no event.
+	 */
+	public int[] getEventMinutes(Calendar date) {
+		int[] eventMinutes = new int[SolarEvent.values().length];
+		int[] sunsetMinutes = new int[SUNSET_TWILIGHTS.length];
+		sunrisesunset.computeSunriseMinutes(SUNRISE_TWILIGHTS, date,
+				eventMinutes);
+		sunrisesunset.computeSunsetMinutes(SUNSET_TWILIGHTS, date,
+				sunsetMinutes);
+		System.arraycopy(sunsetMinutes, 0, eventMinutes,
+				SUNRISE_TWILIGHTS.length, sunsetMinutes.length);
+		return eventMinutes;
+	}
+
+	/**
+	 * Returns the sunrise for each {@code Twilight} as the minutes since local
+	 * midnight. The terms of the calculation shared by the {@code Twilight}
+	 * are computed once for all of them. The primitive double calculation is
+	 * used whatever the {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param twilights
+	 *            The {@code Twilight} of the sunrises
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunrise for.
+	 * @return The sunrise in minutes (0 to 1439) of the local day for each
+	 *         {@code Twilight} at the same index, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no sunrise.
+	 */
+	public int[] getSunriseMinutes(Twilight[] twilights, Calendar date) {
+		int[] minutes = new int[twilights.length];
+		sunrisesunset.computeSunriseMinutes(twilights, date, minutes);
+		return minutes;
+	}
+
+	/**
+	 * Returns the sunset for each {@code Twilight} as the minutes since local
+	 * midnight. The terms of the calculation shared by the {@code Twilight}
+	 * are computed once for all of them. The primitive double calculation is
+	 * used whatever the {@code CalculationMode} of the {@code SunriseSunset}.
+	 * 
+	 * @param twilights
+	 *            The {@code Twilight} of the sunsets
+	 * @param date
+	 *            {@code Calendar} object containing the date to compute the
+	 *            sunset for.
+	 * @return The sunset in minutes (0 to 1439) of the local day for each
+	 *         {@code Twilight} at the same index, or
+	 *         {@link SunriseSunsetCalculator#NO_EVENT} for no sunset.
+	 */
+	public int[] getSunsetMinutes(Twilight[] twilights, Calendar date) {
+		int[] minutes = new int[twilights.length];
+		sunrisesunset.computeSunsetMinutes(twilights, date, minutes);
+		return minutes;
+	}
+
+	/**
+	 * Computes the sunrise for an arbitrary declination. The calculator of the
+	 * location and the {@code Twilight} are shared between calls through
+	 * {@link SunriseSunsetCalculatorRegistry#getDefault()} and
+	 * {@link Twilight#valueOf(double)}.
 	 * 
 	 * @param latitude
 	 *            Coordinates for the location to compute the sunrise
@@ -437,13 +1015,16 @@ public class SunriseSunset {
 	 */
 	public static Calendar getSunrise(double latitude, double longitude,
 			TimeZone timeZone, Calendar date, double degrees) {
-		return new SunriseSunsetCalculator(timeZone, new BigDecimal(latitude),
-				new BigDecimal(longitude)).computeSunriseCalendar(new Twilight(
-				90 - degrees), date);
+		return SunriseSunsetCalculatorRegistry.getDefault()
+				.getCalculator(latitude, longitude, timeZone)
+				.computeSunriseCalendar(Twilight.valueOf(90 - degrees), date);
 	}
 
 	/**
-	 * Computes the sunset for an arbitrary declination.
+	 * Computes the sunset for an arbitrary declination. The calculator of the
+	 * location and the {@code Twilight} are shared between calls through
+	 * {@link SunriseSunsetCalculatorRegistry#getDefault()} and
+	 * {@link Twilight#valueOf(double)}.
 	 * 
 	 * @param latitude
 	 *            Coordinates for the location to compute the sunset
@@ -461,9 +1042,23 @@ public class SunriseSunset {
 	 */
 	public static Calendar getSunset(double latitude, double longitude,
 			TimeZone timeZone, Calendar date, double degrees) {
-		return new SunriseSunsetCalculator(timeZone, new BigDecimal(latitude),
-				new BigDecimal(longitude)).computeSunsetCalendar(new Twilight(
-				90 - degrees), date);
+		return SunriseSunsetCalculatorRegistry.getDefault()
+				.getCalculator(latitude, longitude, timeZone)
+				.computeSunsetCalendar(Twilight.valueOf(90 - degrees), date);
+	}
+
+	private static int getMinutes(LocalTime time) {
+		return (time.getHour() * 60) + time.getMinute();
+	}
+
+	private static Twilight[] getTwilights(boolean isSunrise) {
+		List<Twilight> twilights = new ArrayList<Twilight>();
+		for (SolarEvent event : SolarEvent.values()) {
+			if (event.isSunrise() == isSunrise) {
+				twilights.add(event.twilight());
+			}
+		}
+		return twilights.toArray(new Twilight[twilights.size()]);
 	}
 
 	/**
@@ -0,0 +1,302 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.LocalDate;
+
+/**
+ * The {@link SunriseSunsetBatchCalculator} class computes the sunrise/sunset
+ * of many locations at once. The locations are held as a structure of arrays
+ * (one primitive array per term) and each batch is processed in small chunks
+ * of simple loops over those arrays, which the JIT compiler can unroll and
+ * vectorize, instead of one {@link SunriseSunsetCalculator} with
+ * {@code BigDecimal} fields per location.
+ * 
+ * The locations have no time zone: the date is the UTC date and the results
+ * are the same as those of a {@code SunriseSunsetCalculator} in the "GMT"
+ * time zone with the same {@code CalculationMode}. A batch calculator is
+ * immutable and can be used by many threads at once.
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetBatchCalculator {
+	/* The number of locations computed by each pass over the arrays */
+	private static final int CHUNK_SIZE = 1024;
+
+	/* Location values computed once for every batch */
+	private final double[] sinLatitudes;
+	private final double[] cosLatitudes;
+	private final double[] baseLongitudeHours;
+	/* The shared ephemeris of the EPHEMERIS_TABLE calculation mode */
+	private final SolarEphemerisTable ephemeris;
+	/* Whether the FAST_MATH calculation mode approximates the trigonometry */
+	private final boolean fastMath;
+
+	/**
+	 * Creates a {@code SunriseSunsetBatchCalculator} for the locations using
+	 * {@link CalculationMode#EPHEMERIS_TABLE}
+	 * 
+	 * @param latitudes
+	 *            the latitude of each location in degrees
+	 * @param longitudes
+	 *            the longitude of each location in degrees
+	 */
+	public SunriseSunsetBatchCalculator(double[] latitudes, double[] longitudes) {
+		this(latitudes, longitudes, CalculationMode.EPHEMERIS_TABLE);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetBatchCalculator} for the locations
+	 * 
+	 * @param latitudes
+	 *            the latitude of each location in degrees
+	 * @param longitudes
+	 *            the longitude of each location in degrees
+	 * @param mode
+	 *            the {@code CalculationMode} used to compute the
+	 *            sunrise/sunset, any but
+	 *            {@link CalculationMode#BIG_DECIMAL}
+	 */
+	public SunriseSunsetBatchCalculator(double[] latitudes,
+			double[] longitudes, CalculationMode mode) {
+		if (latitudes.length != longitudes.length) {
+			throw new IllegalArgumentException("There are "
+					+ latitudes.length + " latitudes but " + longitudes.length
+					+ " longitudes");
+		}
+		if (mode == CalculationMode.BIG_DECIMAL) {
+			throw new IllegalArgumentException(
+					"A batch is computed with primitive doubles, not " + mode);
+		}
+		this.ephemeris = (mode == CalculationMode.EPHEMERIS_TABLE) ? SolarEphemerisTable
+				.getDefault() : null;
+		this.fastMath = (mode == CalculationMode.FAST_MATH);
+		this.sinLatitudes = new double[latitudes.length];
+		this.cosLatitudes = new double[latitudes.length];
+		this.baseLongitudeHours = new double[longitudes.length];
+		for (int i = 0; i < latitudes.length; i++) {
+			double latitudeInRads = Math.toRadians(latitudes[i]);
+			sinLatitudes[i] = Math.sin(latitudeInRads);
+			cosLatitudes[i] = Math.cos(latitudeInRads);
+			baseLongitudeHours[i] = longitudes[i] / 15;
+		}
+	}
+
+	/**
+	 * Returns the number of locations
+	 * 
+	 * @return The number of locations of the batch
+	 */
+	public int size() {
+		return sinLatitudes.length;
+	}
+
+	/**
+	 * Computes the sunrise for the given {@link Twilight} at the given date
+	 * for every location.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The UTC date to compute the sunrise for.
+	 * @param epochSeconds
+	 *            The array filled with the sunrise of each location in seconds
+	 *            since 1970-01-01T00:00:00Z, or
+	 *            {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} if the
+	 *            sun does not rise at that location.
+	 */
+	public void computeSunriseEpochSeconds(Twilight twilight, LocalDate date,
+			long[] epochSeconds) {
+		computeEpochSeconds(twilight, date, epochSeconds, 0, size(), true);
+	}
+
+	/**
+	 * Computes the sunset for the given {@link Twilight} at the given date for
+	 * every location.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The UTC date to compute the sunset for.
+	 * @param epochSeconds
+	 *            The array filled with the sunset of each location in seconds
+	 *            since 1970-01-01T00:00:00Z, or
+	 *            {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} if the
+	 *            sun does not set at that location.
+	 */
+	public void computeSunsetEpochSeconds(Twilight twilight, LocalDate date,
+			long[] epochSeconds) {
+		computeEpochSeconds(twilight, date, epochSeconds, 0, size(), false);
+	}
+
+	/**
+	 * Computes the solar event for the given {@link Twilight} at the given
+	 * date for the locations from the first index (inclusive) to the last
+	 * index (exclusive), so a batch can be split between threads.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of event to
+	 *            compute.
+	 * @param date
+	 *            The UTC date to compute the event for.
+	 * @param epochSeconds
+	 *            The array filled at the index of each location with the event
+	 *            in seconds since 1970-01-01T00:00:00Z, or
+	 *            {@link SunriseSunsetCalculator#NO_EVENT_EPOCH_SECOND} if
+	 *            there is no event at that location.
+	 * @param fromIndex
+	 *            The index of the first location
+	 * @param toIndex
+	 *            The index after the last location
+	 * @param isSunrise
+	 *            {@code true} for the sunrise and {@code false} for the sunset
+	 */
+	public void computeEpochSeconds(Twilight twilight, LocalDate date,
+			long[] epochSeconds, int fromIndex, int toIndex, boolean isSunrise) {
+		computeEvents(twilight, date, epochSeconds, fromIndex, toIndex,
+				isSunrise);
+		for (int i = fromIndex; i < toIndex; i++) {
+			epochSeconds[i] = SunriseSunsetCalculator
+					.getEpochSecond(epochSeconds[i]);
+		}
+	}
+
+	/**
+	 * Computes the solar event for the given {@link Twilight} at the given
+	 * date for the locations from the first index (inclusive) to the last
+	 * index (exclusive) as events packed with the polar day/night status.
+	 * 
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of event to
+	 *            compute.
+	 * @param date
+	 *            The UTC date to compute the event for.
+	 * @param events
+	 *            The array filled at the index of each location with the event
+	 *            packed as described by {@link PackedSolarEvent}; without an
+	 *            event the epoch second is the start of the UTC date.
+	 * @param fromIndex
+	 *            The index of the first location
+	 * @param toIndex
+	 *            The index after the last location
+	 * @param isSunrise
+	 *            {@code true} for the sunrise and {@code false} for the sunset
+	 */
+	public void computeEvents(Twilight twilight, LocalDate date,
+			long[] events, int fromIndex, int toIndex, boolean isSunrise) {
+		SolarBulkCalculationEvent event = SolarFlightRecorder.isRecording()
+				? SolarBulkCalculationEvent.start() : null;
+		computeUnrecordedEvents(twilight, date, events, fromIndex, toIndex,
+				isSunrise);
+		if (event != null) {
+			event.end(isSunrise ? "SunriseSunsetBatchCalculator.computeSunriseEvents"
+					: "SunriseSunsetBatchCalculator.computeSunsetEvents",
+					toIndex - fromIndex, date, 1, new Twilight[] { twilight });
+		}
+	}
+
+	/*
+	 * Computes the packed events without recording a SolarBulkCalculationEvent,
+	 * for the grids recording their own
+	 */
+	void computeUnrecordedEvents(Twilight twilight, LocalDate date,
+			long[] events, int fromIndex, int toIndex, boolean isSunrise) {
+		double cosineZenith = SunriseSunsetCalculator.getCosineZenith(twilight);
+		long epochDay = date.toEpochDay();
+		int dayOfYear = date.getDayOfYear();
+		int offset = isSunrise ? 6 : 18;
+
+		double[] longitudeHours = new double[CHUNK_SIZE];
+		double[] sinSunDeclinations = new double[CHUNK_SIZE];
+		double[] cosineSunDeclinations = new double[CHUNK_SIZE];
+		double[] rightAscensions = new double[CHUNK_SIZE];
+		double[] cosineSunLocalHours = new double[CHUNK_SIZE];
+		for (int start = fromIndex; start < toIndex; start += CHUNK_SIZE) {
+			int length = Math.min(CHUNK_SIZE, toIndex - start);
+
+			for (int i = 0; i < length; i++) {
+				longitudeHours[i] = dayOfYear
+						+ ((offset - baseLongitudeHours[start + i]) / 24);
+			}
+
+			if (ephemeris == null) {
+				for (int i = 0; i < length; i++) {
+					double sunTrueLong = SunriseSunsetCalculator
+							.getSunTrueLongitude(SunriseSunsetCalculator
+									.getMeanAnomaly(longitudeHours[i]),
+									fastMath);
+					sinSunDeclinations[i] = SunriseSunsetCalculator
+							.getSinOfSunDeclination(sunTrueLong, fastMath);
+					cosineSunDeclinations[i] = SunriseSunsetCalculator
+							.getCosineOfSunDeclination(sinSunDeclinations[i],
+									fastMath);
+					rightAscensions[i] = SunriseSunsetCalculator
+							.getRightAscension(sunTrueLong, fastMath);
+				}
+			} else {
+				for (int i = 0; i < length; i++) {
+					sinSunDeclinations[i] = ephemeris
+							.getSinOfSunDeclination(longitudeHours[i]);
+					cosineSunDeclinations[i] = ephemeris
+							.getCosineOfSunDeclination(longitudeHours[i]);
+					rightAscensions[i] = ephemeris
+							.getRightAscension(longitudeHours[i]);
+				}
+			}
+
+			for (int i = 0; i < length; i++) {
+				cosineSunLocalHours[i] = (cosineZenith - (sinSunDeclinations[i] * sinLatitudes[start
+						+ i]))
+						/ (cosineSunDeclinations[i] * cosLatitudes[start + i]);
+			}
+
+			for (int i = 0; i < length; i++) {
+				double cosineSunLocalHour = cosineSunLocalHours[i];
+				if (cosineSunLocalHour < -1.0) {
+					events[start + i] = PackedSolarEvent.pack(epochDay * 86400,
+							PackedSolarEvent.POLAR_DAY);
+					continue;
+				} else if (cosineSunLocalHour > 1.0) {
+					events[start + i] = PackedSolarEvent.pack(epochDay * 86400,
+							PackedSolarEvent.POLAR_NIGHT);
+					continue;
+				}
+				double sunLocalHour = SunriseSunsetCalculator.getSunLocalHour(
+						cosineSunLocalHour, isSunrise, fastMath);
+				double localMeanTime = SunriseSunsetCalculator
+						.getLocalMeanTime(rightAscensions[i], longitudeHours[i],
+								sunLocalHour);
+				double utcTime = localMeanTime - baseLongitudeHours[start + i];
+				if (utcTime > 24.0) {
+					utcTime -= 24;
+				}
+				events[start + i] = SunriseSunsetCalculator.getPackedEvent(
+						SunriseSunsetCalculator.getLocalMinutes(utcTime),
+						epochDay, 0);
+			}
+		}
+	}
+}
@@ -0,0 +1,928 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@link SunriseSunsetBatchRunner} class computes the sunrise and sunset
+ * of every day of the date range of each row of an input file, and writes
+ * one record per day to an output file. It streams both files through a
+ * {@link FileChannel} so that its memory does not grow with their size: one
+ * thread reads and parses the input through a single direct buffer, a pool
+ * of workers computes the rows with the {@link SunriseSunsetCalculator}s of
+ * a {@link SunriseSunsetCalculatorRegistry}, and one thread writes the direct
+ * buffers filled by the workers. The threads are
+ * connected by bounded queues, so a slow writer blocks the workers and slow
+ * workers block the reader. The records of the rows computed by different
+ * workers may be written in any order.
+ * 
+ * A {@link Format#CSV} input row is
+ * {@code id,latitude,longitude,zone,startDate,endDate} with the ISO-8601
+ * dates of the first and last day; blank lines and lines starting with
+ * {@code #} are skipped. A {@link Format#BINARY} input row is the big-endian
+ * long id, double latitude, double longitude, long epoch days of the first
+ * and last day, and the zone identifier as one byte of length followed by
+ * its US-ASCII characters. A row whose zone identifier is unknown to
+ * {@link ZoneId#of(String)} fails the run with its line or row number rather
+ * than being computed in GMT.
+ * 
+ * A {@code CSV} output record is {@code id,date,sunrise,sunset} with the
+ * local times formatted as {@code HH:mm}, or {@code 99:99} when there is no
+ * sunrise or sunset. A {@code BINARY} output record is the big-endian long
+ * id, int epoch day, and short sunrise and sunset minutes of the local day,
+ * or {@link SunriseSunsetCalculator#NO_EVENT}.
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetBatchRunner {
+	/**
+	 * The formats of the input and output files
+	 */
+	public enum Format {
+		CSV, BINARY
+	}
+
+	/* The size of each direct buffer */
+	private static final int BUFFER_SIZE = 64 * 1024;
+	/* The number of rows handed to a worker at once */
+	private static final int ROWS_PER_CHUNK = 256;
+	/* The number of days computed at once for a row */
+	private static final int DAYS_PER_STEP = 366;
+	/* The largest record of any output format */
+	private static final int MAXIMUM_RECORD_SIZE = 64;
+	/* The number of fields of a CSV input row */
+	private static final int CSV_FIELDS = 6;
+	/* The size of a binary input row without the zone identifier */
+	private static final int BINARY_ROW_SIZE = 41;
+	/* The number of time zones the reader keeps once resolved */
+	private static final int MAXIMUM_TIME_ZONES = 1024;
+	/* The powers of ten a double holds exactly */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+			1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+			1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/* Tell the workers and the writer that nothing else will come */
+	private static final Row[] END_OF_ROWS = new Row[0];
+	private static final ByteBuffer END_OF_RECORDS = ByteBuffer.allocate(0);
+
+	private final Twilight twilight;
+	private final CalculationMode mode;
+	private final int workers;
+	private final Format inputFormat;
+	private final Format outputFormat;
+
+	/**
+	 * Creates a {@code SunriseSunsetBatchRunner} computing the official
+	 * sunrise and sunset of {@code CSV} files with
+	 * {@link CalculationMode#DOUBLE} and one worker per processor
+	 */
+	public SunriseSunsetBatchRunner() {
+		this(Twilight.OFFICIAL, CalculationMode.DOUBLE, Runtime.getRuntime()
+				.availableProcessors(), Format.CSV, Format.CSV);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetBatchRunner} based on the parameters
+	 * 
+	 * @param twilight
+	 *            the {@code Twilight} of the sunrise and sunset
+	 * @param mode
+	 *            the {@code CalculationMode} of the calculators. The days of
+	 *            a row are computed together with primitive doubles, so
+	 *            {@link CalculationMode#BIG_DECIMAL} is the same as
+	 *            {@link CalculationMode#DOUBLE}.
+	 * @param workers
+	 *            the number of threads computing the rows
+	 * @param inputFormat
+	 *            the {@code Format} of the input file
+	 * @param outputFormat
+	 *            the {@code Format} of the output file
+	 */
+	public SunriseSunsetBatchRunner(Twilight twilight, CalculationMode mode,
+			int workers, Format inputFormat, Format outputFormat) {
+		if (workers <= 0) {
+			throw new IllegalArgumentException("Invalid number of workers "
+					+ workers);
+		}
+		this.twilight = twilight;
+		this.mode = mode;
+		this.workers = workers;
+		this.inputFormat = inputFormat;
+		this.outputFormat = outputFormat;
+	}
+
+	/**
+	 * Computes every row of the input file and writes the records to the
+	 * output file, replacing it if it exists
+	 * 
+	 * @param input
+	 *            the {@code Path} of the file to read the rows from
+	 * @param output
+	 *            the {@code Path} of the file to write the records to
+	 * @return The number of records written, one per day of each row
+	 * @throws IOException
+	 *             if a file cannot be read or written, or a row is invalid
+	 */
+	public long run(Path input, Path output) throws IOException {
+		BlockingQueue<Row[]> rows = new ArrayBlockingQueue<Row[]>(workers * 2);
+		BlockingQueue<ByteBuffer> freeBuffers =
+				new ArrayBlockingQueue<ByteBuffer>(workers * 2);
+		// Room for every buffer and the end of each worker
+		BlockingQueue<ByteBuffer> filledBuffers =
+				new ArrayBlockingQueue<ByteBuffer>(workers * 3);
+		for (int i = 0; i < (workers * 2); i++) {
+			freeBuffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+		}
+		AtomicLong records = new AtomicLong();
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		SunriseSunsetCalculatorRegistry calculators =
+				new SunriseSunsetCalculatorRegistry(
+						SunriseSunsetCalculatorRegistry.DEFAULT_MAXIMUM_SIZE,
+						mode);
+		SolarBulkCalculationEvent event = SolarFlightRecorder.isRecording()
+				? SolarBulkCalculationEvent.start() : null;
+		Span span = (event == null) ? null : new Span();
+
+		try (FileChannel in = FileChannel.open(input, READ);
+				FileChannel out = FileChannel.open(output, CREATE,
+						TRUNCATE_EXISTING, WRITE)) {
+			Thread writer = new Thread(new Writer(out, freeBuffers,
+					filledBuffers, failure), "SunriseSunsetBatchRunner-writer");
+			writer.start();
+			Thread[] threads = new Thread[workers];
+			for (int i = 0; i < workers; i++) {
+				threads[i] = new Thread(new Worker(rows, freeBuffers,
+						filledBuffers, records, failure, calculators, event,
+						span),
+						"SunriseSunsetBatchRunner-worker-" + i);
+				threads[i].start();
+			}
+			try {
+				if (inputFormat == Format.CSV) {
+					readCsv(in, rows, failure);
+				} else {
+					readBinary(in, rows, failure);
+				}
+			} catch (Throwable e) {
+				failure.compareAndSet(null, e);
+			} finally {
+				for (int i = 0; i < workers; i++) {
+					putUninterruptibly(rows, END_OF_ROWS);
+				}
+				joinUninterruptibly(threads);
+				joinUninterruptibly(writer);
+			}
+		}
+		if (event != null) {
+			event.end("SunriseSunsetBatchRunner.run", span.getRows(),
+					span.getStartDate(), span.getDays(),
+					new Twilight[] { twilight });
+		}
+		Throwable cause = failure.get();
+		if (cause instanceof IOException) {
+			throw (IOException) cause;
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		} else if (cause != null) {
+			throw new IOException(cause);
+		}
+		return records.get();
+	}
+
+	/**
+	 * Runs a batch from the command line. The arguments are the options
+	 * followed by the input and output files:
+	 * 
+	 * <pre>
+	 * --twilight official|civil|nautical|astronomical
+	 * --mode DOUBLE|EPHEMERIS_TABLE|FAST_MATH
+	 * --workers n
+	 * --input-format csv|binary
+	 * --output-format csv|binary
+	 * </pre>
+	 * 
+	 * @param args
+	 *            the options, the input file and the output file
+	 * @throws IOException
+	 *             if a file cannot be read or written, or a row is invalid
+	 */
+	public static void main(String[] args) throws IOException {
+		Twilight twilight = Twilight.OFFICIAL;
+		CalculationMode mode = CalculationMode.DOUBLE;
+		int workers = Runtime.getRuntime().availableProcessors();
+		Format inputFormat = Format.CSV;
+		Format outputFormat = Format.CSV;
+		int i = 0;
+		try {
+			for (; (i < args.length) && args[i].startsWith("--"); i += 2) {
+				String value = args[i + 1];
+				switch (args[i]) {
+				case "--twilight":
+					twilight = getTwilight(value);
+					break;
+				case "--mode":
+					mode = CalculationMode.valueOf(value
+							.toUpperCase(Locale.ROOT));
+					break;
+				case "--workers":
+					workers = Integer.parseInt(value);
+					break;
+				case "--input-format":
+					inputFormat = Format
+							.valueOf(value.toUpperCase(Locale.ROOT));
+					break;
+				case "--output-format":
+					outputFormat = Format
+							.valueOf(value.toUpperCase(Locale.ROOT));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option "
+							+ args[i]);
+				}
+			}
+		} catch (RuntimeException e) {
+			printUsage(e.getMessage());
+			return;
+		}
+		if ((args.length - i) != 2) {
+			printUsage("Expected an input and an output file");
+			return;
+		}
+		SunriseSunsetBatchRunner runner = new SunriseSunsetBatchRunner(
+				twilight, mode, workers, inputFormat, outputFormat);
+		long start = System.nanoTime();
+		long records = runner.run(Paths.get(args[i]), Paths.get(args[i + 1]));
+		System.out.printf("%d records in %d ms%n", records,
+				(System.nanoTime() - start) / 1000000);
+	}
+
+	private static Twilight getTwilight(String name) {
+		switch (name.toLowerCase(Locale.ROOT)) {
+		case "official":
+			return Twilight.OFFICIAL;
+		case "civil":
+			return Twilight.CIVIL;
+		case "nautical":
+			return Twilight.NAUTICAL;
+		case "astronomical":
+			return Twilight.ASTRONOMICAL;
+		default:
+			throw new IllegalArgumentException("Unknown twilight " + name);
+		}
+	}
+
+	private static void printUsage(String message) {
+		System.err.println(message);
+		System.err.println("Usage: SunriseSunsetBatchRunner"
+				+ " [--twilight official|civil|nautical|astronomical]"
+				+ " [--mode DOUBLE|EPHEMERIS_TABLE|FAST_MATH] [--workers n]"
+				+ " [--input-format csv|binary] [--output-format csv|binary]"
+				+ " input output");
+	}
+
+	/*
+	 * Reads the CSV rows line by line. The fields of a line are parsed in the
+	 * direct buffer once the line is complete, and the bytes of an incomplete
+	 * line are moved to the start of the buffer before the next read.
+	 */
+	private void readCsv(FileChannel in, BlockingQueue<Row[]> rows,
+			AtomicReference<Throwable> failure) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		int[] fields = new int[CSV_FIELDS * 2];
+		ZoneResolver zones = new ZoneResolver();
+		Row[] chunk = new Row[ROWS_PER_CHUNK];
+		int size = 0;
+		long lineNumber = 0;
+		boolean endOfFile = false;
+		while (!endOfFile && (failure.get() == null)) {
+			endOfFile = in.read(buffer) < 0;
+			buffer.flip();
+			int start = buffer.position();
+			for (int i = start; i < buffer.limit(); i++) {
+				if (buffer.get(i) != '\n') {
+					continue;
+				}
+				lineNumber++;
+				Row row = parseCsv(buffer, start, i, fields, zones,
+						lineNumber);
+				start = i + 1;
+				if (row == null) {
+					continue;
+				}
+				chunk[size++] = row;
+				if (size == ROWS_PER_CHUNK) {
+					putUninterruptibly(rows, chunk);
+					chunk = new Row[ROWS_PER_CHUNK];
+					size = 0;
+				}
+			}
+			buffer.position(start);
+			if (endOfFile && buffer.hasRemaining()) {
+				Row row = parseCsv(buffer, start, buffer.limit(), fields,
+						zones, ++lineNumber);
+				if (row != null) {
+					chunk[size++] = row;
+				}
+			} else if ((start == 0) && (buffer.limit() == buffer.capacity())) {
+				throw new IOException("Line " + (lineNumber + 1)
+						+ " is longer than " + BUFFER_SIZE + " bytes");
+			} else {
+				buffer.compact();
+			}
+		}
+		if (size > 0) {
+			Row[] last = new Row[size];
+			System.arraycopy(chunk, 0, last, 0, size);
+			putUninterruptibly(rows, last);
+		}
+	}
+
+	/*
+	 * Parses the line between the start and the end of the buffer, keeping
+	 * the bounds of its fields without the blanks around them
+	 */
+	private static Row parseCsv(ByteBuffer buffer, int start, int end,
+			int[] fields, ZoneResolver zones, long lineNumber)
+			throws IOException {
+		start = skipBlanks(buffer, start, end);
+		if ((start == end) || (buffer.get(start) == '#')) {
+			return null;
+		}
+		int count = 0;
+		int fieldStart = start;
+		for (int i = start; i <= end; i++) {
+			if ((i < end) && (buffer.get(i) != ',')) {
+				continue;
+			}
+			if (count < CSV_FIELDS) {
+				int fieldEnd = i;
+				while ((fieldEnd > fieldStart)
+						&& isBlank(buffer.get(fieldEnd - 1))) {
+					fieldEnd--;
+				}
+				fields[count * 2] = skipBlanks(buffer, fieldStart, fieldEnd);
+				fields[(count * 2) + 1] = fieldEnd;
+			}
+			count++;
+			fieldStart = i + 1;
+		}
+		if (count != CSV_FIELDS) {
+			throw new IOException("Line " + lineNumber + " has " + count
+					+ " fields instead of " + CSV_FIELDS);
+		}
+		try {
+			return new Row(parseLong(buffer, fields[0], fields[1]),
+					parseDouble(buffer, fields[2], fields[3]), parseDouble(
+							buffer, fields[4], fields[5]), zones.resolve(
+							buffer, fields[6], fields[7]), parseEpochDay(
+							buffer, fields[8], fields[9]), parseEpochDay(
+							buffer, fields[10], fields[11]));
+		} catch (NumberFormatException | DateTimeException e) {
+			throw new IOException("Line " + lineNumber + " is invalid: "
+					+ e.getMessage(), e);
+		}
+	}
+
+	private static boolean isBlank(byte b) {
+		return (b & 0xFF) <= ' ';
+	}
+
+	private static int skipBlanks(ByteBuffer buffer, int start, int end) {
+		while ((start < end) && isBlank(buffer.get(start))) {
+			start++;
+		}
+		return start;
+	}
+
+	private static String getString(ByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.US_ASCII);
+	}
+
+	/*
+	 * Parses a long of at most 18 digits in the buffer, and any other text
+	 * with Long.parseLong
+	 */
+	private static long parseLong(ByteBuffer buffer, int start, int end) {
+		boolean negative = (start < end) && (buffer.get(start) == '-');
+		int first = negative ? start + 1 : start;
+		if ((first == end) || ((end - first) > 18)) {
+			return Long.parseLong(getString(buffer, start, end));
+		}
+		long value = 0;
+		for (int i = first; i < end; i++) {
+			int digit = buffer.get(i) - '0';
+			if ((digit < 0) || (digit > 9)) {
+				return Long.parseLong(getString(buffer, start, end));
+			}
+			value = (value * 10) + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/*
+	 * Parses a plain decimal number in the buffer. The digits held exactly by
+	 * a long and divided once by a power of ten held exactly by a double give
+	 * the correctly rounded double; any other text goes to Double.parseDouble.
+	 */
+	private static double parseDouble(ByteBuffer buffer, int start, int end) {
+		boolean negative = (start < end) && (buffer.get(start) == '-');
+		long digits = 0;
+		int digitCount = 0;
+		int decimals = -1;
+		for (int i = negative ? start + 1 : start; i < end; i++) {
+			byte b = buffer.get(i);
+			if ((b == '.') && (decimals < 0)) {
+				decimals = 0;
+				continue;
+			}
+			int digit = b - '0';
+			if ((digit < 0) || (digit > 9) || (digitCount == 15)) {
+				return Double.parseDouble(getString(buffer, start, end));
+			}
+			digits = (digits * 10) + digit;
+			digitCount++;
+			if (decimals >= 0) {
+				decimals++;
+			}
+		}
+		if (digitCount == 0) {
+			return Double.parseDouble(getString(buffer, start, end));
+		}
+		double value = (decimals > 0) ? digits / POWERS_OF_TEN[decimals]
+				: digits;
+		return negative ? -value : value;
+	}
+
+	/*
+	 * Parses an ISO-8601 date of a four digit year in the buffer, and any
+	 * other text with LocalDate.parse
+	 */
+	private static long parseEpochDay(ByteBuffer buffer, int start, int end) {
+		if (((end - start) != 10) || (buffer.get(start + 4) != '-')
+				|| (buffer.get(start + 7) != '-')) {
+			return LocalDate.parse(getString(buffer, start, end)).toEpochDay();
+		}
+		int year = parseDigits(buffer, start, start + 4);
+		int month = parseDigits(buffer, start + 5, start + 7);
+		int day = parseDigits(buffer, start + 8, end);
+		if ((year < 0) || (month < 0) || (day < 0)) {
+			return LocalDate.parse(getString(buffer, start, end)).toEpochDay();
+		}
+		return LocalDate.of(year, month, day).toEpochDay();
+	}
+
+	/* Returns the value of the decimal digits, or -1 if one is not a digit */
+	private static int parseDigits(ByteBuffer buffer, int start, int end) {
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			int digit = buffer.get(i) - '0';
+			if ((digit < 0) || (digit > 9)) {
+				return -1;
+			}
+			value = (value * 10) + digit;
+		}
+		return value;
+	}
+
+	private void readBinary(FileChannel in, BlockingQueue<Row[]> rows,
+			AtomicReference<Throwable> failure) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		ZoneResolver zones = new ZoneResolver();
+		Row[] chunk = new Row[ROWS_PER_CHUNK];
+		int size = 0;
+		long rowNumber = 0;
+		boolean endOfFile = false;
+		while (!endOfFile && (failure.get() == null)) {
+			endOfFile = in.read(buffer) < 0;
+			buffer.flip();
+			while (buffer.remaining() >= BINARY_ROW_SIZE) {
+				int zoneLength = buffer.get(buffer.position()
+						+ BINARY_ROW_SIZE - 1) & 0xFF;
+				if (buffer.remaining() < (BINARY_ROW_SIZE + zoneLength)) {
+					break;
+				}
+				rowNumber++;
+				long id = buffer.getLong();
+				double latitude = buffer.getDouble();
+				double longitude = buffer.getDouble();
+				long startEpochDay = buffer.getLong();
+				long endEpochDay = buffer.getLong();
+				buffer.get();
+				int zoneStart = buffer.position();
+				buffer.position(zoneStart + zoneLength);
+				TimeZone timeZone;
+				try {
+					timeZone = zones.resolve(buffer, zoneStart, zoneStart
+							+ zoneLength);
+				} catch (DateTimeException e) {
+					throw new IOException("Row " + rowNumber + " is invalid: "
+							+ e.getMessage(), e);
+				}
+				chunk[size++] = new Row(id, latitude, longitude, timeZone,
+						startEpochDay, endEpochDay);
+				if (size == ROWS_PER_CHUNK) {
+					putUninterruptibly(rows, chunk);
+					chunk = new Row[ROWS_PER_CHUNK];
+					size = 0;
+				}
+			}
+			if (endOfFile && buffer.hasRemaining()) {
+				throw new IOException("Row " + (rowNumber + 1)
+						+ " is truncated");
+			}
+			buffer.compact();
+		}
+		if (size > 0) {
+			Row[] last = new Row[size];
+			System.arraycopy(chunk, 0, last, 0, size);
+			putUninterruptibly(rows, last);
+		}
+	}
+
+	private static <E> void putUninterruptibly(BlockingQueue<E> queue,
+			E element) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				queue.put(element);
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static <E> E takeUninterruptibly(BlockingQueue<E> queue) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return queue.take();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static void joinUninterruptibly(Thread... threads) {
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/* An input row */
+	private static final class Row {
+		private final long id;
+		private final double latitude;
+		private final double longitude;
+		private final TimeZone timeZone;
+		private final long startEpochDay;
+		private final long endEpochDay;
+
+		Row(long id, double latitude, double longitude, TimeZone timeZone,
+				long startEpochDay, long endEpochDay) {
+			this.id = id;
+			this.latitude = latitude;
+			this.longitude = longitude;
+			this.timeZone = timeZone;
+			this.startEpochDay = startEpochDay;
+			this.endEpochDay = endEpochDay;
+		}
+	}
+
+	/*
+	 * Resolves the zone identifiers of the rows with ZoneId.of, which rejects
+	 * the unknown ones. A row of the same zone as the row before is resolved
+	 * by comparing its bytes, without creating the identifier.
+	 */
+	private static final class ZoneResolver {
+		private final ClockMap<String, TimeZone> timeZones =
+				new ClockMap<String, TimeZone>(MAXIMUM_TIME_ZONES);
+		/* The longest zone identifier of a binary row */
+		private final byte[] lastZone = new byte[255];
+		private int lastZoneLength = -1;
+		private TimeZone lastTimeZone;
+
+		TimeZone resolve(ByteBuffer buffer, int start, int end) {
+			int length = end - start;
+			if (length == lastZoneLength) {
+				int i = 0;
+				while ((i < length) && (buffer.get(start + i) == lastZone[i])) {
+					i++;
+				}
+				if (i == length) {
+					return lastTimeZone;
+				}
+			}
+			String zone = getString(buffer, start, end);
+			TimeZone timeZone = timeZones.get(zone);
+			if (timeZone == null) {
+				timeZone = TimeZone.getTimeZone(ZoneId.of(zone));
+				timeZones.putIfAbsent(zone, timeZone);
+			}
+			if (length <= lastZone.length) {
+				for (int i = 0; i < length; i++) {
+					lastZone[i] = buffer.get(start + i);
+				}
+				lastZoneLength = length;
+				lastTimeZone = timeZone;
+			}
+			return timeZone;
+		}
+	}
+
+	/*
+	 * Counts the rows computed by the workers and the days they span, for
+	 * the event of a recorded run
+	 */
+	private static final class Span {
+		private final AtomicLong rows = new AtomicLong();
+		private final LongAccumulator startEpochDay = new LongAccumulator(
+				Math::min, Long.MAX_VALUE);
+		private final LongAccumulator endEpochDay = new LongAccumulator(
+				Math::max, Long.MIN_VALUE);
+
+		void add(Row row) {
+			rows.incrementAndGet();
+			startEpochDay.accumulate(row.startEpochDay);
+			endEpochDay.accumulate(row.endEpochDay);
+		}
+
+		int getRows() {
+			return (int) Math.min(rows.get(), Integer.MAX_VALUE);
+		}
+
+		LocalDate getStartDate() {
+			return (rows.get() == 0) ? null : LocalDate
+					.ofEpochDay(startEpochDay.get());
+		}
+
+		int getDays() {
+			return (rows.get() == 0) ? 0 : (int) Math.min(endEpochDay.get()
+					- startEpochDay.get() + 1, Integer.MAX_VALUE);
+		}
+	}
+
+	/*
+	 * Computes the rows of the chunks taken from the queue and encodes the
+	 * records into the free buffers, handing each buffer to the writer when
+	 * it is full. After a failure the chunks are still taken and dropped, so
+	 * that the reader is never blocked.
+	 */
+	private final class Worker implements Runnable {
+		private final BlockingQueue<Row[]> rows;
+		private final BlockingQueue<ByteBuffer> freeBuffers;
+		private final BlockingQueue<ByteBuffer> filledBuffers;
+		private final AtomicLong records;
+		private final AtomicReference<Throwable> failure;
+		private final SunriseSunsetCalculatorRegistry calculators;
+		private final SolarBulkCalculationEvent event;
+		private final Span span;
+		private final Twilight[] twilights = new Twilight[] { twilight };
+		private final int[][] sunrises = new int[1][DAYS_PER_STEP];
+		private final int[][] sunsets = new int[1][DAYS_PER_STEP];
+		private final byte[] digits = new byte[20];
+		private ByteBuffer buffer;
+
+		Worker(BlockingQueue<Row[]> rows, BlockingQueue<ByteBuffer> freeBuffers,
+				BlockingQueue<ByteBuffer> filledBuffers, AtomicLong records,
+				AtomicReference<Throwable> failure,
+				SunriseSunsetCalculatorRegistry calculators,
+				SolarBulkCalculationEvent event, Span span) {
+			this.rows = rows;
+			this.freeBuffers = freeBuffers;
+			this.filledBuffers = filledBuffers;
+			this.records = records;
+			this.failure = failure;
+			this.calculators = calculators;
+			this.event = event;
+			this.span = span;
+		}
+
+		@Override
+		public void run() {
+			long allocatedBytes = (event == null) ? 0 : event.beginWork();
+			try {
+				Row[] chunk;
+				while ((chunk = takeUninterruptibly(rows)) != END_OF_ROWS) {
+					if (failure.get() != null) {
+						continue;
+					}
+					try {
+						for (Row row : chunk) {
+							compute(row);
+						}
+					} catch (Throwable e) {
+						// An Error too, so the reader is not left blocked
+						failure.compareAndSet(null, e);
+					}
+				}
+				if ((buffer != null) && (buffer.position() > 0)) {
+					putUninterruptibly(filledBuffers, buffer);
+				} else if (buffer != null) {
+					putUninterruptibly(freeBuffers, buffer);
+				}
+			} finally {
+				if (event != null) {
+					event.endWork(allocatedBytes);
+				}
+				putUninterruptibly(filledBuffers, END_OF_RECORDS);
+			}
+		}
+
+		private void compute(Row row) {
+			if (span != null) {
+				span.add(row);
+			}
+			SunriseSunsetCalculator calculator = calculators.getCalculator(
+					row.latitude, row.longitude, row.timeZone);
+			for (long epochDay = row.startEpochDay;
+					epochDay <= row.endEpochDay; epochDay += DAYS_PER_STEP) {
+				int days = (int) Math.min(DAYS_PER_STEP, row.endEpochDay
+						- epochDay + 1);
+				LocalDate date = LocalDate.ofEpochDay(epochDay);
+				calculator.computeUnrecordedMinutes(twilights, date, sunrises,
+						days, true);
+				calculator.computeUnrecordedMinutes(twilights, date, sunsets,
+						days, false);
+				for (int day = 0; day < days; day++) {
+					if ((buffer == null)
+							|| (buffer.remaining() < MAXIMUM_RECORD_SIZE)) {
+						if (buffer != null) {
+							putUninterruptibly(filledBuffers, buffer);
+						}
+						buffer = takeUninterruptibly(freeBuffers);
+					}
+					if (outputFormat == Format.CSV) {
+						writeCsv(row.id, date.plusDays(day), sunrises[0][day],
+								sunsets[0][day]);
+					} else {
+						buffer.putLong(row.id);
+						buffer.putInt((int) (epochDay + day));
+						buffer.putShort((short) sunrises[0][day]);
+						buffer.putShort((short) sunsets[0][day]);
+					}
+				}
+				records.addAndGet(days);
+			}
+		}
+
+		private void writeCsv(long id, LocalDate date, int sunrise,
+				int sunset) {
+			putNumber(id, 1);
+			buffer.put((byte) ',');
+			putNumber(date.getYear(), 4);
+			buffer.put((byte) '-');
+			putNumber(date.getMonthValue(), 2);
+			buffer.put((byte) '-');
+			putNumber(date.getDayOfMonth(), 2);
+			buffer.put((byte) ',');
+			putTime(sunrise);
+			buffer.put((byte) ',');
+			putTime(sunset);
+			buffer.put((byte) '\n');
+		}
+
+		private void putTime(int minutes) {
+			if (minutes == SunriseSunsetCalculator.NO_EVENT) {
+				putNumber(99, 2);
+				buffer.put((byte) ':');
+				putNumber(99, 2);
+			} else {
+				putNumber(minutes / 60, 2);
+				buffer.put((byte) ':');
+				putNumber(minutes % 60, 2);
+			}
+		}
+
+		/* Writes the decimal digits, padded with zeros to the width */
+		private void putNumber(long value, int width) {
+			if (value < 0) {
+				buffer.put((byte) '-');
+				value = -value;
+			}
+			int count = 0;
+			do {
+				digits[count++] = (byte) ('0' + (value % 10));
+				value /= 10;
+			} while (value != 0);
+			while (count < width) {
+				digits[count++] = '0';
+			}
+			while (count > 0) {
+				buffer.put(digits[--count]);
+			}
+		}
+	}
+
+	/*
+	 * Writes the filled buffers to the channel and hands them back to the
+	 * workers, until every worker has finished. After a failure the buffers
+	 * are still handed back, so that the workers are never blocked.
+	 */
+	private final class Writer implements Runnable {
+		private final FileChannel out;
+		private final BlockingQueue<ByteBuffer> freeBuffers;
+		private final BlockingQueue<ByteBuffer> filledBuffers;
+		private final AtomicReference<Throwable> failure;
+
+		Writer(FileChannel out, BlockingQueue<ByteBuffer> freeBuffers,
+				BlockingQueue<ByteBuffer> filledBuffers,
+				AtomicReference<Throwable> failure) {
+			this.out = out;
+			this.freeBuffers = freeBuffers;
+			this.filledBuffers = filledBuffers;
+			this.failure = failure;
+		}
+
+		@Override
+		public void run() {
+			int finished = 0;
+			while (finished < workers) {
+				ByteBuffer buffer = takeUninterruptibly(filledBuffers);
+				if (buffer == END_OF_RECORDS) {
+					finished++;
+					continue;
+				}
+				if (failure.get() == null) {
+					try {
+						buffer.flip();
+						while (buffer.hasRemaining()) {
+							out.write(buffer);
+						}
+					} catch (Throwable e) {
+						failure.compareAndSet(null, e);
+					}
+				}
+				buffer.clear();
+				putUninterruptibly(freeBuffers, buffer);
+			}
+		}
+	}
+}
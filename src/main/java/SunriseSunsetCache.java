@@ -0,0 +1,444 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link SunriseSunsetCache} class keeps the most used sunrises/sunsets so
+ * that repeated requests for the same location and date are not computed
+ * again. An entry is keyed by the latitude and longitude rounded to a quantum
+ * (one ten-thousandth of a degree by default), the time zone identifier, the
+ * local date, the {@link Twilight} and sunrise/sunset; the event is always
+ * computed at the rounded location, so the answer does not depend on which
+ * caller loaded it first.
+ * 
+ * A missing event is computed on a {@code Calendar} of the date with the
+ * {@link CalculationMode} of the cache, so its time is the one
+ * {@link SunriseSunset} gives for the location. The calculators are shared
+ * through a {@link SunriseSunsetCalculatorRegistry} and the time zones are
+ * kept once resolved. An unknown time zone identifier is rejected with the
+ * {@code DateTimeException} of {@link ZoneId#of(String)} rather than taken as
+ * GMT.
+ * 
+ * Lookups go to a concurrent map without locking. The number of entries is
+ * bounded by a CLOCK (second chance) policy: a hit marks its entry as
+ * referenced, and a miss takes a lock to replace the first entry of the ring
+ * that was not referenced since the hand last passed it, so the few thousand
+ * locations requested all the time stay in the cache. The hit ratio,
+ * evictions and load latency are counted with {@link LongAdder}s.
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetCache {
+	/* The default rounding of the latitudes and longitudes in degrees */
+	public static final double DEFAULT_QUANTUM = 0.0001;
+	/* The maximum number of time zones kept once resolved */
+	private static final int MAXIMUM_TIME_ZONES = 1024;
+
+	private final ClockMap<Key, Entry> entries;
+	/* The number of quanta per degree */
+	private final double scale;
+	/* The calculators of the rounded locations */
+	private final SunriseSunsetCalculatorRegistry calculators;
+	private final ClockMap<String, TimeZone> timeZones;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loadNanos = new LongAdder();
+
+	/**
+	 * Creates a {@code SunriseSunsetCache} holding at most the given number
+	 * of entries, with the {@link #DEFAULT_QUANTUM} and
+	 * {@link CalculationMode#BIG_DECIMAL} like {@link SunriseSunset}
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of entries
+	 */
+	public SunriseSunsetCache(int maximumSize) {
+		this(maximumSize, DEFAULT_QUANTUM, CalculationMode.BIG_DECIMAL);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetCache} holding at most the given number
+	 * of entries
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of entries
+	 * @param quantum
+	 *            the rounding of the latitudes and longitudes in degrees
+	 * @param mode
+	 *            the {@code CalculationMode} used to compute the missing
+	 *            entries. {@link CalculationMode#BIG_DECIMAL} shares the
+	 *            calculators of {@link SunriseSunsetCalculatorRegistry#getDefault()}.
+	 */
+	public SunriseSunsetCache(int maximumSize, double quantum,
+			CalculationMode mode) {
+		if (!(quantum > 0)) {
+			throw new IllegalArgumentException("Invalid quantum " + quantum);
+		}
+		this.entries = new ClockMap<Key, Entry>(maximumSize);
+		this.timeZones = new ClockMap<String, TimeZone>(MAXIMUM_TIME_ZONES);
+		this.scale = 1 / quantum;
+		if (mode == CalculationMode.BIG_DECIMAL) {
+			this.calculators = SunriseSunsetCalculatorRegistry.getDefault();
+		} else {
+			this.calculators = new SunriseSunsetCalculatorRegistry(
+					SunriseSunsetCalculatorRegistry.DEFAULT_MAXIMUM_SIZE, mode);
+		}
+	}
+
+	/**
+	 * Returns the official sunrise (90deg 50', 90.8333deg) for the given date.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param date
+	 *            the local date to compute the official sunrise for.
+	 * @return The official sunrise time in HH:MM (24-hour clock) form.
+	 */
+	public String getOfficialSunrise(String timeZoneIdentifier,
+			double latitude, double longitude, LocalDate date) {
+		return getSunrise(timeZoneIdentifier, latitude, longitude,
+				Twilight.OFFICIAL, date);
+	}
+
+	/**
+	 * Returns the official sunset (90deg 50', 90.8333deg) for the given date.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param date
+	 *            the local date to compute the official sunset for.
+	 * @return The official sunset time in HH:MM (24-hour clock) form.
+	 */
+	public String getOfficialSunset(String timeZoneIdentifier,
+			double latitude, double longitude, LocalDate date) {
+		return getSunset(timeZoneIdentifier, latitude, longitude,
+				Twilight.OFFICIAL, date);
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} at the given date.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            the local date to compute the sunrise for.
+	 * @return The sunrise time in HH:MM (24-hour clock) form, or "99:99" when
+	 *         the sun does not rise.
+	 */
+	public String getSunrise(String timeZoneIdentifier, double latitude,
+			double longitude, Twilight twilight, LocalDate date) {
+		return get(timeZoneIdentifier, latitude, longitude, twilight, date,
+				true).time;
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} at the given date.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            the local date to compute the sunset for.
+	 * @return The sunset time in HH:MM (24-hour clock) form, or "99:99" when
+	 *         the sun does not set.
+	 */
+	public String getSunset(String timeZoneIdentifier, double latitude,
+			double longitude, Twilight twilight, LocalDate date) {
+		return get(timeZoneIdentifier, latitude, longitude, twilight, date,
+				false).time;
+	}
+
+	/**
+	 * Returns the sunrise for the {@code Twilight} at the given date as a
+	 * {@link PackedSolarEvent}.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param twilight
+	 *            The {@code Twilight} of the sunrise
+	 * @param date
+	 *            the local date to compute the sunrise for.
+	 * @return the sunrise packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long getSunriseEvent(String timeZoneIdentifier, double latitude,
+			double longitude, Twilight twilight, LocalDate date) {
+		return get(timeZoneIdentifier, latitude, longitude, twilight, date,
+				true).packedEvent;
+	}
+
+	/**
+	 * Returns the sunset for the {@code Twilight} at the given date as a
+	 * {@link PackedSolarEvent}.
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone identifier of the location
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param twilight
+	 *            The {@code Twilight} of the sunset
+	 * @param date
+	 *            the local date to compute the sunset for.
+	 * @return the sunset packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long getSunsetEvent(String timeZoneIdentifier, double latitude,
+			double longitude, Twilight twilight, LocalDate date) {
+		return get(timeZoneIdentifier, latitude, longitude, twilight, date,
+				false).packedEvent;
+	}
+
+	/**
+	 * Returns the number of entries in the cache
+	 * 
+	 * @return The number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of lookups answered from the cache
+	 * 
+	 * @return The number of hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that had to compute the event
+	 * 
+	 * @return The number of misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the share of the lookups answered from the cache
+	 * 
+	 * @return The hit ratio between 0 and 1, or 1 before the first lookup
+	 */
+	public double getHitRatio() {
+		long hitCount = hits.sum();
+		long lookups = hitCount + misses.sum();
+		return (lookups == 0) ? 1.0 : (double) hitCount / lookups;
+	}
+
+	/**
+	 * Returns the number of entries removed to bound the size of the cache
+	 * 
+	 * @return The number of evictions
+	 */
+	public long getEvictionCount() {
+		return entries.getEvictionCount();
+	}
+
+	/**
+	 * Returns the total time spent computing the missing events
+	 * 
+	 * @return The load time in nanoseconds
+	 */
+	public long getTotalLoadNanos() {
+		return loadNanos.sum();
+	}
+
+	/**
+	 * Returns the average time spent computing a missing event
+	 * 
+	 * @return The average load time in nanoseconds, or 0 before the first
+	 *         miss
+	 */
+	public double getAverageLoadNanos() {
+		long missCount = misses.sum();
+		return (missCount == 0) ? 0.0 : (double) loadNanos.sum() / missCount;
+	}
+
+	/**
+	 * Removes every entry from the cache. The counters are kept.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	private Entry get(String timeZoneIdentifier, double latitude,
+			double longitude, Twilight twilight, LocalDate date,
+			boolean isSunrise) {
+		Key key = new Key(Math.round(latitude * scale), Math.round(longitude
+				* scale), timeZoneIdentifier, date.toEpochDay(), twilight
+				.degrees().doubleValue(), isSunrise);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits.increment();
+			return entry;
+		}
+		misses.increment();
+		long start = System.nanoTime();
+		entry = load(key, twilight, date);
+		loadNanos.add(System.nanoTime() - start);
+
+		// Another thread may have loaded the same entry in the meantime
+		Entry previous = entries.putIfAbsent(key, entry);
+		return (previous != null) ? previous : entry;
+	}
+
+	private Entry load(Key key, Twilight twilight, LocalDate date) {
+		TimeZone timeZone = getTimeZone(key.timeZoneIdentifier);
+		SunriseSunsetCalculator calculator = calculators.getCalculator(
+				key.latitude / scale, key.longitude / scale, timeZone);
+		Calendar calendar = new GregorianCalendar(timeZone);
+		calendar.clear();
+		calendar.set(date.getYear(), date.getMonthValue() - 1,
+				date.getDayOfMonth());
+		long packedEvent = key.sunrise ? calculator.computeSunriseEvent(
+				twilight, calendar) : calculator.computeSunsetEvent(twilight,
+				calendar);
+		return new Entry(packedEvent, getLocalTime(packedEvent,
+				timeZone.getOffset(calendar.getTimeInMillis())));
+	}
+
+	/*
+	 * Returns the time zone of the identifier, which ZoneId.of rejects when it
+	 * is unknown instead of falling back to GMT like TimeZone.getTimeZone
+	 */
+	private TimeZone getTimeZone(String timeZoneIdentifier) {
+		TimeZone timeZone = timeZones.get(timeZoneIdentifier);
+		if (timeZone == null) {
+			timeZone = TimeZone.getTimeZone(ZoneId.of(timeZoneIdentifier));
+			TimeZone previous = timeZones.putIfAbsent(timeZoneIdentifier,
+					timeZone);
+			if (previous != null) {
+				timeZone = previous;
+			}
+		}
+		return timeZone;
+	}
+
+	/*
+	 * Returns the "HH:mm" of the event with the UTC offset at the local
+	 * midnight, as the Calendar methods of SunriseSunset render it
+	 */
+	private static String getLocalTime(long packedEvent, int utcOffsetMillis) {
+		switch (PackedSolarEvent.status(packedEvent)) {
+		case PackedSolarEvent.POLAR_DAY:
+			return SunriseSunsetCalculator
+					.getLocalTimeAsString(SunriseSunsetCalculator.POLAR_DAY_MINUTES);
+		case PackedSolarEvent.POLAR_NIGHT:
+			return SunriseSunsetCalculator
+					.getLocalTimeAsString(SunriseSunsetCalculator.POLAR_NIGHT_MINUTES);
+		default:
+			long localSecond = PackedSolarEvent.epochSecond(packedEvent)
+					+ (utcOffsetMillis / 1000);
+			return SunriseSunsetCalculator.getLocalTimeAsString((int) (Math
+					.floorMod(localSecond, 86400L) / 60));
+		}
+	}
+
+	/* The rounded location, time zone, date and event of an entry */
+	private static final class Key {
+		private final long latitude;
+		private final long longitude;
+		private final String timeZoneIdentifier;
+		private final long epochDay;
+		private final double degrees;
+		private final boolean sunrise;
+
+		Key(long latitude, long longitude, String timeZoneIdentifier,
+				long epochDay, double degrees, boolean sunrise) {
+			this.latitude = latitude;
+			this.longitude = longitude;
+			this.timeZoneIdentifier = timeZoneIdentifier;
+			this.epochDay = epochDay;
+			this.degrees = degrees;
+			this.sunrise = sunrise;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return (latitude == other.latitude)
+					&& (longitude == other.longitude)
+					&& (epochDay == other.epochDay)
+					&& (Double.compare(degrees, other.degrees) == 0)
+					&& (sunrise == other.sunrise)
+					&& timeZoneIdentifier.equals(other.timeZoneIdentifier);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = Long.hashCode(latitude);
+			hash = (31 * hash) + Long.hashCode(longitude);
+			hash = (31 * hash) + timeZoneIdentifier.hashCode();
+			hash = (31 * hash) + Long.hashCode(epochDay);
+			hash = (31 * hash) + Double.hashCode(degrees);
+			return (31 * hash) + (sunrise ? 1 : 0);
+		}
+	}
+
+	/* A cached event and its local time */
+	private static final class Entry {
+		private final long packedEvent;
+		private final String time;
+
+		Entry(long packedEvent, String time) {
+			this.packedEvent = packedEvent;
+			this.time = time;
+		}
+	}
+}
@@ -26,14 +26,18 @@ package main.java;
 import static main.java.MathUtility.convertDegreesToRadians;
 import static main.java.MathUtility.convertRadiansToDegrees;
 import static main.java.MathUtility.divideBy;
-import static main.java.MathUtility.getDayOfYear;
-import static main.java.MathUtility.getUTCOffset;
 import static main.java.MathUtility.multiplyBy;
 import static main.java.MathUtility.setScale;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Calendar;
+import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 /**
@@ -41,13 +45,52 @@ import java.util.TimeZone;
  * compute the values of the sunrise/sunset based on the time zone, latitude,
  * and longitude.
  * 
+ * A calculator is immutable. The methods taking a {@code Calendar} set the
+ * time zone of that {@code Calendar}, so a {@code Calendar} must not be shared
+ * between threads; the methods taking a {@code LocalDate} share nothing with
+ * the caller and can be called by many threads at once.
+ * 
  * @version 1.0
  */
 public class SunriseSunsetCalculator {
+	/* The value returned in minutes when there is no sunrise/sunset */
+	public static final int NO_EVENT = -1;
+	/* The value returned as epoch second when there is no sunrise/sunset */
+	public static final long NO_EVENT_EPOCH_SECOND = Long.MIN_VALUE;
+
+	/* The local time in hours when the sun stays above/below the zenith */
+	private static final double POLAR_DAY = Double.POSITIVE_INFINITY;
+	private static final double POLAR_NIGHT = Double.NEGATIVE_INFINITY;
+	/* The local time in minutes when the sun stays above/below the zenith */
+	static final int POLAR_DAY_MINUTES = Integer.MAX_VALUE;
+	static final int POLAR_NIGHT_MINUTES = Integer.MIN_VALUE;
+	private static final int MINUTES_PER_DAY = 1440;
+	private static final BigDecimal SIXTY = BigDecimal.valueOf(60);
+	/* The indexes of the terms of the sunrise and sunset of a day */
+	private static final int SUNRISE_TERMS = 0;
+	private static final int SUNSET_TERMS = 3;
+	private static final int DAYLIGHT_TERMS = 6;
+
 	/* Accessor values for calculating the sunrise/sunset */
 	protected final BigDecimal latitude;
 	protected final BigDecimal longitude;
 	protected final TimeZone timeZone;
+	protected final CalculationMode mode;
+	private final ZoneId zoneId;
+	/* Location values reused by the DOUBLE calculation mode */
+	private final double latitudeDegrees;
+	private final double sinLatitude;
+	private final double cosLatitude;
+	private final double baseLongitudeHour;
+	/* The shared ephemeris of the EPHEMERIS_TABLE calculation mode */
+	private final SolarEphemerisTable ephemeris;
+	/* Whether the FAST_MATH calculation mode approximates the trigonometry */
+	private final boolean fastMath;
+	/*
+	 * The offsets of the year used last, replaced when a date leaves it. The
+	 * tables are immutable, so a thread reading an older one is harmless.
+	 */
+	private ZoneOffsetTable offsetTable;
 
 	/**
 	 * Creates a {@code SunriseSunsetUtility} object based on the parameters
@@ -64,9 +107,8 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(String timeZoneIdentifier,
 			BigDecimal latitude, BigDecimal longitude) {
-		this.latitude = latitude;
-		this.longitude = longitude;
-		this.timeZone = TimeZone.getTimeZone(timeZoneIdentifier);
+		this(TimeZone.getTimeZone(timeZoneIdentifier), latitude, longitude,
+				CalculationMode.BIG_DECIMAL);
 	}
 
 	/**
@@ -84,9 +126,7 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(TimeZone timeZone, BigDecimal latitude,
 			BigDecimal longitude) {
-		this.latitude = latitude;
-		this.longitude = longitude;
-		this.timeZone = timeZone;
+		this(timeZone, latitude, longitude, CalculationMode.BIG_DECIMAL);
 	}
 
 	/**
@@ -104,9 +144,8 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(String timeZoneIdentifier, Double latitude,
 			Double longitude) {
-		this.timeZone = TimeZone.getTimeZone(timeZoneIdentifier);
-		this.latitude = new BigDecimal(latitude);
-		this.longitude = new BigDecimal(longitude);
+		this(TimeZone.getTimeZone(timeZoneIdentifier), new BigDecimal(latitude),
+				new BigDecimal(longitude), CalculationMode.BIG_DECIMAL);
 	}
 
 	/**
@@ -124,9 +163,8 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(TimeZone timeZone, Double latitude,
 			Double longitude) {
-		this.timeZone = timeZone;
-		this.latitude = new BigDecimal(latitude);
-		this.longitude = new BigDecimal(longitude);
+		this(timeZone, new BigDecimal(latitude), new BigDecimal(longitude),
+				CalculationMode.BIG_DECIMAL);
 	}
 
 	/**
@@ -144,9 +182,8 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(String timeZoneIdentifier, String latitude,
 			String longitude) {
-		this.timeZone = TimeZone.getTimeZone(timeZoneIdentifier);
-		this.latitude = new BigDecimal(latitude);
-		this.longitude = new BigDecimal(longitude);
+		this(TimeZone.getTimeZone(timeZoneIdentifier), new BigDecimal(latitude),
+				new BigDecimal(longitude), CalculationMode.BIG_DECIMAL);
 	}
 
 	/**
@@ -164,9 +201,75 @@ public class SunriseSunsetCalculator {
 	 */
 	public SunriseSunsetCalculator(TimeZone timeZone, String latitude,
 			String longitude) {
+		this(timeZone, new BigDecimal(latitude), new BigDecimal(longitude),
+				CalculationMode.BIG_DECIMAL);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetUtility} object based on the parameters
+	 * 
+	 * @param timeZoneIdentifier
+	 *            the time zone of the specific latitude and longitude. For
+	 *            example, "America/New_York".
+	 * @param latitude
+	 *            the angular distance {@code BigDecimal} of a place north or
+	 *            south of the earth's equator
+	 * @param longitude
+	 *            the angular distance {@code BigDecimal} of a place east or
+	 *            west of the earth's equator
+	 * @param mode
+	 *            the {@code CalculationMode} used to compute the
+	 *            sunrise/sunset
+	 */
+	public SunriseSunsetCalculator(String timeZoneIdentifier,
+			BigDecimal latitude, BigDecimal longitude, CalculationMode mode) {
+		this(TimeZone.getTimeZone(timeZoneIdentifier), latitude, longitude,
+				mode);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetUtility} object based on the parameters
+	 * 
+	 * @param timeZone
+	 *            the {@code TimeZone} of the specific latitude and longitude.
+	 *            For example, "America/New_York".
+	 * @param latitude
+	 *            the angular distance {@code BigDecimal} of a place north or
+	 *            south of the earth's equator
+	 * @param longitude
+	 *            the angular distance {@code BigDecimal} of a place east or
+	 *            west of the earth's equator
+	 * @param mode
+	 *            the {@code CalculationMode} used to compute the
+	 *            sunrise/sunset
+	 */
+	public SunriseSunsetCalculator(TimeZone timeZone, BigDecimal latitude,
+			BigDecimal longitude, CalculationMode mode) {
+		this.latitude = latitude;
+		this.longitude = longitude;
 		this.timeZone = timeZone;
-		this.latitude = new BigDecimal(latitude);
-		this.longitude = new BigDecimal(longitude);
+		this.mode = mode;
+		this.zoneId = timeZone.toZoneId();
+		if (mode == CalculationMode.EPHEMERIS_TABLE) {
+			this.ephemeris = SolarEphemerisTable.getDefault();
+		} else {
+			this.ephemeris = null;
+		}
+		this.fastMath = (mode == CalculationMode.FAST_MATH);
+		this.latitudeDegrees = latitude.doubleValue();
+		double latitudeInRads = Math.toRadians(latitudeDegrees);
+		this.sinLatitude = Math.sin(latitudeInRads);
+		this.cosLatitude = Math.cos(latitudeInRads);
+		this.baseLongitudeHour = longitude.doubleValue() / 15;
+	}
+
+	/**
+	 * Returns the {@link CalculationMode} used by this calculator
+	 * 
+	 * @return The {@code CalculationMode} of the calculator
+	 */
+	public CalculationMode getMode() {
+		return mode;
 	}
 
 	/**
@@ -183,7 +286,7 @@ public class SunriseSunsetCalculator {
 	 *         sun does not rise on the given date.
 	 */
 	public String computeSunriseTime(Twilight twilight, Calendar date) {
-		return getLocalTimeAsString(computeSolarEventTime(twilight, date, true));
+		return getLocalTimeAsString(computeLocalMinutes(twilight, date, true));
 	}
 
 	/**
@@ -200,7 +303,61 @@ public class SunriseSunsetCalculator {
 	 */
 	public Calendar computeSunriseCalendar(Twilight twilight, Calendar date) {
 		return getLocalTimeAsCalendar(
-				computeSolarEventTime(twilight, date, true), date);
+				computeLocalMinutes(twilight, date, true), date);
+	}
+
+	/**
+	 * Computes the sunrise time for the given {@link Twilight} at the given
+	 * date as the minutes since local midnight. No objects are allocated when
+	 * the calculator uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunrise for.
+	 * @return the sunrise time in minutes (0 to 1439) of the local day, or
+	 *         {@link #NO_EVENT} if the sun does not rise on the given date.
+	 */
+	public int computeSunriseMinutes(Twilight twilight, Calendar date) {
+		return getMinutesOfDay(computeLocalMinutes(twilight, date, true));
+	}
+
+	/**
+	 * Computes the sunrise time for the given {@link Twilight} at the given
+	 * date as the UTC epoch second. No objects are allocated when the
+	 * calculator uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunrise for.
+	 * @return the sunrise time in seconds since 1970-01-01T00:00:00Z, or
+	 *         {@link #NO_EVENT_EPOCH_SECOND} if the sun does not rise on the
+	 *         given date.
+	 */
+	public long computeSunriseEpochSecond(Twilight twilight, Calendar date) {
+		return getEpochSecond(computeSunriseEvent(twilight, date));
+	}
+
+	/**
+	 * Computes the sunrise for the given {@link Twilight} at the given date
+	 * as a {@link PackedSolarEvent}. No objects are allocated when the
+	 * calculator uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunrise for.
+	 * @return the sunrise packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long computeSunriseEvent(Twilight twilight, Calendar date) {
+		return getPackedEvent(computeLocalMinutes(twilight, date, true), date);
 	}
 
 	/**
@@ -217,7 +374,7 @@ public class SunriseSunsetCalculator {
 	 *         sun does not set on the given date.
 	 */
 	public String computeSunsetTime(Twilight twilight, Calendar date) {
-		return getLocalTimeAsString(computeSolarEventTime(twilight, date, false));
+		return getLocalTimeAsString(computeLocalMinutes(twilight, date, false));
 	}
 
 	/**
@@ -234,7 +391,594 @@ public class SunriseSunsetCalculator {
 	 */
 	public Calendar computeSunsetCalendar(Twilight twilight, Calendar date) {
 		return getLocalTimeAsCalendar(
-				computeSolarEventTime(twilight, date, false), date);
+				computeLocalMinutes(twilight, date, false), date);
+	}
+
+	/**
+	 * Computes the sunset time for the given {@link Twilight} at the given
+	 * date as the minutes since local midnight. No objects are allocated when
+	 * the calculator uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunset for.
+	 * @return the sunset time in minutes (0 to 1439) of the local day, or
+	 *         {@link #NO_EVENT} if the sun does not set on the given date.
+	 */
+	public int computeSunsetMinutes(Twilight twilight, Calendar date) {
+		return getMinutesOfDay(computeLocalMinutes(twilight, date, false));
+	}
+
+	/**
+	 * Computes the sunset time for the given {@link Twilight} at the given
+	 * date as the UTC epoch second. No objects are allocated when the
+	 * calculator uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunset for.
+	 * @return the sunset time in seconds since 1970-01-01T00:00:00Z, or
+	 *         {@link #NO_EVENT_EPOCH_SECOND} if the sun does not set on the
+	 *         given date.
+	 */
+	public long computeSunsetEpochSecond(Twilight twilight, Calendar date) {
+		return getEpochSecond(computeSunsetEvent(twilight, date));
+	}
+
+	/**
+	 * Computes the sunset for the given {@link Twilight} at the given date as
+	 * a {@link PackedSolarEvent}. No objects are allocated when the calculator
+	 * uses {@link CalculationMode#DOUBLE}.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunset for.
+	 * @return the sunset packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long computeSunsetEvent(Twilight twilight, Calendar date) {
+		return getPackedEvent(computeLocalMinutes(twilight, date, false), date);
+	}
+
+	/**
+	 * Computes the sunrise for the given {@link Twilight} at the given date as
+	 * a {@link PackedSolarEvent} with the {@link CalculationMode} of the
+	 * calculator, giving the same event as the {@code Calendar} methods. The
+	 * date is not shared with the caller, so the calculator can be used by
+	 * many threads at once. No objects are allocated unless the calculator
+	 * uses {@link CalculationMode#BIG_DECIMAL}, which computes on a
+	 * {@code Calendar} of the date created for the call.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator to
+	 *            compute the sunrise for.
+	 * @return the sunrise packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long computeSunriseEvent(Twilight twilight, LocalDate date) {
+		return computeSolarEvent(twilight, date, true);
+	}
+
+	/**
+	 * Computes the sunset for the given {@link Twilight} at the given date as
+	 * a {@link PackedSolarEvent} with the {@link CalculationMode} of the
+	 * calculator, giving the same event as the {@code Calendar} methods. The
+	 * date is not shared with the caller, so the calculator can be used by
+	 * many threads at once. No objects are allocated unless the calculator
+	 * uses {@link CalculationMode#BIG_DECIMAL}, which computes on a
+	 * {@code Calendar} of the date created for the call.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator to
+	 *            compute the sunset for.
+	 * @return the sunset packed with {@link PackedSolarEvent#pack(long, int)}
+	 */
+	public long computeSunsetEvent(Twilight twilight, LocalDate date) {
+		return computeSolarEvent(twilight, date, false);
+	}
+
+	/**
+	 * Computes the sunrise time for the given {@link Twilight} at the given
+	 * date in the time zone of the calculator, with the
+	 * {@link CalculationMode} of the calculator. The date is not shared with
+	 * the caller, so the calculator can be used by many threads at once.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator to
+	 *            compute the sunrise for.
+	 * @return the sunrise time as a {@code ZonedDateTime} or null for no
+	 *         sunrise
+	 */
+	public ZonedDateTime computeSunriseDateTime(Twilight twilight,
+			LocalDate date) {
+		return getLocalTimeAsDateTime(computeSolarEvent(twilight, date, true));
+	}
+
+	/**
+	 * Computes the sunset time for the given {@link Twilight} at the given
+	 * date in the time zone of the calculator, with the
+	 * {@link CalculationMode} of the calculator. The date is not shared with
+	 * the caller, so the calculator can be used by many threads at once.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator to
+	 *            compute the sunset for.
+	 * @return the sunset time as a {@code ZonedDateTime} or null for no
+	 *         sunset
+	 */
+	public ZonedDateTime computeSunsetDateTime(Twilight twilight,
+			LocalDate date) {
+		return getLocalTimeAsDateTime(computeSolarEvent(twilight, date, false));
+	}
+
+	/**
+	 * Returns whether the sunrise or sunset for the given {@link Twilight}
+	 * occurs at the given date, or whether the sun stays above or below the
+	 * zenith. The {@link PolarSeasonTable} of the latitude answers most days
+	 * without computing the position of the sun. The primitive double
+	 * calculation is used whatever the {@link CalculationMode} of the
+	 * calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of
+	 *            sunrise/sunset.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator.
+	 * @param isSunrise
+	 *            true for the sunrise, false for the sunset
+	 * @return the {@code SolarDayType} of the date
+	 */
+	public SolarDayType getDayType(Twilight twilight, LocalDate date,
+			boolean isSunrise) {
+		int dayOfYear = date.getDayOfYear();
+		PolarSeasonTable table = PolarSeasonTable.getInstance(twilight,
+				latitudeDegrees);
+		SolarDayType type = table.getDayType(dayOfYear, isSunrise);
+		if (type == null) {
+			type = getDayType(getCosineZenith(twilight), dayOfYear, isSunrise);
+		}
+		return type;
+	}
+
+	/**
+	 * Returns the first date, starting at the given date, on which the
+	 * sunrise or sunset for the given {@link Twilight} occurs. A polar day or
+	 * polar night is skipped whole with the {@link PolarSeasonTable} of the
+	 * latitude rather than one day at a time. The primitive double
+	 * calculation is used whatever the {@link CalculationMode} of the
+	 * calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of
+	 *            sunrise/sunset.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator of
+	 *            the first day to search.
+	 * @param isSunrise
+	 *            true for the sunrise, false for the sunset
+	 * @return the first date with a sunrise/sunset or null if the sun never
+	 *         crosses the zenith at the latitude of the calculator
+	 */
+	public LocalDate getNextEventDate(Twilight twilight, LocalDate date,
+			boolean isSunrise) {
+		PolarSeasonTable table = PolarSeasonTable.getInstance(twilight,
+				latitudeDegrees);
+		double cosineZenith = getCosineZenith(twilight);
+		LocalDate current = date;
+		// Two years hold every season the sun can give a latitude
+		LocalDate last = date.plusYears(2);
+		while (!current.isAfter(last)) {
+			int dayOfYear = current.getDayOfYear();
+			byte status = table.getStatus(dayOfYear, isSunrise);
+			if (status == PolarSeasonTable.NORMAL) {
+				return current;
+			} else if (status == PolarSeasonTable.MIXED) {
+				if (getDayType(cosineZenith, dayOfYear, isSunrise)
+						== SolarDayType.NORMAL) {
+					return current;
+				}
+				current = current.plusDays(1);
+			} else {
+				// The season of day 366 ends the year in a common year
+				int seasonEnd = Math.min(
+						table.getSeasonEnd(dayOfYear, isSunrise),
+						current.lengthOfYear());
+				current = current.plusDays((seasonEnd - dayOfYear) + 1);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Computes the sunrise time for the given {@link Twilight} on each day
+	 * starting at the given date, one day for each element of the minutes.
+	 * The primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunrise to
+	 *            compute.
+	 * @param startDate
+	 *            The {@code LocalDate} of the first day to compute the sunrise
+	 *            for.
+	 * @param minutes
+	 *            The array filled with the sunrise time in minutes (0 to 1439)
+	 *            of each local day, or {@link #NO_EVENT} if the sun does not
+	 *            rise on that day.
+	 */
+	public void computeSunriseMinutes(Twilight twilight, LocalDate startDate,
+			int[] minutes) {
+		computeMinutes(new Twilight[] { twilight }, startDate,
+				new int[][] { minutes }, true);
+	}
+
+	/**
+	 * Computes the sunset time for the given {@link Twilight} on each day
+	 * starting at the given date, one day for each element of the minutes.
+	 * The primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of sunset to
+	 *            compute.
+	 * @param startDate
+	 *            The {@code LocalDate} of the first day to compute the sunset
+	 *            for.
+	 * @param minutes
+	 *            The array filled with the sunset time in minutes (0 to 1439)
+	 *            of each local day, or {@link #NO_EVENT} if the sun does not
+	 *            set on that day.
+	 */
+	public void computeSunsetMinutes(Twilight twilight, LocalDate startDate,
+			int[] minutes) {
+		computeMinutes(new Twilight[] { twilight }, startDate,
+				new int[][] { minutes }, false);
+	}
+
+	/**
+	 * Computes the sunrise time for each of the given {@link Twilight} at the
+	 * given date. The terms of the calculation that do not depend on the
+	 * {@code Twilight} are computed once for all of them. The primitive double
+	 * calculation is used whatever the {@link CalculationMode} of the
+	 * calculator.
+	 *
+	 * @param twilights
+	 *            The {@code Twilight} corresponding to the types of sunrise to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunrise for.
+	 * @param minutes
+	 *            The array filled with the sunrise time in minutes (0 to 1439)
+	 *            of the local day for each {@code Twilight} at the same index,
+	 *            or {@link #NO_EVENT} if the sun does not rise.
+	 */
+	public void computeSunriseMinutes(Twilight[] twilights, Calendar date,
+			int[] minutes) {
+		computeMinutes(twilights, date, minutes, true);
+	}
+
+	/**
+	 * Computes the sunset time for each of the given {@link Twilight} at the
+	 * given date. The terms of the calculation that do not depend on the
+	 * {@code Twilight} are computed once for all of them. The primitive double
+	 * calculation is used whatever the {@link CalculationMode} of the
+	 * calculator.
+	 *
+	 * @param twilights
+	 *            The {@code Twilight} corresponding to the types of sunset to
+	 *            compute.
+	 * @param date
+	 *            The {@code Calendar} object representing the date to compute
+	 *            the sunset for.
+	 * @param minutes
+	 *            The array filled with the sunset time in minutes (0 to 1439)
+	 *            of the local day for each {@code Twilight} at the same index,
+	 *            or {@link #NO_EVENT} if the sun does not set.
+	 */
+	public void computeSunsetMinutes(Twilight[] twilights, Calendar date,
+			int[] minutes) {
+		computeMinutes(twilights, date, minutes, false);
+	}
+
+	/**
+	 * Computes the sunrise time for each of the given {@link Twilight} on each
+	 * day starting at the given date, one day for each element of the minutes
+	 * of a {@code Twilight}. The terms of the calculation that do not depend
+	 * on the {@code Twilight} are computed once a day for all of them. The
+	 * primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilights
+	 *            The {@code Twilight} corresponding to the types of sunrise to
+	 *            compute.
+	 * @param startDate
+	 *            The {@code LocalDate} of the first day to compute the sunrise
+	 *            for.
+	 * @param minutes
+	 *            The arrays, one for each {@code Twilight} at the same index,
+	 *            filled with the sunrise time in minutes (0 to 1439) of each
+	 *            local day, or {@link #NO_EVENT} if the sun does not rise on
+	 *            that day.
+	 */
+	public void computeSunriseMinutes(Twilight[] twilights,
+			LocalDate startDate, int[][] minutes) {
+		computeMinutes(twilights, startDate, minutes, true);
+	}
+
+	/**
+	 * Computes the sunset time for each of the given {@link Twilight} on each
+	 * day starting at the given date, one day for each element of the minutes
+	 * of a {@code Twilight}. The terms of the calculation that do not depend
+	 * on the {@code Twilight} are computed once a day for all of them. The
+	 * primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilights
+	 *            The {@code Twilight} corresponding to the types of sunset to
+	 *            compute.
+	 * @param startDate
+	 *            The {@code LocalDate} of the first day to compute the sunset
+	 *            for.
+	 * @param minutes
+	 *            The arrays, one for each {@code Twilight} at the same index,
+	 *            filled with the sunset time in minutes (0 to 1439) of each
+	 *            local day, or {@link #NO_EVENT} if the sun does not set on
+	 *            that day.
+	 */
+	public void computeSunsetMinutes(Twilight[] twilights,
+			LocalDate startDate, int[][] minutes) {
+		computeMinutes(twilights, startDate, minutes, false);
+	}
+
+	/**
+	 * Computes how long the sun stays above the zenith of the given
+	 * {@link Twilight} on the given date. The length comes from the hour
+	 * angles of the sunrise and sunset, without computing their times or any
+	 * {@code Calendar}. The primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} corresponding to the type of
+	 *            sunrise/sunset.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator.
+	 * @return the minutes from the sunrise to the sunset (0 to 1440), 1440 if
+	 *         the sun stays above the zenith and 0 if it stays below it
+	 */
+	public int computeDayLengthMinutes(Twilight twilight, LocalDate date) {
+		double[] terms = new double[DAYLIGHT_TERMS];
+		computeDaylightTerms(date.getDayOfYear(), terms);
+		return getMinutes(getDayLengthHours(getCosineZenith(twilight), terms));
+	}
+
+	/**
+	 * Computes how long the sun stays between the official horizon and the
+	 * zenith of the given {@link Twilight} on the given date, at dawn and at
+	 * dusk together. Both day lengths come from the same terms of the
+	 * calculation. The primitive double calculation is used whatever the
+	 * {@link CalculationMode} of the calculator.
+	 *
+	 * @param twilight
+	 *            The {@code Twilight} ending the twilight, such as
+	 *            {@link Twilight#CIVIL}.
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator.
+	 * @return the minutes of twilight of the day (0 to 1440)
+	 */
+	public int computeTwilightMinutes(Twilight twilight, LocalDate date) {
+		double[] terms = new double[DAYLIGHT_TERMS];
+		computeDaylightTerms(date.getDayOfYear(), terms);
+		return getMinutes(getDayLengthHours(getCosineZenith(twilight), terms)
+				- getDayLengthHours(getCosineZenith(Twilight.OFFICIAL), terms));
+	}
+
+	/**
+	 * Computes the solar noon, when the sun crosses the meridian, on the
+	 * given date in the time zone of the calculator. It is halfway between
+	 * the sunrise and the sunset of every {@link Twilight}, and is computed
+	 * whether or not the sun rises. The primitive double calculation is used
+	 * whatever the {@link CalculationMode} of the calculator.
+	 *
+	 * @param date
+	 *            The {@code LocalDate} in the time zone of the calculator.
+	 * @return the solar noon in minutes (0 to 1439) of the local day
+	 */
+	public int computeSolarNoonMinutes(LocalDate date) {
+		double[] terms = new double[DAYLIGHT_TERMS];
+		int dayOfYear = date.getDayOfYear();
+		computeDaylightTerms(dayOfYear, terms);
+		return getMinutes(getSolarNoonHours(dayOfYear, terms,
+				getUTCOffsetMillis(date.toEpochDay()))) % MINUTES_PER_DAY;
+	}
+
+	/**
+	 * Computes the solar noon and the day length for each of the given
+	 * {@link Twilight} on each day starting at the given date, one day for
+	 * each element of the solar noon minutes. The terms of the sunrise and
+	 * sunset are computed once a day for all of them, and the day of the year
+	 * and the UTC offset are stepped from one day to the next. The primitive
+	 * double calculation is used whatever the {@link CalculationMode} of the
+	 * calculator.
+	 *
+	 * @param twilights
+	 *            The {@code Twilight} of the day lengths to compute.
+	 * @param startDate
+	 *            The {@code LocalDate} of the first day to compute.
+	 * @param solarNoonMinutes
+	 *            The array filled with the solar noon in minutes (0 to 1439)
+	 *            of each local day.
+	 * @param dayLengthMinutes
+	 *            The arrays, one for each {@code Twilight} at the same index,
+	 *            filled with the day length in minutes (0 to 1440) of each
+	 *            local day.
+	 */
+	public void computeDaylightMinutes(Twilight[] twilights,
+			LocalDate startDate, int[] solarNoonMinutes,
+			int[][] dayLengthMinutes) {
+		SolarBulkCalculationEvent event = SolarFlightRecorder.isRecording()
+				? SolarBulkCalculationEvent.start() : null;
+		double[] cosineZeniths = new double[twilights.length];
+		for (int i = 0; i < twilights.length; i++) {
+			cosineZeniths[i] = getCosineZenith(twilights[i]);
+		}
+		double[] terms = new double[DAYLIGHT_TERMS];
+		long epochDay = startDate.toEpochDay();
+		int dayOfYear = startDate.getDayOfYear();
+		int year = startDate.getYear();
+		int daysInYear = startDate.lengthOfYear();
+		for (int day = 0; day < solarNoonMinutes.length; day++) {
+			computeDaylightTerms(dayOfYear, terms);
+			solarNoonMinutes[day] = getMinutes(getSolarNoonHours(dayOfYear,
+					terms, getUTCOffsetMillis(epochDay))) % MINUTES_PER_DAY;
+			for (int i = 0; i < cosineZeniths.length; i++) {
+				dayLengthMinutes[i][day] = getMinutes(getDayLengthHours(
+						cosineZeniths[i], terms));
+			}
+
+			epochDay++;
+			if (++dayOfYear > daysInYear) {
+				dayOfYear = 1;
+				daysInYear = Year.isLeap(++year) ? 366 : 365;
+			}
+		}
+
+		if (event != null) {
+			event.end("SunriseSunsetCalculator.computeDaylightMinutes", this,
+					startDate, solarNoonMinutes.length, twilights);
+		}
+	}
+
+	/**
+	 * Computes the local time of the solar event rounded to the minute. A
+	 * negative value is a time on the day before the given date. The call is
+	 * counted by the {@link SolarCalculationStatistics} and sampled by the
+	 * {@link SolarCalculationEvent}.
+	 * 
+	 * @return the local time in minutes (-1440 to 1439), or one of
+	 *         {@link #POLAR_DAY_MINUTES} and {@link #POLAR_NIGHT_MINUTES}
+	 */
+	private int computeLocalMinutes(Twilight solarZenith, Calendar date,
+			boolean isSunrise) {
+		SolarCalculationEvent event = null;
+		if (SolarFlightRecorder.isRecording()) {
+			event = new SolarCalculationEvent();
+			event.begin();
+		}
+		long start = SolarCalculationStatistics.ENABLED ? System.nanoTime() : 0;
+		int localMinutes = computeUnrecordedLocalMinutes(solarZenith, date,
+				isSunrise);
+		if (SolarCalculationStatistics.ENABLED) {
+			SolarCalculationStatistics.record(solarZenith, isSunrise,
+					!isPolar(localMinutes), start);
+		}
+		if ((event != null) && event.isEnabled()) {
+			commit(event, solarZenith, date.get(Calendar.DAY_OF_YEAR),
+					isSunrise);
+		}
+		return localMinutes;
+	}
+
+	private int computeUnrecordedLocalMinutes(Twilight solarZenith,
+			Calendar date, boolean isSunrise) {
+		if (mode != CalculationMode.BIG_DECIMAL) {
+			return getLocalMinutes(computeSolarEventHours(solarZenith, date,
+					isSunrise));
+		}
+		BigDecimal localTime = computeSolarEventTime(solarZenith, date,
+				isSunrise);
+		if (localTime == null) {
+			// Only the sign of the cosine is needed to tell day from night
+			return getLocalMinutes(computeSolarEventHours(solarZenith, date,
+					isSunrise));
+		}
+		return getLocalMinutes(localTime);
+	}
+
+	private long computeSolarEvent(Twilight solarZenith, LocalDate date,
+			boolean isSunrise) {
+		SolarCalculationEvent event = null;
+		if (SolarFlightRecorder.isRecording()) {
+			event = new SolarCalculationEvent();
+			event.begin();
+		}
+		long start = SolarCalculationStatistics.ENABLED ? System.nanoTime() : 0;
+		long packedEvent = computeUnrecordedSolarEvent(solarZenith, date,
+				isSunrise);
+		if (SolarCalculationStatistics.ENABLED) {
+			SolarCalculationStatistics.record(solarZenith, isSunrise,
+					PackedSolarEvent.hasEvent(packedEvent), start);
+		}
+		if ((event != null) && event.isEnabled()) {
+			commit(event, solarZenith, date.getDayOfYear(), isSunrise);
+		}
+		return packedEvent;
+	}
+
+	/*
+	 * Commits a sampled event with the intermediate values of the calculation,
+	 * computed again with primitive doubles whatever the CalculationMode
+	 */
+	private void commit(SolarCalculationEvent event, Twilight solarZenith,
+			int dayOfYear, boolean isSunrise) {
+		event.end();
+		if (!event.shouldSample()) {
+			return;
+		}
+		double longitudeHour = getLongitudeHour(dayOfYear, isSunrise);
+		double meanAnomaly = getMeanAnomaly(longitudeHour);
+		double sunTrueLong = getSunTrueLongitude(meanAnomaly, false);
+		double sinSunDeclination = getSinOfSunDeclination(sunTrueLong, false);
+		event.latitude = latitudeDegrees;
+		event.longitude = longitude.doubleValue();
+		event.timeZone = zoneId.getId();
+		event.mode = mode.name();
+		event.zenith = solarZenith.degrees().doubleValue();
+		event.sunrise = isSunrise;
+		event.dayOfYear = dayOfYear;
+		event.meanAnomaly = meanAnomaly;
+		event.sunTrueLongitude = sunTrueLong;
+		event.cosineSunLocalHour = getCosineSunLocalHour(sinSunDeclination,
+				getCosineOfSunDeclination(sinSunDeclination, false),
+				getCosineZenith(solarZenith));
+		event.commit();
+	}
+
+	private long computeUnrecordedSolarEvent(Twilight solarZenith,
+			LocalDate date, boolean isSunrise) {
+		if (mode == CalculationMode.BIG_DECIMAL) {
+			Calendar calendar = new GregorianCalendar(timeZone);
+			calendar.clear();
+			calendar.set(date.getYear(), date.getMonthValue() - 1,
+					date.getDayOfMonth());
+			return getPackedEvent(computeUnrecordedLocalMinutes(solarZenith,
+					calendar, isSunrise), calendar);
+		}
+		long epochDay = date.toEpochDay();
+		int utcOffsetMillis = getUTCOffsetMillis(epochDay);
+		double localTime = computeSolarEventHours(getCosineZenith(solarZenith),
+				date.getDayOfYear(), utcOffsetMillis, isSunrise);
+		return getPackedEvent(getLocalMinutes(localTime), epochDay,
+				utcOffsetMillis);
 	}
 
 	private BigDecimal computeSolarEventTime(Twilight solarZenith,
@@ -258,6 +1002,367 @@ public class SunriseSunsetCalculator {
 		return localTime;
 	}
 
+	/**
+	 * Returns whether the sunrise or sunset occurs on each day of a year,
+	 * computing the sun only on the days the {@link PolarSeasonTable} leaves
+	 * open.
+	 * 
+	 * @return the days of the year with an event, indexed from 0
+	 */
+	boolean[] getEventDays(Twilight twilight, int daysInYear,
+			boolean isSunrise) {
+		PolarSeasonTable table = PolarSeasonTable.getInstance(twilight,
+				latitudeDegrees);
+		double cosineZenith = getCosineZenith(twilight);
+		boolean[] eventDays = new boolean[daysInYear];
+		for (int day = 0; day < daysInYear; day++) {
+			byte status = table.getStatus(day + 1, isSunrise);
+			eventDays[day] = (status == PolarSeasonTable.NORMAL)
+					|| ((status == PolarSeasonTable.MIXED) && (getDayType(
+							cosineZenith, day + 1, isSunrise)
+							== SolarDayType.NORMAL));
+		}
+		return eventDays;
+	}
+
+	/**
+	 * Computes the local time of the solar event in hours on a day given by
+	 * both its epoch day and its day of the year, for the searches that step
+	 * through a year without a {@code LocalDate}.
+	 * 
+	 * @return the local time in hours, {@link #POLAR_DAY} or
+	 *         {@link #POLAR_NIGHT}
+	 */
+	double computeSolarEventHours(double cosineZenith, long epochDay,
+			int dayOfYear, boolean isSunrise) {
+		return computeSolarEventHours(cosineZenith, dayOfYear,
+				getUTCOffsetMillis(epochDay), isSunrise);
+	}
+
+	/*
+	 * The sine and cosine of the declination and the right ascension of the
+	 * sun at the sunrise and at the sunset of a day, shared by every Twilight
+	 * and by the solar noon
+	 */
+	private void computeDaylightTerms(int dayOfYear, double[] terms) {
+		computeSunTerms(getLongitudeHour(dayOfYear, true), terms, SUNRISE_TERMS);
+		computeSunTerms(getLongitudeHour(dayOfYear, false), terms,
+				SUNSET_TERMS);
+	}
+
+	private void computeSunTerms(double longitudeHour, double[] terms,
+			int index) {
+		if (ephemeris == null) {
+			double meanAnomaly = getMeanAnomaly(longitudeHour);
+			double sunTrueLong = getSunTrueLongitude(meanAnomaly, fastMath);
+			double sinSunDeclination = getSinOfSunDeclination(sunTrueLong,
+					fastMath);
+			terms[index] = sinSunDeclination;
+			terms[index + 1] = getCosineOfSunDeclination(sinSunDeclination,
+					fastMath);
+			terms[index + 2] = getRightAscension(sunTrueLong, fastMath);
+		} else {
+			terms[index] = ephemeris.getSinOfSunDeclination(longitudeHour);
+			terms[index + 1] = ephemeris
+					.getCosineOfSunDeclination(longitudeHour);
+			terms[index + 2] = ephemeris.getRightAscension(longitudeHour);
+		}
+	}
+
+	/*
+	 * The local mean time of the sunset less that of the sunrise, which is
+	 * the sum of their hour angles corrected for the motion of the sun
+	 * between the two
+	 */
+	private double getDayLengthHours(double cosineZenith, double[] terms) {
+		double sunriseHours = getHalfDayHours(cosineZenith,
+				terms[SUNRISE_TERMS], terms[SUNRISE_TERMS + 1]);
+		double sunsetHours = getHalfDayHours(cosineZenith,
+				terms[SUNSET_TERMS], terms[SUNSET_TERMS + 1]);
+		if ((sunriseHours == 12) && (sunsetHours == 12)) {
+			return 24;
+		} else if ((sunriseHours == 0) && (sunsetHours == 0)) {
+			return 0;
+		}
+		double length = sunriseHours + sunsetHours
+				+ getRightAscensionChange(terms) - (0.06571 * 0.5);
+		return Math.max(0, Math.min(length, 24));
+	}
+
+	/* The hour angle of the sunrise/sunset, 12 or 0 for no sunrise/sunset */
+	private double getHalfDayHours(double cosineZenith,
+			double sinSunDeclination, double cosineSunDeclination) {
+		double cosineSunLocalHour = getCosineSunLocalHour(sinSunDeclination,
+				cosineSunDeclination, cosineZenith);
+		if (cosineSunLocalHour <= -1.0) {
+			return 12;
+		} else if (cosineSunLocalHour >= 1.0) {
+			return 0;
+		}
+		return getSunLocalHour(cosineSunLocalHour, false, fastMath);
+	}
+
+	/* The local time halfway between the sunrise and the sunset */
+	private double getSolarNoonHours(int dayOfYear, double[] terms,
+			int utcOffsetMillis) {
+		double noonHour = (getLongitudeHour(dayOfYear, true)
+				+ getLongitudeHour(dayOfYear, false)) / 2;
+		double rightAscension = terms[SUNRISE_TERMS + 2]
+				+ (getRightAscensionChange(terms) / 2);
+		double localMeanTime = rightAscension - (0.06571 * noonHour) - 6.622;
+		double localTime = (localMeanTime - baseLongitudeHour)
+				+ (utcOffsetMillis / 3600000.0);
+		return localTime - (Math.floor(localTime / 24) * 24);
+	}
+
+	/* The right ascension at the sunset less that at the sunrise */
+	private static double getRightAscensionChange(double[] terms) {
+		double change = terms[SUNSET_TERMS + 2] - terms[SUNRISE_TERMS + 2];
+		if (change > 12) {
+			change -= 24;
+		} else if (change < -12) {
+			change += 24;
+		}
+		return change;
+	}
+
+	private static int getMinutes(double hours) {
+		return (int) Math.rint(hours * 60);
+	}
+
+	/* The type of the day from the same terms as computeSolarEventHours */
+	private SolarDayType getDayType(double cosineZenith, int dayOfYear,
+			boolean isSunrise) {
+		double longitudeHour = getLongitudeHour(dayOfYear, isSunrise);
+		double sinSunDeclination;
+		double cosineSunDeclination;
+		if (ephemeris == null) {
+			double meanAnomaly = getMeanAnomaly(longitudeHour);
+			double sunTrueLong = getSunTrueLongitude(meanAnomaly, fastMath);
+			sinSunDeclination = getSinOfSunDeclination(sunTrueLong, fastMath);
+			cosineSunDeclination = getCosineOfSunDeclination(
+					sinSunDeclination, fastMath);
+		} else {
+			sinSunDeclination = ephemeris.getSinOfSunDeclination(longitudeHour);
+			cosineSunDeclination = ephemeris
+					.getCosineOfSunDeclination(longitudeHour);
+		}
+		double cosineSunLocalHour = getCosineSunLocalHour(sinSunDeclination,
+				cosineSunDeclination, cosineZenith);
+		if (cosineSunLocalHour < -1.0) {
+			return SolarDayType.POLAR_DAY;
+		} else if (cosineSunLocalHour > 1.0) {
+			return SolarDayType.POLAR_NIGHT;
+		}
+		return SolarDayType.NORMAL;
+	}
+
+	/**
+	 * Computes the local time of the solar event in hours using primitive
+	 * doubles for every step of the calculation.
+	 * 
+	 * @return the local time in hours, {@link #POLAR_DAY} if the sun stays
+	 *         above the zenith or {@link #POLAR_NIGHT} if the sun stays below
+	 *         the zenith on the given date
+	 */
+	private double computeSolarEventHours(Twilight solarZenith, Calendar date,
+			boolean isSunrise) {
+		date.setTimeZone(this.timeZone);
+		long epochMillis = date.getTimeInMillis();
+		ZoneOffsetTable table = getOffsetTable(epochMillis);
+		return computeSolarEventHours(getCosineZenith(solarZenith),
+				table.getDayOfYear(epochMillis), table.getOffset(epochMillis),
+				isSunrise);
+	}
+
+	private double computeSolarEventHours(double cosineZenith, int dayOfYear,
+			int utcOffsetMillis, boolean isSunrise) {
+		double longitudeHour = getLongitudeHour(dayOfYear, isSunrise);
+
+		double sinSunDeclination;
+		double cosineSunDeclination;
+		double rightAscension;
+		if (ephemeris == null) {
+			double meanAnomaly = getMeanAnomaly(longitudeHour);
+			double sunTrueLong = getSunTrueLongitude(meanAnomaly, fastMath);
+			sinSunDeclination = getSinOfSunDeclination(sunTrueLong, fastMath);
+			cosineSunDeclination = getCosineOfSunDeclination(
+					sinSunDeclination, fastMath);
+			rightAscension = getRightAscension(sunTrueLong, fastMath);
+		} else {
+			sinSunDeclination = ephemeris.getSinOfSunDeclination(longitudeHour);
+			cosineSunDeclination = ephemeris
+					.getCosineOfSunDeclination(longitudeHour);
+			rightAscension = ephemeris.getRightAscension(longitudeHour);
+		}
+		return computeSolarEventHours(cosineZenith, sinSunDeclination,
+				cosineSunDeclination, rightAscension, longitudeHour,
+				utcOffsetMillis, isSunrise);
+	}
+
+	/*
+	 * The only steps of the calculation that depend on the zenith. Every other
+	 * argument is shared by all the Twilight of a day and direction.
+	 */
+	private double computeSolarEventHours(double cosineZenith,
+			double sinSunDeclination, double cosineSunDeclination,
+			double rightAscension, double longitudeHour, int utcOffsetMillis,
+			boolean isSunrise) {
+		double cosineSunLocalHour = getCosineSunLocalHour(sinSunDeclination,
+				cosineSunDeclination, cosineZenith);
+		if (cosineSunLocalHour < -1.0) {
+			return POLAR_DAY;
+		} else if (cosineSunLocalHour > 1.0) {
+			return POLAR_NIGHT;
+		}
+
+		double sunLocalHour = getSunLocalHour(cosineSunLocalHour, isSunrise,
+				fastMath);
+		double localMeanTime = getLocalMeanTime(rightAscension, longitudeHour,
+				sunLocalHour);
+		return getLocalTime(localMeanTime, utcOffsetMillis);
+	}
+
+	/**
+	 * Fills the minutes with the solar event of each {@code Twilight} on the
+	 * given date, computing the terms shared by the {@code Twilight} once.
+	 */
+	private void computeMinutes(Twilight[] solarZeniths, Calendar date,
+			int[] minutes, boolean isSunrise) {
+		date.setTimeZone(this.timeZone);
+		long epochMillis = date.getTimeInMillis();
+		ZoneOffsetTable table = getOffsetTable(epochMillis);
+		int utcOffsetMillis = table.getOffset(epochMillis);
+		double longitudeHour = getLongitudeHour(
+				table.getDayOfYear(epochMillis), isSunrise);
+
+		double sinSunDeclination;
+		double cosineSunDeclination;
+		double rightAscension;
+		if (ephemeris == null) {
+			double meanAnomaly = getMeanAnomaly(longitudeHour);
+			double sunTrueLong = getSunTrueLongitude(meanAnomaly, fastMath);
+			sinSunDeclination = getSinOfSunDeclination(sunTrueLong, fastMath);
+			cosineSunDeclination = getCosineOfSunDeclination(
+					sinSunDeclination, fastMath);
+			rightAscension = getRightAscension(sunTrueLong, fastMath);
+		} else {
+			sinSunDeclination = ephemeris.getSinOfSunDeclination(longitudeHour);
+			cosineSunDeclination = ephemeris
+					.getCosineOfSunDeclination(longitudeHour);
+			rightAscension = ephemeris.getRightAscension(longitudeHour);
+		}
+		for (int i = 0; i < solarZeniths.length; i++) {
+			double localTime = computeSolarEventHours(
+					getCosineZenith(solarZeniths[i]), sinSunDeclination,
+					cosineSunDeclination, rightAscension, longitudeHour,
+					utcOffsetMillis, isSunrise);
+			minutes[i] = getMinutesOfDay(getLocalMinutes(localTime));
+		}
+	}
+
+	/*
+	 * Fills the minutes of each day starting at the given date as one
+	 * recorded bulk calculation
+	 */
+	private void computeMinutes(Twilight[] solarZeniths, LocalDate startDate,
+			int[][] minutes, boolean isSunrise) {
+		SolarBulkCalculationEvent event = SolarFlightRecorder.isRecording()
+				? SolarBulkCalculationEvent.start() : null;
+		computeUnrecordedMinutes(solarZeniths, startDate, minutes, isSunrise);
+		if (event != null) {
+			event.end(isSunrise
+					? "SunriseSunsetCalculator.computeSunriseMinutes"
+					: "SunriseSunsetCalculator.computeSunsetMinutes", this,
+					startDate, (minutes.length == 0) ? 0 : minutes[0].length,
+					solarZeniths);
+		}
+	}
+
+	/**
+	 * Fills the minutes with the solar event of each {@code Twilight} on each
+	 * day starting at the given date. The location terms are computed once,
+	 * the terms shared by the {@code Twilight} once a day, and the day of the
+	 * year and the UTC offset are stepped from one day to the next. No
+	 * {@link SolarBulkCalculationEvent} is recorded, for the grids, almanacs
+	 * and batches recording their own.
+	 */
+	void computeUnrecordedMinutes(Twilight[] solarZeniths,
+			LocalDate startDate, int[][] minutes, boolean isSunrise) {
+		computeUnrecordedMinutes(solarZeniths, startDate, minutes,
+				(minutes.length == 0) ? 0 : minutes[0].length, isSunrise);
+	}
+
+	/*
+	 * Fills only the first days of the minutes, so that the same arrays can
+	 * be reused for shorter ranges of dates
+	 */
+	void computeUnrecordedMinutes(Twilight[] solarZeniths,
+			LocalDate startDate, int[][] minutes, int days, boolean isSunrise) {
+		double[] cosineZeniths = new double[solarZeniths.length];
+		for (int i = 0; i < solarZeniths.length; i++) {
+			cosineZeniths[i] = getCosineZenith(solarZeniths[i]);
+		}
+		long epochDay = startDate.toEpochDay();
+		int dayOfYear = startDate.getDayOfYear();
+		int year = startDate.getYear();
+		int daysInYear = startDate.lengthOfYear();
+		for (int day = 0; day < days; day++) {
+			int utcOffsetMillis = getUTCOffsetMillis(epochDay);
+			double longitudeHour = getLongitudeHour(dayOfYear, isSunrise);
+
+			double sinSunDeclination;
+			double cosineSunDeclination;
+			double rightAscension;
+			if (ephemeris == null) {
+				double meanAnomaly = getMeanAnomaly(longitudeHour);
+				double sunTrueLong = getSunTrueLongitude(meanAnomaly, fastMath);
+				sinSunDeclination = getSinOfSunDeclination(sunTrueLong, fastMath);
+				cosineSunDeclination = getCosineOfSunDeclination(
+						sinSunDeclination, fastMath);
+				rightAscension = getRightAscension(sunTrueLong, fastMath);
+			} else {
+				sinSunDeclination = ephemeris
+						.getSinOfSunDeclination(longitudeHour);
+				cosineSunDeclination = ephemeris
+						.getCosineOfSunDeclination(longitudeHour);
+				rightAscension = ephemeris.getRightAscension(longitudeHour);
+			}
+			for (int i = 0; i < cosineZeniths.length; i++) {
+				double localTime = computeSolarEventHours(cosineZeniths[i],
+						sinSunDeclination, cosineSunDeclination,
+						rightAscension, longitudeHour, utcOffsetMillis,
+						isSunrise);
+				minutes[i][day] = getMinutesOfDay(getLocalMinutes(localTime));
+			}
+
+			epochDay++;
+			if (++dayOfYear > daysInYear) {
+				dayOfYear = 1;
+				daysInYear = Year.isLeap(++year) ? 366 : 365;
+			}
+		}
+	}
+
+	/*
+	 * The offset of the zone at local noon of the day, which is clear of the
+	 * daylight saving transitions made during the night.
+	 */
+	int getUTCOffsetMillis(long epochDay) {
+		long epochMillis = (epochDay * 86400000L) + 43200000L
+				- timeZone.getRawOffset();
+		return getOffsetTable(epochMillis).getOffset(epochMillis);
+	}
+
+	private ZoneOffsetTable getOffsetTable(long epochMillis) {
+		ZoneOffsetTable table = offsetTable;
+		if ((table == null) || !table.contains(epochMillis)) {
+			table = ZoneOffsetTable.getInstance(timeZone, epochMillis);
+			offsetTable = table;
+		}
+		return table;
+	}
+
 	private BigDecimal getBaseLongitudeHour() {
 		return divideBy(longitude, BigDecimal.valueOf(15));
 	}
@@ -270,7 +1375,10 @@ public class SunriseSunsetCalculator {
 		BigDecimal dividend = BigDecimal.valueOf(offset).subtract(
 				getBaseLongitudeHour());
 		BigDecimal addend = divideBy(dividend, BigDecimal.valueOf(24));
-		BigDecimal longHour = getDayOfYear(date).add(addend);
+		long epochMillis = date.getTimeInMillis();
+		BigDecimal dayOfYear = BigDecimal.valueOf(getOffsetTable(epochMillis)
+				.getDayOfYear(epochMillis));
+		BigDecimal longHour = dayOfYear.add(addend);
 		return setScale(longHour);
 	}
 
@@ -310,23 +1418,19 @@ public class SunriseSunsetCalculator {
 		rightAscension = setScale(MathUtility
 				.convertRadiansToDegrees(rightAscension));
 
-		if (rightAscension.doubleValue() < 0) {
-			rightAscension = rightAscension.add(BigDecimal.valueOf(360));
-		} else if (rightAscension.doubleValue() > 360) {
-			rightAscension = rightAscension.subtract(BigDecimal.valueOf(360));
-		}
-
-		BigDecimal ninety = BigDecimal.valueOf(90);
-		BigDecimal longitudeQuadrant = sunTrueLong.divide(ninety, 0,
-				RoundingMode.FLOOR);
-		longitudeQuadrant = longitudeQuadrant.multiply(ninety);
-
-		BigDecimal rightAscensionQuadrant = rightAscension.divide(ninety, 0,
-				RoundingMode.FLOOR);
-		rightAscensionQuadrant = rightAscensionQuadrant.multiply(ninety);
-
-		BigDecimal augend = longitudeQuadrant.subtract(rightAscensionQuadrant);
-		return divideBy(rightAscension.add(augend), BigDecimal.valueOf(15));
+		/*
+		 * The arctangent is only known to a half turn. The right ascension is
+		 * folded to within a quarter turn of the true longitude rather than
+		 * into its quadrant: the longitude is rounded in radians before its
+		 * tangent is taken, which flips the sign of the tangent just below
+		 * 180 or 360 degrees and would put the right ascension one quadrant
+		 * off.
+		 */
+		BigDecimal halfTurn = BigDecimal.valueOf(180);
+		BigDecimal halfTurns = sunTrueLong.subtract(rightAscension).divide(
+				halfTurn, 0, RoundingMode.HALF_UP);
+		rightAscension = rightAscension.add(halfTurns.multiply(halfTurn));
+		return divideBy(rightAscension, BigDecimal.valueOf(15));
 	}
 
 	private BigDecimal getCosineSunLocalHour(BigDecimal sunTrueLong,
@@ -334,10 +1438,7 @@ public class SunriseSunsetCalculator {
 		BigDecimal sinSunDeclination = getSinOfSunDeclination(sunTrueLong);
 		BigDecimal cosineSunDeclination = getCosineOfSunDeclination(sinSunDeclination);
 
-		BigDecimal zenithInRads = MathUtility.convertDegreesToRadians(zenith
-				.degrees());
-		BigDecimal cosineZenith = BigDecimal.valueOf(Math.cos(zenithInRads
-				.doubleValue()));
+		BigDecimal cosineZenith = zenith.bigDecimalCosine();
 		BigDecimal sinLatitude = BigDecimal.valueOf(Math
 				.sin(convertDegreesToRadians(latitude).doubleValue()));
 		BigDecimal cosLatitude = BigDecimal.valueOf(Math
@@ -398,14 +1499,17 @@ public class SunriseSunsetCalculator {
 
 	private BigDecimal getLocalTime(BigDecimal localMeanTime, Calendar date) {
 		BigDecimal utcTime = localMeanTime.subtract(getBaseLongitudeHour());
-		BigDecimal utcOffSet = getUTCOffset(date);
+		long epochMillis = date.getTimeInMillis();
+		ZoneOffsetTable table = getOffsetTable(epochMillis);
+		BigDecimal utcOffSet = table.getRawOffsetHours(epochMillis);
 		BigDecimal utcOffSetTime = utcTime.add(utcOffSet);
-		return adjustForDST(utcOffSetTime, date);
+		return adjustForDST(utcOffSetTime, table.inDaylightTime(epochMillis));
 	}
 
-	private BigDecimal adjustForDST(BigDecimal localMeanTime, Calendar date) {
+	private BigDecimal adjustForDST(BigDecimal localMeanTime,
+			boolean inDaylightTime) {
 		BigDecimal localTime = localMeanTime;
-		if (timeZone.inDaylightTime(date.getTime())) {
+		if (inDaylightTime) {
 			localTime = localTime.add(BigDecimal.ONE);
 		}
 		if (localTime.doubleValue() > 24.0) {
@@ -414,65 +1518,228 @@ public class SunriseSunsetCalculator {
 		return localTime;
 	}
 
-	private String getLocalTimeAsString(BigDecimal localTimeParam) {
-		if (localTimeParam == null) {
-			return "99:99";
+	private double getLongitudeHour(int dayOfYear, boolean isSunrise) {
+		int offset = isSunrise ? 6 : 18;
+		return dayOfYear + ((offset - baseLongitudeHour) / 24);
+	}
+
+	static double getMeanAnomaly(double longitudeHour) {
+		return (0.9856 * longitudeHour) - 3.289;
+	}
+
+	static double getSunTrueLongitude(double meanAnomaly, boolean fastMath) {
+		double meanAnomalyInRads = Math.toRadians(meanAnomaly);
+		double sinMeanAnomaly;
+		double sinDoubleMeanAnomaly;
+		if (fastMath) {
+			sinMeanAnomaly = MathUtility.fastSin(meanAnomalyInRads);
+			sinDoubleMeanAnomaly = MathUtility.fastSin(2 * meanAnomalyInRads);
+		} else {
+			sinMeanAnomaly = Math.sin(meanAnomalyInRads);
+			sinDoubleMeanAnomaly = Math.sin(2 * meanAnomalyInRads);
+		}
+		double trueLongitude = meanAnomaly + (1.916 * sinMeanAnomaly)
+				+ (0.020 * sinDoubleMeanAnomaly) + 282.634;
+		if (trueLongitude > 360) {
+			trueLongitude -= 360;
+		}
+		return trueLongitude;
+	}
+
+	static double getRightAscension(double sunTrueLong, boolean fastMath) {
+		double sunTrueLongInRads = Math.toRadians(sunTrueLong);
+		double rightAscension;
+		if (fastMath) {
+			rightAscension = Math.toDegrees(MathUtility.fastAtan(0.91764 * MathUtility
+					.fastTan(sunTrueLongInRads)));
+		} else {
+			rightAscension = Math.toDegrees(Math.atan(0.91764 * Math
+					.tan(sunTrueLongInRads)));
 		}
+		if (rightAscension < 0) {
+			rightAscension += 360;
+		} else if (rightAscension > 360) {
+			rightAscension -= 360;
+		}
+
+		double longitudeQuadrant = Math.floor(sunTrueLong / 90) * 90;
+		double rightAscensionQuadrant = Math.floor(rightAscension / 90) * 90;
+		return (rightAscension + (longitudeQuadrant - rightAscensionQuadrant)) / 15;
+	}
+
+	private double getCosineSunLocalHour(double sinSunDeclination,
+			double cosineSunDeclination, double cosineZenith) {
+		return (cosineZenith - (sinSunDeclination * sinLatitude))
+				/ (cosineSunDeclination * cosLatitude);
+	}
 
-		if (localTimeParam.compareTo(BigDecimal.ZERO) == -1) {
-			localTimeParam = localTimeParam.add(BigDecimal.valueOf(24.0D));
+	static double getSinOfSunDeclination(double sunTrueLong, boolean fastMath) {
+		double sunTrueLongInRads = Math.toRadians(sunTrueLong);
+		if (fastMath) {
+			return 0.39782 * MathUtility.fastSin(sunTrueLongInRads);
 		}
-		String[] timeComponents = localTimeParam.toPlainString().split("\\.");
-		int hour = Integer.parseInt(timeComponents[0]);
+		return 0.39782 * Math.sin(sunTrueLongInRads);
+	}
+
+	static double getCosineOfSunDeclination(double sinSunDeclination,
+			boolean fastMath) {
+		if (fastMath) {
+			return Math.sqrt(1 - (sinSunDeclination * sinSunDeclination));
+		}
+		return Math.cos(Math.asin(sinSunDeclination));
+	}
+
+	static double getCosineZenith(Twilight zenith) {
+		return zenith.cosine();
+	}
 
-		BigDecimal minutes = new BigDecimal("0." + timeComponents[1]);
-		minutes = minutes.multiply(BigDecimal.valueOf(60)).setScale(0,
-				RoundingMode.HALF_EVEN);
-		if (minutes.intValue() == 60) {
-			minutes = BigDecimal.ZERO;
-			hour += 1;
+	static double getSunLocalHour(double cosineSunLocalHour,
+			boolean isSunrise, boolean fastMath) {
+		double localHour;
+		if (fastMath) {
+			localHour = Math.toDegrees(MathUtility.fastAcos(cosineSunLocalHour));
+		} else {
+			localHour = Math.toDegrees(Math.acos(cosineSunLocalHour));
 		}
-		if (hour == 24) {
-			hour = 0;
+		if (isSunrise) {
+			localHour = 360 - localHour;
 		}
+		return localHour / 15;
+	}
 
-		String minuteString = minutes.intValue() < 10 ? "0"
-				+ minutes.toPlainString() : minutes.toPlainString();
-		String hourString = (hour < 10) ? "0" + String.valueOf(hour) : String
-				.valueOf(hour);
-		return hourString + ":" + minuteString;
+	static double getLocalMeanTime(double rightAscension,
+			double longitudeHour, double sunLocalHour) {
+		double localMeanTime = sunLocalHour + rightAscension
+				- (0.06571 * longitudeHour) - 6.622;
+		if (localMeanTime < 0) {
+			localMeanTime += 24;
+		} else if (localMeanTime > 24) {
+			localMeanTime -= 24;
+		}
+		return localMeanTime;
 	}
 
-	private Calendar getLocalTimeAsCalendar(BigDecimal localTimeParam,
-			Calendar date) {
-		if (localTimeParam == null) {
-			return null;
+	/*
+	 * The offset returned by TimeZone.getOffset already includes the daylight
+	 * saving amount, so no separate DST adjustment is needed.
+	 */
+	private double getLocalTime(double localMeanTime, int utcOffsetMillis) {
+		double localTime = (localMeanTime - baseLongitudeHour)
+				+ (utcOffsetMillis / 3600000.0);
+		if (localTime > 24.0) {
+			localTime -= 24;
 		}
+		return localTime;
+	}
 
-		Calendar resultTime = (Calendar) date.clone();
+	private int getLocalMinutes(BigDecimal localTime) {
+		boolean isDayBefore = localTime.signum() < 0;
+		if (isDayBefore) {
+			localTime = localTime.add(BigDecimal.valueOf(24));
+		}
+		int minutes = localTime.multiply(SIXTY)
+				.setScale(0, RoundingMode.HALF_EVEN).intValue()
+				% MINUTES_PER_DAY;
+		return isDayBefore ? minutes - MINUTES_PER_DAY : minutes;
+	}
 
-		BigDecimal localTime = localTimeParam;
-		if (localTime.compareTo(BigDecimal.ZERO) == -1) {
-			localTime = localTime.add(BigDecimal.valueOf(24.0D));
-			resultTime.add(Calendar.HOUR_OF_DAY, -24);
+	static int getLocalMinutes(double localTime) {
+		if (localTime == POLAR_DAY) {
+			return POLAR_DAY_MINUTES;
+		} else if (localTime == POLAR_NIGHT) {
+			return POLAR_NIGHT_MINUTES;
+		}
+		boolean isDayBefore = localTime < 0;
+		if (isDayBefore) {
+			localTime += 24;
+		}
+		int minutes = ((int) Math.rint(localTime * 60)) % MINUTES_PER_DAY;
+		return isDayBefore ? minutes - MINUTES_PER_DAY : minutes;
+	}
+
+	private static boolean isPolar(int localMinutes) {
+		return (localMinutes == POLAR_DAY_MINUTES)
+				|| (localMinutes == POLAR_NIGHT_MINUTES);
+	}
+
+	static int getMinutesOfDay(int localMinutes) {
+		if (isPolar(localMinutes)) {
+			return NO_EVENT;
+		}
+		return (localMinutes < 0) ? localMinutes + MINUTES_PER_DAY
+				: localMinutes;
+	}
+
+	static long getPackedEvent(int localMinutes, long epochDay,
+			int utcOffsetMillis) {
+		long offsetSeconds = utcOffsetMillis / 1000;
+		if (isPolar(localMinutes)) {
+			int status = PackedSolarEvent.POLAR_NIGHT;
+			if (localMinutes == POLAR_DAY_MINUTES) {
+				status = PackedSolarEvent.POLAR_DAY;
+			}
+			return PackedSolarEvent.pack((epochDay * 86400) - offsetSeconds,
+					status);
+		}
+		if (localMinutes < 0) {
+			epochDay -= 1;
+			localMinutes += MINUTES_PER_DAY;
+		}
+		return PackedSolarEvent.pack((epochDay * 86400) + (localMinutes * 60)
+				- offsetSeconds, PackedSolarEvent.EVENT);
+	}
+
+	/*
+	 * Packs the local minutes computed for a Calendar with the local date and
+	 * UTC offset of the Calendar
+	 */
+	private long getPackedEvent(int localMinutes, Calendar date) {
+		long epochMillis = date.getTimeInMillis();
+		ZoneOffsetTable table = getOffsetTable(epochMillis);
+		return getPackedEvent(localMinutes,
+				table.getLocalEpochDay(epochMillis),
+				table.getOffset(epochMillis));
+	}
+
+	static long getEpochSecond(long packedEvent) {
+		return PackedSolarEvent.hasEvent(packedEvent) ? PackedSolarEvent
+				.epochSecond(packedEvent) : NO_EVENT_EPOCH_SECOND;
+	}
+
+	private ZonedDateTime getLocalTimeAsDateTime(long packedEvent) {
+		if (!PackedSolarEvent.hasEvent(packedEvent)) {
+			return null;
 		}
-		String[] timeComponents = localTime.toPlainString().split("\\.");
-		int hour = Integer.parseInt(timeComponents[0]);
+		return Instant.ofEpochSecond(PackedSolarEvent.epochSecond(packedEvent))
+				.atZone(zoneId);
+	}
 
-		BigDecimal minutes = new BigDecimal("0." + timeComponents[1]);
-		minutes = minutes.multiply(BigDecimal.valueOf(60)).setScale(0,
-				RoundingMode.HALF_EVEN);
-		if (minutes.intValue() == 60) {
-			minutes = BigDecimal.ZERO;
-			hour += 1;
+	static String getLocalTimeAsString(int localMinutes) {
+		if (isPolar(localMinutes)) {
+			return "99:99";
 		}
-		if (hour == 24) {
-			hour = 0;
+		int minutesOfDay = getMinutesOfDay(localMinutes);
+		int hour = minutesOfDay / 60;
+		int minutes = minutesOfDay % 60;
+		return new String(new char[] { (char) ('0' + (hour / 10)),
+				(char) ('0' + (hour % 10)), ':', (char) ('0' + (minutes / 10)),
+				(char) ('0' + (minutes % 10)) });
+	}
+
+	private Calendar getLocalTimeAsCalendar(int localMinutes, Calendar date) {
+		if (isPolar(localMinutes)) {
+			return null;
+		}
+
+		Calendar resultTime = (Calendar) date.clone();
+		if (localMinutes < 0) {
+			resultTime.add(Calendar.HOUR_OF_DAY, -24);
 		}
+		int minutesOfDay = getMinutesOfDay(localMinutes);
 
 		// Set the local time
-		resultTime.set(Calendar.HOUR_OF_DAY, hour);
-		resultTime.set(Calendar.MINUTE, minutes.intValue());
+		resultTime.set(Calendar.HOUR_OF_DAY, minutesOfDay / 60);
+		resultTime.set(Calendar.MINUTE, minutesOfDay % 60);
 		resultTime.set(Calendar.SECOND, 0);
 		resultTime.set(Calendar.MILLISECOND, 0);
 		resultTime.setTimeZone(date.getTimeZone());
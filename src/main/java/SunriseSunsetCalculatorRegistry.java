@@ -0,0 +1,175 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.math.BigDecimal;
+import java.util.TimeZone;
+
+/**
+ * The {@link SunriseSunsetCalculatorRegistry} class shares one
+ * {@link SunriseSunsetCalculator} per location and time zone, so that
+ * repeated requests for the same place do not create a new calculator and
+ * its {@code BigDecimal} coordinates. The calculators are keyed by the exact
+ * latitude, longitude and time zone identifier, and the registry holds at
+ * most a fixed number of them, evicting the least used first. A calculator is
+ * only shared while the time zone of the request has the same rules, and it
+ * keeps its own copy of the time zone.
+ * 
+ * The static {@link SunriseSunset#getSunrise(double, double, TimeZone,
+ * java.util.Calendar, double)} and {@code getSunset} methods use the
+ * {@link #getDefault()} registry.
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetCalculatorRegistry {
+	/* The maximum number of calculators of the default registry */
+	public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+	private final ClockMap<Key, SunriseSunsetCalculator> calculators;
+	private final CalculationMode mode;
+
+	/**
+	 * Creates a {@code SunriseSunsetCalculatorRegistry} holding at most the
+	 * given number of calculators using {@link CalculationMode#BIG_DECIMAL}
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of calculators
+	 */
+	public SunriseSunsetCalculatorRegistry(int maximumSize) {
+		this(maximumSize, CalculationMode.BIG_DECIMAL);
+	}
+
+	/**
+	 * Creates a {@code SunriseSunsetCalculatorRegistry} holding at most the
+	 * given number of calculators
+	 * 
+	 * @param maximumSize
+	 *            the maximum number of calculators
+	 * @param mode
+	 *            the {@code CalculationMode} of the calculators
+	 */
+	public SunriseSunsetCalculatorRegistry(int maximumSize,
+			CalculationMode mode) {
+		this.calculators = new ClockMap<Key, SunriseSunsetCalculator>(
+				maximumSize);
+		this.mode = mode;
+	}
+
+	/**
+	 * Returns the registry shared by the static methods of
+	 * {@link SunriseSunset}, holding at most {@value #DEFAULT_MAXIMUM_SIZE}
+	 * calculators using {@link CalculationMode#BIG_DECIMAL}
+	 * 
+	 * @return The default {@code SunriseSunsetCalculatorRegistry}
+	 */
+	public static SunriseSunsetCalculatorRegistry getDefault() {
+		return DefaultHolder.DEFAULT;
+	}
+
+	/**
+	 * Returns the calculator of a location, creating it on the first request.
+	 * The coordinates are converted with {@code new BigDecimal(double)}.
+	 * 
+	 * @param latitude
+	 *            the latitude of the location in degrees
+	 * @param longitude
+	 *            the longitude of the location in degrees
+	 * @param timeZone
+	 *            the {@code TimeZone} of the location
+	 * @return The shared {@code SunriseSunsetCalculator} of the location
+	 */
+	public SunriseSunsetCalculator getCalculator(double latitude,
+			double longitude, TimeZone timeZone) {
+		Key key = new Key(latitude, longitude, timeZone.getID());
+		SunriseSunsetCalculator calculator = calculators.get(key);
+		if ((calculator != null) && calculator.timeZone.hasSameRules(timeZone)) {
+			return calculator;
+		}
+		calculator = new SunriseSunsetCalculator(
+				(TimeZone) timeZone.clone(), new BigDecimal(latitude),
+				new BigDecimal(longitude), mode);
+		SunriseSunsetCalculator previous = calculators.putIfAbsent(key,
+				calculator);
+		if ((previous != null) && previous.timeZone.hasSameRules(timeZone)) {
+			return previous;
+		}
+		return calculator;
+	}
+
+	/**
+	 * Returns the number of calculators in the registry
+	 * 
+	 * @return The number of calculators
+	 */
+	public int size() {
+		return calculators.size();
+	}
+
+	/**
+	 * Returns the number of calculators removed to bound the size of the
+	 * registry
+	 * 
+	 * @return The number of evictions
+	 */
+	public long getEvictionCount() {
+		return calculators.getEvictionCount();
+	}
+
+	/* The exact location and time zone of a calculator */
+	private static final class Key {
+		private final long latitude;
+		private final long longitude;
+		private final String timeZoneIdentifier;
+
+		Key(double latitude, double longitude, String timeZoneIdentifier) {
+			this.latitude = Double.doubleToLongBits(latitude);
+			this.longitude = Double.doubleToLongBits(longitude);
+			this.timeZoneIdentifier = timeZoneIdentifier;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return (latitude == other.latitude)
+					&& (longitude == other.longitude)
+					&& timeZoneIdentifier.equals(other.timeZoneIdentifier);
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = Long.hashCode(latitude);
+			hash = (31 * hash) + Long.hashCode(longitude);
+			return (31 * hash) + timeZoneIdentifier.hashCode();
+		}
+	}
+
+	/* Creates the default registry on first use */
+	private static final class DefaultHolder {
+		private static final SunriseSunsetCalculatorRegistry DEFAULT = new SunriseSunsetCalculatorRegistry(
+				DEFAULT_MAXIMUM_SIZE);
+	}
+}
@@ -81,7 +81,16 @@ public class Twilight {
 	 */
 	public static final Twilight OFFICIAL = new Twilight(90.8333);
 
+	/* The Twilight instances shared by valueOf(double) */
+	private static final Twilight[] CONSTANTS = { ASTRONOMICAL, NAUTICAL,
+			CIVIL, OFFICIAL };
+	private static final ClockMap<Double, Twilight> INTERNED = new ClockMap<Double, Twilight>(
+			256);
+
 	protected final BigDecimal degrees;
+	/* The cosine of the zenith, computed once for every calculation */
+	private final double cosine;
+	private final BigDecimal bigDecimalCosine;
 
 	/**
 	 * Sets the degrees
@@ -91,6 +100,36 @@ public class Twilight {
 	 */
 	public Twilight(double degrees) {
 		this.degrees = BigDecimal.valueOf(degrees);
+		this.cosine = Math.cos(Math.toRadians(degrees));
+		this.bigDecimalCosine = BigDecimal.valueOf(Math.cos(MathUtility
+				.convertDegreesToRadians(this.degrees).doubleValue()));
+	}
+
+	/**
+	 * Returns a shared {@code Twilight} for the degrees. The four constants
+	 * are returned for their degrees, and up to 256 other degrees are kept so
+	 * that repeated calls do not create new instances.
+	 * 
+	 * @param degrees
+	 *            The degrees of the zenith
+	 * @return The {@code Twilight} with the given degrees
+	 */
+	public static Twilight valueOf(double degrees) {
+		for (Twilight constant : CONSTANTS) {
+			if (constant.degrees.doubleValue() == degrees) {
+				return constant;
+			}
+		}
+		Double key = Double.valueOf(degrees);
+		Twilight twilight = INTERNED.get(key);
+		if (twilight == null) {
+			twilight = new Twilight(degrees);
+			Twilight previous = INTERNED.putIfAbsent(key, twilight);
+			if (previous != null) {
+				twilight = previous;
+			}
+		}
+		return twilight;
 	}
 
 	/**
@@ -101,4 +140,18 @@ public class Twilight {
 	public BigDecimal degrees() {
 		return degrees;
 	}
+
+	/*
+	 * The cosine of the zenith for the primitive double calculation
+	 */
+	double cosine() {
+		return cosine;
+	}
+
+	/*
+	 * The cosine of the zenith for the BigDecimal calculation
+	 */
+	BigDecimal bigDecimalCosine() {
+		return bigDecimalCosine;
+	}
 }
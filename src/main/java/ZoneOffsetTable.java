@@ -0,0 +1,349 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package main.java;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * The {@link ZoneOffsetTable} class holds the UTC offsets of one time zone
+ * during one year. The transitions of the zone (daylight saving time or a
+ * change of its standard offset) are found once when the table is built, and
+ * the offset, the daylight saving state and the local date of an instant are
+ * then looked up with a binary search over the transitions instead of asking
+ * the {@code TimeZone} or a {@code Calendar} to recompute them.
+ * 
+ * A table covers the instants of its year plus a margin of two days on
+ * each side, and answers for any other instant by asking its
+ * {@code TimeZone}. The tables are immutable and shared:
+ * {@link #getInstance(TimeZone, int)} keeps the most used of them, keyed by
+ * the time zone identifier and the year.
+ * 
+ * @version 1.0
+ */
+public final class ZoneOffsetTable {
+	/* The maximum number of tables shared by getInstance */
+	private static final int MAXIMUM_SIZE = 256;
+	private static final ClockMap<Key, ZoneOffsetTable> TABLES =
+			new ClockMap<Key, ZoneOffsetTable>(MAXIMUM_SIZE);
+
+	private static final long MILLIS_PER_DAY = 86400000L;
+	/* The interval of the search for transitions, shorter than any DST */
+	private static final long SAMPLE_MILLIS = 6 * 3600000L;
+	private static final BigDecimal MILLIS_PER_HOUR = new BigDecimal(3600000);
+
+	private final TimeZone timeZone;
+	private final int year;
+	/* The epoch day of January 1 and the length of the year and the last */
+	private final long firstEpochDay;
+	private final int lengthOfYear;
+	private final int lengthOfPreviousYear;
+	/* The instants covered by the table, from the start until the end */
+	private final long startMillis;
+	private final long endMillis;
+	/* The instant each segment after the first starts at */
+	private final long[] transitions;
+	/* The offsets of each segment, one more than the transitions */
+	private final int[] offsets;
+	private final int[] rawOffsets;
+	private final boolean[] daylight;
+	private final BigDecimal[] rawOffsetHours;
+
+	private ZoneOffsetTable(TimeZone timeZone, int year) {
+		this.timeZone = timeZone;
+		this.year = year;
+		this.firstEpochDay = LocalDate.of(year, 1, 1).toEpochDay();
+		this.lengthOfYear = Year.isLeap(year) ? 366 : 365;
+		this.lengthOfPreviousYear = Year.isLeap(year - 1) ? 366 : 365;
+		this.startMillis = (firstEpochDay - 2) * MILLIS_PER_DAY;
+		this.endMillis = (firstEpochDay + lengthOfYear + 2) * MILLIS_PER_DAY;
+
+		Calendar calendar = new GregorianCalendar(timeZone);
+		long[] foundTransitions = new long[8];
+		int[] foundOffsets = new int[9];
+		int[] foundRawOffsets = new int[9];
+		boolean[] foundDaylight = new boolean[9];
+		int count = 0;
+		foundOffsets[0] = timeZone.getOffset(startMillis);
+		foundRawOffsets[0] = getRawOffset(calendar, startMillis);
+		foundDaylight[0] = timeZone.inDaylightTime(new Date(startMillis));
+		long previous = startMillis;
+		for (long sample = startMillis + SAMPLE_MILLIS; sample < endMillis;
+				sample += SAMPLE_MILLIS) {
+			if (isSameSegment(calendar, sample, foundOffsets[count],
+					foundRawOffsets[count], foundDaylight[count])) {
+				previous = sample;
+				continue;
+			}
+			// The segment changes in (low, high]
+			long low = previous;
+			long high = sample;
+			while ((high - low) > 1) {
+				long middle = (low + high) >>> 1;
+				if (isSameSegment(calendar, middle, foundOffsets[count],
+						foundRawOffsets[count], foundDaylight[count])) {
+					low = middle;
+				} else {
+					high = middle;
+				}
+			}
+			if (count == foundTransitions.length) {
+				foundTransitions = Arrays.copyOf(foundTransitions, count * 2);
+				foundOffsets = Arrays.copyOf(foundOffsets, (count * 2) + 1);
+				foundRawOffsets = Arrays.copyOf(foundRawOffsets,
+						(count * 2) + 1);
+				foundDaylight = Arrays.copyOf(foundDaylight, (count * 2) + 1);
+			}
+			foundTransitions[count++] = high;
+			foundOffsets[count] = timeZone.getOffset(high);
+			foundRawOffsets[count] = getRawOffset(calendar, high);
+			foundDaylight[count] = timeZone.inDaylightTime(new Date(high));
+			previous = high;
+			sample = high;
+		}
+		this.transitions = Arrays.copyOf(foundTransitions, count);
+		this.offsets = Arrays.copyOf(foundOffsets, count + 1);
+		this.rawOffsets = Arrays.copyOf(foundRawOffsets, count + 1);
+		this.daylight = Arrays.copyOf(foundDaylight, count + 1);
+		this.rawOffsetHours = new BigDecimal[count + 1];
+		for (int i = 0; i <= count; i++) {
+			rawOffsetHours[i] = new BigDecimal(rawOffsets[i]).divide(
+					MILLIS_PER_HOUR, new MathContext(2));
+		}
+	}
+
+	/**
+	 * Returns the table of a time zone for a year, building it on the first
+	 * request. A shared table is only returned while it was built from a time
+	 * zone with the same rules.
+	 * 
+	 * @param timeZone
+	 *            the {@code TimeZone} of the table
+	 * @param year
+	 *            the year of the table
+	 * @return The {@code ZoneOffsetTable} of the time zone and year
+	 */
+	public static ZoneOffsetTable getInstance(TimeZone timeZone, int year) {
+		Key key = new Key(timeZone.getID(), year);
+		ZoneOffsetTable table = TABLES.get(key);
+		if ((table != null) && table.timeZone.hasSameRules(timeZone)) {
+			return table;
+		}
+		table = new ZoneOffsetTable((TimeZone) timeZone.clone(), year);
+		ZoneOffsetTable previous = TABLES.putIfAbsent(key, table);
+		if ((previous != null) && previous.timeZone.hasSameRules(timeZone)) {
+			return previous;
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the table of a time zone for the year of an instant in that
+	 * time zone
+	 * 
+	 * @param timeZone
+	 *            the {@code TimeZone} of the table
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return The {@code ZoneOffsetTable} covering the instant
+	 */
+	static ZoneOffsetTable getInstance(TimeZone timeZone, long epochMillis) {
+		long epochDay = Math.floorDiv(
+				epochMillis + timeZone.getOffset(epochMillis), MILLIS_PER_DAY);
+		return getInstance(timeZone, LocalDate.ofEpochDay(epochDay).getYear());
+	}
+
+	/**
+	 * Returns the year of the table
+	 * 
+	 * @return The year
+	 */
+	public int getYear() {
+		return year;
+	}
+
+	/**
+	 * Returns the number of transitions of the time zone found in the
+	 * instants covered by the table
+	 * 
+	 * @return The number of transitions
+	 */
+	public int getTransitionCount() {
+		return transitions.length;
+	}
+
+	/**
+	 * Returns whether the instant is covered by the table
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return true if the offsets of the instant are in the table
+	 */
+	public boolean contains(long epochMillis) {
+		return (epochMillis >= startMillis) && (epochMillis < endMillis);
+	}
+
+	/**
+	 * Returns the offset from UTC of the time zone at the instant, the same
+	 * as {@link TimeZone#getOffset(long)}
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return The offset in milliseconds including daylight saving time
+	 */
+	public int getOffset(long epochMillis) {
+		if (!contains(epochMillis)) {
+			return timeZone.getOffset(epochMillis);
+		}
+		return offsets[getSegment(epochMillis)];
+	}
+
+	/**
+	 * Returns the standard offset from UTC of the time zone at the instant,
+	 * the same as the {@code Calendar.ZONE_OFFSET} field
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return The offset in milliseconds without daylight saving time
+	 */
+	public int getRawOffset(long epochMillis) {
+		if (!contains(epochMillis)) {
+			return getRawOffset(new GregorianCalendar(timeZone), epochMillis);
+		}
+		return rawOffsets[getSegment(epochMillis)];
+	}
+
+	/**
+	 * Returns whether the time zone is in daylight saving time at the
+	 * instant, the same as {@link TimeZone#inDaylightTime(Date)}
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return true if daylight saving time is in effect
+	 */
+	public boolean inDaylightTime(long epochMillis) {
+		if (!contains(epochMillis)) {
+			return timeZone.inDaylightTime(new Date(epochMillis));
+		}
+		return daylight[getSegment(epochMillis)];
+	}
+
+	/**
+	 * Returns the number of days between 1970-01-01 and the local date of the
+	 * instant in the time zone
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return The local epoch day of the instant
+	 */
+	public long getLocalEpochDay(long epochMillis) {
+		return Math.floorDiv(epochMillis + getOffset(epochMillis),
+				MILLIS_PER_DAY);
+	}
+
+	/**
+	 * Returns the day of the year of the local date of the instant in the
+	 * time zone, the same as the {@code Calendar.DAY_OF_YEAR} field
+	 * 
+	 * @param epochMillis
+	 *            the instant in milliseconds since 1970-01-01T00:00:00Z
+	 * @return The day of the year, from 1 to 366
+	 */
+	public int getDayOfYear(long epochMillis) {
+		long epochDay = getLocalEpochDay(epochMillis);
+		int dayOfYear = (int) (epochDay - firstEpochDay) + 1;
+		if ((dayOfYear >= 1) && (dayOfYear <= lengthOfYear)) {
+			return dayOfYear;
+		} else if ((dayOfYear < 1) && (dayOfYear > -lengthOfPreviousYear)) {
+			return dayOfYear + lengthOfPreviousYear;
+		} else if ((dayOfYear > lengthOfYear)
+				&& (dayOfYear <= (lengthOfYear + 365))) {
+			return dayOfYear - lengthOfYear;
+		}
+		return LocalDate.ofEpochDay(epochDay).getDayOfYear();
+	}
+
+	/*
+	 * The standard offset of the time zone in hours, rounded to two
+	 * significant digits like MathUtility.getUTCOffset
+	 */
+	BigDecimal getRawOffsetHours(long epochMillis) {
+		if (!contains(epochMillis)) {
+			return new BigDecimal(getRawOffset(epochMillis)).divide(
+					MILLIS_PER_HOUR, new MathContext(2));
+		}
+		return rawOffsetHours[getSegment(epochMillis)];
+	}
+
+	private int getSegment(long epochMillis) {
+		int index = Arrays.binarySearch(transitions, epochMillis);
+		return (index >= 0) ? index + 1 : -(index + 1);
+	}
+
+	private boolean isSameSegment(Calendar calendar, long epochMillis,
+			int offset, int rawOffset, boolean inDaylightTime) {
+		return (timeZone.getOffset(epochMillis) == offset)
+				&& (getRawOffset(calendar, epochMillis) == rawOffset)
+				&& (timeZone.inDaylightTime(new Date(epochMillis))
+						== inDaylightTime);
+	}
+
+	private static int getRawOffset(Calendar calendar, long epochMillis) {
+		calendar.setTimeInMillis(epochMillis);
+		return calendar.get(Calendar.ZONE_OFFSET);
+	}
+
+	/* The time zone identifier and year of a table */
+	private static final class Key {
+		private final String timeZoneIdentifier;
+		private final int year;
+
+		Key(String timeZoneIdentifier, int year) {
+			this.timeZoneIdentifier = timeZoneIdentifier;
+			this.year = year;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) object;
+			return (year == other.year)
+					&& timeZoneIdentifier.equals(other.timeZoneIdentifier);
+		}
+
+		@Override
+		public int hashCode() {
+			return (31 * timeZoneIdentifier.hashCode()) + year;
+		}
+	}
+}
@@ -0,0 +1,482 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package server.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import main.java.CalculationMode;
+import main.java.ClockMap;
+import main.java.PackedSolarEvent;
+import main.java.SunriseSunsetCalculator;
+import main.java.SunriseSunsetCalculatorRegistry;
+import main.java.Twilight;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The {@link SunriseSunsetServer} class serves the sunrise and sunset of any
+ * location over HTTP with the {@code HttpServer} of the JDK:
+ * 
+ * <pre>
+ * GET  /sun?lat=39.9522&amp;lon=-75.1642&amp;tz=America/New_York&amp;date=2015-06-21&amp;twilight=civil
+ * POST /sun/batch?twilight=civil
+ * </pre>
+ * 
+ * The body of a batch is one {@code lat,lon,tz,date} line for each location
+ * (blank lines and lines starting with {@code #} are skipped). Both answer
+ * JSON: an object for a location, and an array of the objects of a batch in
+ * the order of its lines, with an {@code error} object for a line that could
+ * not be read. A batch is read and answered line by line, so its size does
+ * not matter, and the JSON is written straight to the response.
+ * 
+ * The locations are computed with {@link CalculationMode#DOUBLE} by the
+ * calculators of a {@link SunriseSunsetCalculatorRegistry}. Each exchange
+ * runs on its own virtual thread when the JDK has them (Java 21). Otherwise
+ * it runs on a pool of at most {@code 4 * availableProcessors()} platform
+ * threads, whose queue holds 1024 exchanges; beyond that the thread
+ * accepting the connections runs the exchange itself, so that no more
+ * connections are accepted until the pool catches up.
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetServer {
+	/* The port used when none is given on the command line */
+	public static final int DEFAULT_PORT = 8080;
+
+	private static final String SUN_PATH = "/sun";
+	private static final String BATCH_PATH = "/sun/batch";
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int NO_EVENT = SunriseSunsetCalculator.NO_EVENT;
+	/* The number of time zones kept once resolved */
+	private static final int MAXIMUM_TIME_ZONES = 1024;
+	/* The platform threads of the pool for each processor */
+	private static final int THREADS_PER_PROCESSOR = 4;
+	/* The exchanges waiting for a platform thread of the pool */
+	private static final int MAXIMUM_QUEUED_EXCHANGES = 1024;
+	/* The seconds an idle platform thread of the pool is kept */
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final boolean virtualThreads;
+	private final SunriseSunsetCalculatorRegistry registry;
+	private final ClockMap<ZoneId, TimeZone> timeZones =
+			new ClockMap<ZoneId, TimeZone>(MAXIMUM_TIME_ZONES);
+
+	/**
+	 * Creates a {@code SunriseSunsetServer} listening on an address, which is
+	 * started with {@link #start()}
+	 * 
+	 * @param address
+	 *            the {@code InetSocketAddress} to listen on, port 0 for any
+	 *            free port
+	 * @throws IOException
+	 *             if the address cannot be bound
+	 */
+	public SunriseSunsetServer(InetSocketAddress address) throws IOException {
+		this.registry = new SunriseSunsetCalculatorRegistry(
+				SunriseSunsetCalculatorRegistry.DEFAULT_MAXIMUM_SIZE,
+				CalculationMode.DOUBLE);
+		ExecutorService virtualExecutor = newVirtualThreadExecutor();
+		this.virtualThreads = (virtualExecutor != null);
+		this.executor = virtualThreads ? virtualExecutor
+				: newPlatformThreadExecutor();
+		this.server = HttpServer.create(address, 0);
+		server.createContext(SUN_PATH, new SunHandler());
+		server.createContext(BATCH_PATH, new BatchHandler());
+		server.setExecutor(executor);
+	}
+
+	/**
+	 * Starts the server on port {@value #DEFAULT_PORT}, or on the port given
+	 * as the first argument
+	 * 
+	 * @param args
+	 *            the port
+	 * @throws IOException
+	 *             if the port cannot be bound
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = (args.length > 0) ? Integer.parseInt(args[0])
+				: DEFAULT_PORT;
+		SunriseSunsetServer server = new SunriseSunsetServer(
+				new InetSocketAddress(port));
+		server.start();
+		System.out.println("Listening on port " + server.getPort()
+				+ (server.isVirtualThreads() ? " with virtual threads" : ""));
+	}
+
+	/**
+	 * Starts serving the requests
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Stops the server, waiting at most the given delay for the exchanges in
+	 * progress to finish
+	 * 
+	 * @param delaySeconds
+	 *            the longest wait in seconds
+	 */
+	public void stop(int delaySeconds) {
+		server.stop(delaySeconds);
+		executor.shutdown();
+	}
+
+	/**
+	 * Returns the port the server listens on
+	 * 
+	 * @return The bound port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns whether each exchange runs on its own virtual thread
+	 * 
+	 * @return true on Java 21 and later, false with a pool of platform
+	 *         threads
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/*
+	 * Executors.newVirtualThreadPerTaskExecutor() through reflection, as the
+	 * library is built for Java 11
+	 */
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method method = Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * A pool of platform threads bounded in threads and queued exchanges,
+	 * running an exchange on the accepting thread once both are full
+	 */
+	private static ExecutorService newPlatformThreadExecutor() {
+		int threads = THREADS_PER_PROCESSOR
+				* Runtime.getRuntime().availableProcessors();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads,
+				threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(MAXIMUM_QUEUED_EXCHANGES),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/* GET /sun with the location in the query */
+	private final class SunHandler implements HttpHandler {
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			try {
+				if (!SUN_PATH.equals(exchange.getRequestURI().getPath())) {
+					sendError(exchange, 404, "Unknown path");
+					return;
+				}
+				if (!"GET".equals(exchange.getRequestMethod())) {
+					sendError(exchange, 405, "Use GET");
+					return;
+				}
+				Map<String, String> query = parseQuery(exchange
+						.getRequestURI().getRawQuery());
+				StringBuilder json = new StringBuilder(160);
+				try {
+					Twilight twilight = parseTwilight(query.get("twilight"));
+					appendLocation(json, twilight, getRequired(query, "lat"),
+							getRequired(query, "lon"), getRequired(query, "tz"),
+							getRequired(query, "date"));
+				} catch (IllegalArgumentException | DateTimeException e) {
+					sendError(exchange, 400, e.getMessage());
+					return;
+				}
+				byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type",
+						"application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream output = exchange.getResponseBody()) {
+					output.write(body);
+				}
+			} finally {
+				exchange.close();
+			}
+		}
+	}
+
+	/* POST /sun/batch with a location on each line of the body */
+	private final class BatchHandler implements HttpHandler {
+		@Override
+		public void handle(HttpExchange exchange) throws IOException {
+			try {
+				if (!"POST".equals(exchange.getRequestMethod())) {
+					sendError(exchange, 405, "Use POST");
+					return;
+				}
+				Twilight twilight;
+				try {
+					twilight = parseTwilight(parseQuery(
+							exchange.getRequestURI().getRawQuery()).get(
+							"twilight"));
+				} catch (IllegalArgumentException e) {
+					sendError(exchange, 400, e.getMessage());
+					return;
+				}
+				exchange.getResponseHeaders().set("Content-Type",
+						"application/json");
+				// A length of 0 streams the response in chunks
+				exchange.sendResponseHeaders(200, 0);
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader(exchange.getRequestBody(),
+								StandardCharsets.UTF_8), BUFFER_SIZE);
+						Writer writer = new BufferedWriter(
+								new OutputStreamWriter(
+										exchange.getResponseBody(),
+										StandardCharsets.UTF_8), BUFFER_SIZE)) {
+					writeBatch(reader, writer, twilight);
+				}
+			} finally {
+				exchange.close();
+			}
+		}
+	}
+
+	private void writeBatch(BufferedReader reader, Writer writer,
+			Twilight twilight) throws IOException {
+		StringBuilder json = new StringBuilder(256);
+		writer.write('[');
+		boolean first = true;
+		int lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || (line.charAt(0) == '#')) {
+				continue;
+			}
+			json.setLength(0);
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			int length = json.length();
+			try {
+				String[] fields = line.split(",", -1);
+				if (fields.length != 4) {
+					throw new IllegalArgumentException(
+							"Expected lat,lon,tz,date");
+				}
+				appendLocation(json, twilight, fields[0].trim(),
+						fields[1].trim(), fields[2].trim(), fields[3].trim());
+			} catch (IllegalArgumentException | DateTimeException e) {
+				json.setLength(length);
+				json.append("{\"line\":").append(lineNumber)
+						.append(",\"error\":");
+				appendString(json, e.getMessage());
+				json.append('}');
+			}
+			writer.append(json);
+		}
+		writer.write(']');
+	}
+
+	/* Computes a location and appends its JSON object */
+	private void appendLocation(StringBuilder json, Twilight twilight,
+			String latitudeText, String longitudeText, String zone,
+			String dateText) {
+		double latitude = parseCoordinate(latitudeText, "lat", 90);
+		double longitude = parseCoordinate(longitudeText, "lon", 180);
+		ZoneId zoneId = ZoneId.of(zone);
+		LocalDate date = LocalDate.parse(dateText);
+		TimeZone timeZone = getTimeZone(zoneId);
+		SunriseSunsetCalculator calculator = registry.getCalculator(latitude,
+				longitude, timeZone);
+		int sunrise = getLocalMinutes(
+				calculator.computeSunriseEvent(twilight, date), timeZone);
+		int sunset = getLocalMinutes(
+				calculator.computeSunsetEvent(twilight, date), timeZone);
+
+		json.append("{\"lat\":").append(latitude).append(",\"lon\":")
+				.append(longitude).append(",\"tz\":");
+		appendString(json, zoneId.getId());
+		json.append(",\"date\":\"").append(date).append("\",\"sunrise\":");
+		appendMinutes(json, sunrise);
+		json.append(",\"sunset\":");
+		appendMinutes(json, sunset);
+		json.append('}');
+	}
+
+	/* Shares the TimeZone of each zone between the requests */
+	private TimeZone getTimeZone(ZoneId zoneId) {
+		TimeZone timeZone = timeZones.get(zoneId);
+		if (timeZone == null) {
+			timeZone = TimeZone.getTimeZone(zoneId);
+			TimeZone previous = timeZones.putIfAbsent(zoneId, timeZone);
+			if (previous != null) {
+				timeZone = previous;
+			}
+		}
+		return timeZone;
+	}
+
+	/* The minutes of the local day of a packed event, or NO_EVENT */
+	private static int getLocalMinutes(long packedEvent, TimeZone timeZone) {
+		if (!PackedSolarEvent.hasEvent(packedEvent)) {
+			return NO_EVENT;
+		}
+		long epochSecond = PackedSolarEvent.epochSecond(packedEvent);
+		long localSecond = epochSecond
+				+ (timeZone.getOffset(epochSecond * 1000) / 1000);
+		return (int) (Math.floorMod(localSecond, 86400L) / 60);
+	}
+
+	private static void appendMinutes(StringBuilder json, int minutes) {
+		if (minutes == NO_EVENT) {
+			json.append("null");
+			return;
+		}
+		int hours = minutes / 60;
+		int minute = minutes % 60;
+		json.append('"').append((char) ('0' + (hours / 10)))
+				.append((char) ('0' + (hours % 10))).append(':')
+				.append((char) ('0' + (minute / 10)))
+				.append((char) ('0' + (minute % 10))).append('"');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if ((c == '"') || (c == '\\')) {
+				json.append('\\').append(c);
+			} else if (c < ' ') {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	private static void sendError(HttpExchange exchange, int status,
+			String message) throws IOException {
+		StringBuilder json = new StringBuilder("{\"error\":");
+		appendString(json, (message == null) ? "Invalid request" : message);
+		json.append('}');
+		byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(body);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new HashMap<String, String>();
+		if (rawQuery == null) {
+			return query;
+		}
+		for (String parameter : rawQuery.split("&")) {
+			int equals = parameter.indexOf('=');
+			if (equals > 0) {
+				query.put(URLDecoder.decode(parameter.substring(0, equals),
+						StandardCharsets.UTF_8), URLDecoder.decode(
+						parameter.substring(equals + 1),
+						StandardCharsets.UTF_8));
+			}
+		}
+		return query;
+	}
+
+	private static String getRequired(Map<String, String> query, String name) {
+		String value = query.get(name);
+		if ((value == null) || value.isEmpty()) {
+			throw new IllegalArgumentException("Missing parameter " + name);
+		}
+		return value;
+	}
+
+	private static double parseCoordinate(String text, String name,
+			double limit) {
+		double value;
+		try {
+			value = Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid " + name + " " + text);
+		}
+		if (!(Math.abs(value) <= limit)) {
+			throw new IllegalArgumentException("Invalid " + name + " " + text);
+		}
+		return value;
+	}
+
+	private static Twilight parseTwilight(String name) {
+		if (name == null) {
+			return Twilight.OFFICIAL;
+		}
+		switch (name.toLowerCase(Locale.ROOT)) {
+		case "official":
+			return Twilight.OFFICIAL;
+		case "civil":
+			return Twilight.CIVIL;
+		case "nautical":
+			return Twilight.NAUTICAL;
+		case "astronomical":
+			return Twilight.ASTRONOMICAL;
+		default:
+			throw new IllegalArgumentException("Unknown twilight " + name);
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import main.java.CalculationMode;
+import main.java.DaylightScheduler;
+import main.java.DaylightScheduler.Registration;
+import main.java.PackedSolarEvent;
+import main.java.SolarEvent;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The {@link DaylightSchedulerTest} class tests the functionality within the
+ * {@link DaylightScheduler} class
+ * 
+ * @version 1.0
+ */
+public class DaylightSchedulerTest {
+	private static final SunriseSunsetCalculator PHILADELPHIA =
+			new SunriseSunsetCalculator("America/New_York", new BigDecimal(
+					"39.9522"), new BigDecimal("-75.1642"),
+					CalculationMode.DOUBLE);
+
+	private DaylightScheduler scheduler;
+
+	@After
+	public void tearDown() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	/**
+	 * {@link main.java.DaylightScheduler#schedule(SunriseSunsetCalculator, Twilight, boolean, Duration, Runnable)}
+	 */
+	@Test
+	public void testFiresAtEventPlusOffset() throws InterruptedException {
+		scheduler = new DaylightScheduler(10, Clock.systemUTC(), null);
+		scheduler.start();
+		long now = System.currentTimeMillis();
+		long sunset = getNextSunset(now);
+		Duration offset = Duration.ofMillis((now + 300) - sunset);
+		final CountDownLatch fired = new CountDownLatch(1);
+		final long[] firedAt = new long[1];
+		Registration registration = scheduler.schedule(PHILADELPHIA,
+				Twilight.OFFICIAL, false, offset, new Runnable() {
+					@Override
+					public void run() {
+						firedAt[0] = System.currentTimeMillis();
+						fired.countDown();
+					}
+				});
+		assertTrue(fired.await(5, TimeUnit.SECONDS));
+		assertTrue(firedAt[0] >= (now + 300));
+
+		/* The next firing is the sunset of the next day plus the offset */
+		long nextSunset = getNextSunset(sunset);
+		waitFor(registration, nextSunset + offset.toMillis());
+		assertEquals(1, scheduler.getPendingCount());
+		registration.cancel();
+		assertTrue(registration.isCancelled());
+	}
+
+	/**
+	 * Tests that a cancelled registration does not fire
+	 */
+	@Test
+	public void testCancel() throws InterruptedException {
+		scheduler = new DaylightScheduler(10, Clock.systemUTC(), null);
+		scheduler.start();
+		long now = System.currentTimeMillis();
+		Duration offset = Duration.ofMillis((now + 200) - getNextSunset(now));
+		final AtomicInteger cancelledRuns = new AtomicInteger();
+		final CountDownLatch fired = new CountDownLatch(1);
+		Registration cancelled = scheduler.schedule(PHILADELPHIA,
+				SolarEvent.OFFICIAL_SUNSET, offset, new Runnable() {
+					@Override
+					public void run() {
+						cancelledRuns.incrementAndGet();
+					}
+				});
+		scheduler.schedule(PHILADELPHIA, SolarEvent.OFFICIAL_SUNSET,
+				offset.plusMillis(100), new Runnable() {
+					@Override
+					public void run() {
+						fired.countDown();
+					}
+				});
+		cancelled.cancel();
+		assertTrue(fired.await(5, TimeUnit.SECONDS));
+		assertEquals(0, cancelledRuns.get());
+		assertFalse(scheduler.getPendingCount() > 1);
+	}
+
+	/**
+	 * Tests that many registrations all fire once and wait for the next day
+	 */
+	@Test
+	public void testManyRegistrations() throws InterruptedException {
+		scheduler = new DaylightScheduler(10, Clock.systemUTC(), null);
+		int count = 100000;
+		long now = System.currentTimeMillis();
+		long sunset = getNextSunset(now);
+		final AtomicInteger runs = new AtomicInteger();
+		final CountDownLatch fired = new CountDownLatch(count);
+		Runnable callback = new Runnable() {
+			@Override
+			public void run() {
+				runs.incrementAndGet();
+				fired.countDown();
+			}
+		};
+		for (int i = 0; i < count; i++) {
+			scheduler.schedule(PHILADELPHIA, SolarEvent.OFFICIAL_SUNSET,
+					Duration.ofMillis((now + 500 + (i % 1000)) - sunset),
+					callback);
+		}
+		scheduler.start();
+		assertTrue(fired.await(20, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertEquals(count, runs.get());
+		assertEquals(count, scheduler.getPendingCount());
+	}
+
+	/**
+	 * Tests that the days without a sunset are skipped
+	 */
+	@Test
+	public void testPolarDay() throws InterruptedException {
+		Instant june = LocalDate.of(2015, 6, 1).atStartOfDay()
+				.toInstant(ZoneOffset.UTC);
+		scheduler = new DaylightScheduler(1000, Clock.fixed(june,
+				ZoneOffset.UTC), null);
+		SunriseSunsetCalculator longyearbyen = new SunriseSunsetCalculator(
+				"Arctic/Longyearbyen", new BigDecimal("78.2232"),
+				new BigDecimal("15.6267"), CalculationMode.DOUBLE);
+		Registration registration = scheduler.schedule(longyearbyen,
+				SolarEvent.OFFICIAL_SUNSET, Duration.ZERO, new Runnable() {
+					@Override
+					public void run() {
+					}
+				});
+		scheduler.start();
+		long firstSunset = getNextSunset(longyearbyen, june.toEpochMilli());
+		waitFor(registration, firstSunset);
+		assertTrue(Instant.ofEpochMilli(firstSunset).isAfter(
+				LocalDate.of(2015, 8, 1).atStartOfDay()
+						.toInstant(ZoneOffset.UTC)));
+	}
+
+	private static long getNextSunset(long afterMillis) {
+		return getNextSunset(PHILADELPHIA, afterMillis);
+	}
+
+	private static long getNextSunset(SunriseSunsetCalculator calculator,
+			long afterMillis) {
+		LocalDate date = Instant.ofEpochMilli(afterMillis)
+				.atZone(ZoneOffset.UTC).toLocalDate().minusDays(1);
+		while (true) {
+			long event = calculator.computeSunsetEvent(Twilight.OFFICIAL, date);
+			long sunset = PackedSolarEvent.epochSecond(event) * 1000;
+			if (PackedSolarEvent.hasEvent(event) && (sunset > afterMillis)) {
+				return sunset;
+			}
+			date = date.plusDays(1);
+		}
+	}
+
+	private static void waitFor(Registration registration, long firingMillis)
+			throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			Instant next = registration.getNextFiring();
+			if ((next != null) && (next.toEpochMilli() == firingMillis)) {
+				return;
+			}
+			Thread.sleep(10);
+		}
+		assertNotNull(registration.getNextFiring());
+		assertEquals(firingMillis, registration.getNextFiring().toEpochMilli());
+	}
+}
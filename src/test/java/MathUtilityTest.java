@@ -0,0 +1,109 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import main.java.MathUtility;
+
+import org.junit.Test;
+
+/**
+ * The {@link MathUtilityTest} class tests the functionality within the
+ * {@link MathUtility} class
+ * 
+ * @version 1.0
+ */
+public class MathUtilityTest {
+	private static final int SAMPLES = 1000000;
+
+	/**
+	 * {@link main.java.MathUtility#fastSin(double)}
+	 * {@link main.java.MathUtility#fastCos(double)}
+	 */
+	@Test
+	public void testFastSinAndCos() {
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			double radians = (random.nextDouble() * 2000) - 1000;
+			assertEquals(Math.sin(radians), MathUtility.fastSin(radians),
+					1e-13);
+			assertEquals(Math.cos(radians), MathUtility.fastCos(radians),
+					1e-13);
+		}
+		assertEquals(0, MathUtility.fastSin(0), 0);
+		assertEquals(1, MathUtility.fastCos(0), 0);
+	}
+
+	/**
+	 * {@link main.java.MathUtility#fastTan(double)}
+	 */
+	@Test
+	public void testFastTan() {
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			double radians = (random.nextDouble() * 2000) - 1000;
+			double tan = Math.tan(radians);
+			if (Math.abs(Math.cos(radians)) > 1e-3) {
+				assertEquals(tan, MathUtility.fastTan(radians),
+						Math.abs(tan) * 1e-13);
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.MathUtility#fastAtan(double)}
+	 */
+	@Test
+	public void testFastAtan() {
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			double value = (random.nextDouble() - 0.5)
+					* Math.exp(random.nextGaussian() * 5);
+			assertEquals(Math.atan(value), MathUtility.fastAtan(value), 1e-15);
+		}
+		assertEquals(Math.PI / 2,
+				MathUtility.fastAtan(Double.POSITIVE_INFINITY), 1e-15);
+		assertEquals(-Math.PI / 2,
+				MathUtility.fastAtan(Double.NEGATIVE_INFINITY), 1e-15);
+	}
+
+	/**
+	 * {@link main.java.MathUtility#fastAcos(double)}
+	 */
+	@Test
+	public void testFastAcos() {
+		Random random = new Random(42);
+		for (int i = 0; i < SAMPLES; i++) {
+			double value = (random.nextDouble() * 2) - 1;
+			assertEquals(Math.acos(value), MathUtility.fastAcos(value), 1e-14);
+		}
+		assertEquals(Math.PI, MathUtility.fastAcos(-1), 1e-15);
+		assertEquals(0, MathUtility.fastAcos(1), 0);
+		assertTrue(Double.isNaN(MathUtility.fastAcos(1.5)));
+	}
+}
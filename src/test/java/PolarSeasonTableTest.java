@@ -0,0 +1,175 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.PolarSeasonTable;
+import main.java.SolarDayType;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link PolarSeasonTableTest} class tests the functionality within the
+ * {@link PolarSeasonTable} class
+ * 
+ * @version 1.0
+ */
+public class PolarSeasonTableTest {
+
+	private static final Twilight[] TWILIGHTS = { Twilight.OFFICIAL,
+			Twilight.CIVIL, Twilight.NAUTICAL, Twilight.ASTRONOMICAL };
+	private static final String[] LONGITUDES = { "-179.5", "-75.1642", "0",
+			"15.6267", "179.9" };
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#getDayType(Twilight, LocalDate, boolean)}
+	 */
+	@Test
+	public void testDayTypeMatchesCalculation() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			// The day type is computed with doubles, which a BigDecimal event
+			// can disagree with on the last day of a polar season
+			if (mode == CalculationMode.BIG_DECIMAL) {
+				continue;
+			}
+			// The polar seasons lie above 48 degrees for every Twilight
+			for (double latitude = -90; latitude <= 90; latitude += 0.73) {
+				if (Math.abs(latitude) < 45) {
+					continue;
+				}
+				for (String longitude : LONGITUDES) {
+					SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+							"UTC", BigDecimal.valueOf(latitude),
+							new BigDecimal(longitude), mode);
+					for (Twilight twilight : TWILIGHTS) {
+						LocalDate date = LocalDate.of(2015, 1, 1);
+						for (; date.getYear() < 2017; date = date.plusDays(1)) {
+							assertEquals(mode + " " + latitude + " "
+									+ longitude + " " + date,
+									getDayType(calculator.computeSunriseEvent(
+											twilight, date)),
+									calculator.getDayType(twilight, date, true));
+							assertEquals(mode + " " + latitude + " "
+									+ longitude + " " + date,
+									getDayType(calculator.computeSunsetEvent(
+											twilight, date)),
+									calculator.getDayType(twilight, date, false));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#getNextEventDate(Twilight, LocalDate, boolean)}
+	 */
+	@Test
+	public void testNextEventDateMatchesScan() {
+		String[] latitudes = { "90", "-89.9", "78.2232", "-69.5", "66.56",
+				"64.1", "39.9522" };
+		for (String latitude : latitudes) {
+			for (String longitude : LONGITUDES) {
+				SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+						"UTC", new BigDecimal(latitude),
+						new BigDecimal(longitude), CalculationMode.DOUBLE);
+				for (Twilight twilight : TWILIGHTS) {
+					LocalDate date = LocalDate.of(2015, 1, 1);
+					for (; date.getYear() < 2017; date = date.plusDays(3)) {
+						assertEquals(latitude + " " + longitude + " " + date,
+								scan(calculator, twilight, date, true),
+								calculator.getNextEventDate(twilight, date,
+										true));
+						assertEquals(latitude + " " + longitude + " " + date,
+								scan(calculator, twilight, date, false),
+								calculator.getNextEventDate(twilight, date,
+										false));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.PolarSeasonTable#getInstance(Twilight, double)}
+	 */
+	@Test
+	public void testSharedInstance() {
+		PolarSeasonTable table = PolarSeasonTable.getInstance(Twilight.CIVIL,
+				78.2232);
+		assertSame(table, PolarSeasonTable.getInstance(Twilight.CIVIL, 78.24));
+		assertEquals(78.0, PolarSeasonTable.getInstance(Twilight.CIVIL, 78.1)
+				.getMinimumLatitude(), 0);
+		assertEquals(89.75, PolarSeasonTable.getInstance(Twilight.CIVIL, 90)
+				.getMinimumLatitude(), 0);
+		// The midsummer of the north pole is one season
+		PolarSeasonTable pole = PolarSeasonTable.getInstance(Twilight.OFFICIAL,
+				90);
+		assertEquals(SolarDayType.POLAR_DAY, pole.getDayType(172, true));
+		assertEquals(SolarDayType.POLAR_NIGHT, pole.getDayType(355, false));
+		int seasonEnd = pole.getSeasonEnd(172, true);
+		assertEquals(SolarDayType.POLAR_DAY, pole.getDayType(seasonEnd, true));
+		assertEquals(0, pole.getSeasonEnd(seasonEnd + 2, true));
+		// The equator never has a polar day or night
+		PolarSeasonTable equator = PolarSeasonTable.getInstance(
+				Twilight.ASTRONOMICAL, 0);
+		for (int day = 1; day <= 366; day++) {
+			assertEquals(SolarDayType.NORMAL, equator.getDayType(day, true));
+			assertEquals(0, equator.getSeasonEnd(day, false));
+		}
+	}
+
+	private static SolarDayType getDayType(long packedEvent) {
+		if (PackedSolarEvent.hasEvent(packedEvent)) {
+			return SolarDayType.NORMAL;
+		}
+		if (PackedSolarEvent.status(packedEvent) == PackedSolarEvent.POLAR_DAY) {
+			return SolarDayType.POLAR_DAY;
+		}
+		return SolarDayType.POLAR_NIGHT;
+	}
+
+	private static LocalDate scan(SunriseSunsetCalculator calculator,
+			Twilight twilight, LocalDate date, boolean isSunrise) {
+		for (int day = 0; day <= 731; day++) {
+			LocalDate current = date.plusDays(day);
+			long packedEvent = isSunrise ? calculator.computeSunriseEvent(
+					twilight, current) : calculator.computeSunsetEvent(twilight,
+					current);
+			if (PackedSolarEvent.hasEvent(packedEvent)) {
+				return current;
+			}
+		}
+		return null;
+	}
+}
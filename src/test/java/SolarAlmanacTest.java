@@ -0,0 +1,152 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.TimeZone;
+
+import main.java.CalculationMode;
+import main.java.SolarAlmanac;
+import main.java.SolarAlmanacWriter;
+import main.java.SolarEvent;
+import main.java.SunriseSunsetCalculator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SolarAlmanacTest} class tests the functionality within the
+ * {@link SolarAlmanac} and {@link SolarAlmanacWriter} classes
+ * 
+ * @version 1.0
+ */
+public class SolarAlmanacTest {
+	private static final double[] LATITUDES = { 39.9522, 78.2232, -33.8688,
+			-77.8419 };
+	private static final double[] LONGITUDES = { -75.1642, 15.6267, 151.2093,
+			166.6863 };
+	private static final TimeZone[] TIME_ZONES = {
+			TimeZone.getTimeZone("America/New_York"),
+			TimeZone.getTimeZone("Arctic/Longyearbyen"),
+			TimeZone.getTimeZone("Australia/Sydney"),
+			TimeZone.getTimeZone("Antarctica/McMurdo") };
+
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("almanac", ".bin");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * {@link main.java.SolarAlmanac#getMinutes(int, int, SolarEvent)}
+	 */
+	@Test
+	public void testAlmanacMatchesCalculator() throws IOException {
+		new SolarAlmanacWriter(CalculationMode.DOUBLE).write(2016, LATITUDES,
+				LONGITUDES, TIME_ZONES, file);
+		SolarAlmanac almanac = new SolarAlmanac(file);
+		assertEquals(2016, almanac.getYear());
+		assertEquals(LATITUDES.length, almanac.getLocationCount());
+		assertEquals(366, almanac.getDayCount());
+		assertEquals(SolarAlmanac.HEADER_SIZE + (LATITUDES.length * 16)
+				+ (LATITUDES.length * 366 * 8 * 2), Files.size(file));
+
+		int[] minutes = new int[366];
+		for (int location = 0; location < LATITUDES.length; location++) {
+			assertEquals(LATITUDES[location], almanac.getLatitude(location), 0);
+			assertEquals(LONGITUDES[location], almanac.getLongitude(location),
+					0);
+			SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+					TIME_ZONES[location], new BigDecimal(LATITUDES[location]),
+					new BigDecimal(LONGITUDES[location]),
+					CalculationMode.DOUBLE);
+			for (SolarEvent event : SolarEvent.values()) {
+				if (event.isSunrise()) {
+					calculator.computeSunriseMinutes(event.twilight(),
+							LocalDate.of(2016, 1, 1), minutes);
+				} else {
+					calculator.computeSunsetMinutes(event.twilight(),
+							LocalDate.of(2016, 1, 1), minutes);
+				}
+				for (int day = 1; day <= 366; day++) {
+					assertEquals(event + " of " + location + " on " + day,
+							minutes[day - 1], almanac.getMinutes(location,
+									day, event));
+				}
+			}
+		}
+
+		/* Philadelphia on 2016-06-20 and the polar day of Longyearbyen */
+		assertEquals((5 * 60) + 32,
+				almanac.getMinutes(0, 172, SolarEvent.OFFICIAL_SUNRISE));
+		assertEquals(SolarAlmanac.NO_EVENT,
+				almanac.getMinutes(1, 172, SolarEvent.OFFICIAL_SUNSET));
+	}
+
+	/**
+	 * Tests the lookups outside of the almanac
+	 */
+	@Test
+	public void testOutOfBounds() throws IOException {
+		new SolarAlmanacWriter().write(2015, LATITUDES, LONGITUDES,
+				TIME_ZONES, file);
+		SolarAlmanac almanac = new SolarAlmanac(file);
+		assertEquals(365, almanac.getDayCount());
+		try {
+			almanac.getMinutes(0, 366, SolarEvent.CIVIL_SUNSET);
+			fail("Expected an IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected
+		}
+		try {
+			almanac.getMinutes(LATITUDES.length, 1, SolarEvent.CIVIL_SUNSET);
+			fail("Expected an IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Tests that a file which is not an almanac is rejected
+	 */
+	@Test(expected = IOException.class)
+	public void testNotAnAlmanac() throws IOException {
+		Files.write(file, new byte[64]);
+		new SolarAlmanac(file);
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import main.java.CalculationMode;
+import main.java.SolarAlmanacWriter;
+import main.java.SolarGridGenerator;
+import main.java.SunriseSunsetBatchCalculator;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SolarCalculationEventTest} class tests the JDK Flight Recorder
+ * events of the {@link SunriseSunsetCalculator} and the
+ * {@link SunriseSunsetBatchCalculator}
+ * 
+ * @version 1.0
+ */
+public class SolarCalculationEventTest {
+	private static final String BULK = "main.java.SolarBulkCalculation";
+	private static final String CALL = "main.java.SolarCalculation";
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseMinutes(Twilight[], LocalDate, int[][])}
+	 * {@link main.java.SunriseSunsetBatchCalculator#computeSunsetEpochSeconds(Twilight, LocalDate, long[])}
+	 */
+	@Test
+	public void testBulkEvents() throws Exception {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"America/New_York", new BigDecimal("39.9522"), new BigDecimal(
+						"-75.1642"), CalculationMode.DOUBLE);
+		SunriseSunsetBatchCalculator batch = new SunriseSunsetBatchCalculator(
+				new double[] { 10, 20, 30 }, new double[] { 0, 0, 0 });
+		List<RecordedEvent> events = record(BULK, new Runnable() {
+			@Override
+			public void run() {
+				calculator.computeSunriseMinutes(new Twilight[] {
+						Twilight.OFFICIAL, Twilight.CIVIL },
+						LocalDate.of(2015, 3, 1), new int[2][31]);
+				batch.computeSunsetEpochSeconds(Twilight.NAUTICAL,
+						LocalDate.of(2015, 6, 21), new long[3]);
+			}
+		});
+
+		assertEquals(2, events.size());
+		RecordedEvent sunrises = events.get(0);
+		assertEquals("SunriseSunsetCalculator.computeSunriseMinutes",
+				sunrises.getString("operation"));
+		assertEquals(1, sunrises.getInt("locationCount"));
+		assertEquals(39.9522, sunrises.getDouble("latitude"), 1e-9);
+		assertEquals("America/New_York", sunrises.getString("timeZone"));
+		assertEquals("2015-03-01", sunrises.getString("startDate"));
+		assertEquals(31, sunrises.getInt("dayCount"));
+		assertEquals("90.8333,96.0", sunrises.getString("twilights"));
+		assertTrue(sunrises.getLong("allocatedBytes") >= 0);
+
+		RecordedEvent sunsets = events.get(1);
+		assertEquals("SunriseSunsetBatchCalculator.computeSunsetEvents",
+				sunsets.getString("operation"));
+		assertEquals(3, sunsets.getInt("locationCount"));
+		assertEquals(1, sunsets.getInt("dayCount"));
+		assertEquals("102.0", sunsets.getString("twilights"));
+	}
+
+	/**
+	 * {@link main.java.SolarGridGenerator#generate(LocalDate, LocalDate, Path)}
+	 * {@link main.java.SolarAlmanacWriter#write(int, double[], double[], TimeZone[], Path)}
+	 */
+	@Test
+	public void testOneEventPerOperation() throws Exception {
+		SolarGridGenerator generator = new SolarGridGenerator(30);
+		Path grid = Files.createTempFile("grid", ".bin");
+		Path almanac = Files.createTempFile("almanac", ".bin");
+		List<RecordedEvent> events;
+		try {
+			events = record(BULK, new Runnable() {
+				@Override
+				public void run() {
+					try {
+						generator.generate(LocalDate.of(2015, 6, 20),
+								LocalDate.of(2015, 6, 22), grid);
+						new SolarAlmanacWriter().write(2016, new double[] {
+								39.9522, 51.5074 }, new double[] { -75.1642,
+								-0.1278 }, new TimeZone[] {
+								TimeZone.getTimeZone("America/New_York"),
+								TimeZone.getTimeZone("Europe/London") },
+								almanac);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}
+			});
+		} finally {
+			Files.delete(grid);
+			Files.delete(almanac);
+		}
+
+		assertEquals(2, events.size());
+		RecordedEvent gridEvent = events.get(0);
+		assertEquals("SolarGridGenerator.generate",
+				gridEvent.getString("operation"));
+		assertEquals(generator.getRows() * generator.getColumns(),
+				gridEvent.getInt("locationCount"));
+		assertEquals("2015-06-20", gridEvent.getString("startDate"));
+		assertEquals(3, gridEvent.getInt("dayCount"));
+		assertEquals("108.0,102.0,96.0,90.8333",
+				gridEvent.getString("twilights"));
+		assertTrue(gridEvent.getLong("allocatedBytes") > 0);
+
+		RecordedEvent almanacEvent = events.get(1);
+		assertEquals("SolarAlmanacWriter.write",
+				almanacEvent.getString("operation"));
+		assertEquals(2, almanacEvent.getInt("locationCount"));
+		assertEquals("2016-01-01", almanacEvent.getString("startDate"));
+		assertEquals(366, almanacEvent.getInt("dayCount"));
+	}
+
+	/**
+	 * Tests that the sampled calls carry the intermediate values of a polar
+	 * day
+	 */
+	@Test
+	public void testSampledCalls() throws Exception {
+		SunriseSunsetCalculator svalbard = new SunriseSunsetCalculator(
+				"Europe/Oslo", new BigDecimal("78.2232"), new BigDecimal(
+						"15.6267"), CalculationMode.EPHEMERIS_TABLE);
+		LocalDate date = LocalDate.of(2015, 6, 21);
+		List<RecordedEvent> events = record(CALL, new Runnable() {
+			@Override
+			public void run() {
+				/* One call in 1000 is sampled by default */
+				for (int i = 0; i < 50000; i++) {
+					svalbard.computeSunriseEvent(Twilight.OFFICIAL, date);
+				}
+			}
+		});
+
+		assertTrue(events.size() > 0);
+		assertTrue(events.size() < 50000);
+		for (RecordedEvent event : events) {
+			assertEquals(78.2232, event.getDouble("latitude"), 1e-9);
+			assertEquals("EPHEMERIS_TABLE", event.getString("mode"));
+			assertEquals(true, event.getBoolean("sunrise"));
+			assertEquals(172, event.getInt("dayOfYear"));
+			assertEquals(90.8333, event.getDouble("zenith"), 1e-9);
+			/* The sun stays above the horizon */
+			assertTrue(event.getDouble("cosineSunLocalHour") < -1);
+			assertTrue(event.getDouble("sunTrueLongitude") > 0);
+		}
+	}
+
+	private static List<RecordedEvent> record(String name, Runnable task)
+			throws Exception {
+		Path file = Files.createTempFile("solar", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(name).withoutStackTrace();
+			recording.start();
+			task.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+		try {
+			for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+				if (event.getEventType().getName().equals(name)) {
+					events.add(event);
+				}
+			}
+		} finally {
+			Files.delete(file);
+		}
+		return events;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import main.java.CalculationMode;
+import main.java.SolarCalculationStatistics;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SolarCalculationStatisticsTest} class tests the functionality
+ * within the {@link SolarCalculationStatistics} class
+ * 
+ * @version 1.0
+ */
+public class SolarCalculationStatisticsTest {
+	private final SolarCalculationStatistics statistics = SolarCalculationStatistics
+			.getInstance();
+
+	@Before
+	public void setup() {
+		// Enabled with -Dsunrisesunset.statistics=true by the test task
+		assumeTrue(statistics.isEnabled());
+		statistics.reset();
+	}
+
+	/**
+	 * {@link main.java.SolarCalculationStatistics#getCallCountsByTwilight()}
+	 */
+	@Test
+	public void testCountsByTwilightAndDirection() {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"America/New_York", new BigDecimal("39.9522"), new BigDecimal(
+						"-75.1642"), CalculationMode.DOUBLE);
+		LocalDate date = LocalDate.of(2015, 6, 21);
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2015, Calendar.JUNE, 21);
+		calculator.computeSunriseTime(Twilight.CIVIL, calendar);
+		calculator.computeSunsetCalendar(Twilight.CIVIL, calendar);
+		calculator.computeSunsetEvent(Twilight.OFFICIAL, date);
+		calculator.computeSunriseDateTime(new Twilight(93), date);
+
+		assertEquals(true, statistics.isEnabled());
+		assertEquals(4, statistics.getCallCount());
+		assertEquals(2, statistics.getSunriseCount());
+		assertEquals(2, statistics.getSunsetCount());
+		Map<String, Long> counts = statistics.getCallCountsByTwilight();
+		assertEquals(Long.valueOf(0), counts.get("ASTRONOMICAL"));
+		assertEquals(Long.valueOf(2), counts.get("CIVIL"));
+		assertEquals(Long.valueOf(1), counts.get("OFFICIAL"));
+		assertEquals(Long.valueOf(1), counts.get("OTHER"));
+		assertEquals(0, statistics.getNoEventCount());
+		assertEquals(0.0, statistics.getNoEventRate(), 0.0);
+	}
+
+	/**
+	 * {@link main.java.SolarCalculationStatistics#getNoEventRate()}
+	 */
+	@Test
+	public void testNoEventRate() {
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2015, Calendar.JUNE, 21);
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCalculator svalbard = new SunriseSunsetCalculator(
+					"Europe/Oslo", new BigDecimal("78.2232"), new BigDecimal(
+							"15.6267"), mode);
+			svalbard.computeSunriseTime(Twilight.OFFICIAL, calendar);
+			svalbard.computeSunsetEvent(Twilight.OFFICIAL,
+					LocalDate.of(2015, 6, 21));
+			svalbard.computeSunsetEvent(Twilight.OFFICIAL,
+					LocalDate.of(2015, 3, 1));
+			svalbard.computeSunsetEvent(Twilight.OFFICIAL,
+					LocalDate.of(2015, 3, 20));
+		}
+		int modes = CalculationMode.values().length;
+		assertEquals(4 * modes, statistics.getCallCount());
+		assertEquals(2 * modes, statistics.getNoEventCount());
+		assertEquals(0.5, statistics.getNoEventRate(), 1e-9);
+	}
+
+	/**
+	 * {@link main.java.SolarCalculationStatistics#getLatencyHistogram()}
+	 */
+	@Test
+	public void testLatencyHistogram() {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"GMT", new BigDecimal("51.5"), BigDecimal.ZERO,
+				CalculationMode.DOUBLE);
+		LocalDate date = LocalDate.of(2015, 1, 1);
+		for (int day = 0; day < 365; day++) {
+			calculator.computeSunriseEvent(Twilight.OFFICIAL,
+					date.plusDays(day));
+		}
+
+		long[] bounds = statistics.getLatencyBucketBounds();
+		long[] histogram = statistics.getLatencyHistogram();
+		assertEquals(bounds.length, histogram.length);
+		assertEquals(Long.MAX_VALUE, bounds[bounds.length - 1]);
+		long total = histogram[0];
+		for (int i = 1; i < bounds.length; i++) {
+			assertEquals(true, bounds[i] > bounds[i - 1]);
+			total += histogram[i];
+		}
+		assertEquals(365, total);
+		assertTrue(statistics.getAverageLatencyNanos() > 0);
+
+		statistics.reset();
+		assertEquals(0, statistics.getCallCount());
+		for (long count : statistics.getLatencyHistogram()) {
+			assertEquals(0, count);
+		}
+	}
+
+	/**
+	 * {@link main.java.SolarCalculationStatistics#register()}
+	 */
+	@Test
+	public void testPlatformMBean() throws Exception {
+		new SunriseSunsetCalculator("GMT", new BigDecimal("51.5"),
+				BigDecimal.ZERO).computeSunriseTime(Twilight.OFFICIAL,
+				Calendar.getInstance());
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(SolarCalculationStatistics.OBJECT_NAME);
+		SolarCalculationStatistics.register();
+		SolarCalculationStatistics.register();
+		assertEquals(true, server.isRegistered(name));
+		assertEquals(Long.valueOf(1), server.getAttribute(name, "CallCount"));
+		assertEquals(Long.valueOf(1),
+				server.getAttribute(name, "SunriseCount"));
+		assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.TimeZone;
+
+import main.java.CalculationMode;
+import main.java.SolarEphemerisTable;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SolarEphemerisTableTest} class tests the functionality within the
+ * {@link SolarEphemerisTable} class
+ * 
+ * @version 1.0
+ */
+public class SolarEphemerisTableTest {
+
+	/**
+	 * {@link main.java.SolarEphemerisTable#getDefault()}
+	 */
+	@Test
+	public void testDefaultTableIsShared() {
+		assertSame(SolarEphemerisTable.getDefault(),
+				SolarEphemerisTable.getDefault());
+		assertEquals(SolarEphemerisTable.DEFAULT_SAMPLES_PER_DAY,
+				SolarEphemerisTable.getDefault().getSamplesPerDay());
+	}
+
+	/**
+	 * Tests that a coarse and the default table interpolate the same values
+	 */
+	@Test
+	public void testInterpolation() {
+		SolarEphemerisTable coarse = new SolarEphemerisTable(4);
+		SolarEphemerisTable table = SolarEphemerisTable.getDefault();
+		for (double longitudeHour = 0.5; longitudeHour < 367.5;) {
+			assertEquals(table.getSinOfSunDeclination(longitudeHour),
+					coarse.getSinOfSunDeclination(longitudeHour), 1e-4);
+			assertEquals(table.getCosineOfSunDeclination(longitudeHour),
+					coarse.getCosineOfSunDeclination(longitudeHour), 1e-4);
+			double difference = Math.abs(table
+					.getRightAscension(longitudeHour)
+					- coarse.getRightAscension(longitudeHour));
+			assertEquals(0, Math.min(difference, 24 - difference), 1e-3);
+			longitudeHour += 0.37;
+		}
+	}
+
+	/**
+	 * Tests that the table gives the same minutes as the trigonometry
+	 */
+	@Test
+	public void testTableMatchesDoubleMode() {
+		SunriseSunsetCalculator direct = createCalculator(
+				CalculationMode.DOUBLE);
+		SunriseSunsetCalculator table = createCalculator(
+				CalculationMode.EPHEMERIS_TABLE);
+		Twilight[] twilights = { Twilight.ASTRONOMICAL, Twilight.OFFICIAL };
+		int[][] expected = new int[2][366];
+		int[][] actual = new int[2][366];
+		direct.computeSunriseMinutes(twilights, LocalDate.of(2016, 1, 1),
+				expected);
+		table.computeSunriseMinutes(twilights, LocalDate.of(2016, 1, 1),
+				actual);
+		for (int i = 0; i < twilights.length; i++) {
+			for (int day = 0; day < 366; day++) {
+				assertEquals(expected[i][day], actual[i][day], 1);
+			}
+		}
+	}
+
+	/**
+	 * Tests a longitude hour outside of the table
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutsideOfTable() {
+		SolarEphemerisTable.getDefault().getRightAscension(400);
+	}
+
+	private SunriseSunsetCalculator createCalculator(CalculationMode mode) {
+		return new SunriseSunsetCalculator(
+				TimeZone.getTimeZone("Europe/London"),
+				new BigDecimal("51.5073"), new BigDecimal("-0.1277"), mode);
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import main.java.CalculationMode;
+import main.java.SolarEvent;
+import main.java.SolarEventPublisher;
+import main.java.SolarEventRecord;
+import main.java.SunriseSunsetCalculator;
+
+import org.junit.Test;
+
+/**
+ * The {@link SolarEventPublisherTest} class tests the functionality within
+ * the {@link SolarEventPublisher} class
+ * 
+ * @version 1.0
+ */
+public class SolarEventPublisherTest {
+
+	/**
+	 * {@link main.java.SolarEventPublisher#subscribe(Flow.Subscriber)}
+	 */
+	@Test
+	public void testRecordsMatchCalculator() throws InterruptedException {
+		List<SunriseSunsetCalculator> calculators = getCalculators();
+		LocalDate startDate = LocalDate.of(2015, 12, 20);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SolarEventPublisher publisher = new SolarEventPublisher(
+					calculators, startDate, startDate.plusDays(19), executor);
+			RecordingSubscriber subscriber = new RecordingSubscriber(7);
+			publisher.subscribe(subscriber);
+			assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+			assertEquals(null, subscriber.error);
+			assertEquals(publisher.getRecordCount(), subscriber.records.size());
+			int index = 0;
+			for (int location = 0; location < calculators.size(); location++) {
+				for (int day = 0; day < 20; day++) {
+					SolarEventRecord record = subscriber.records.get(index++);
+					LocalDate date = startDate.plusDays(day);
+					assertEquals(location, record.getLocationIndex());
+					assertEquals(date, record.getDate());
+					SunriseSunsetCalculator calculator = calculators
+							.get(location);
+					for (SolarEvent event : SolarEvent.values()) {
+						long expected = event.isSunrise() ? calculator
+								.computeSunriseEvent(event.twilight(), date)
+								: calculator.computeSunsetEvent(
+										event.twilight(), date);
+						assertEquals(expected, record.getPackedEvent(event));
+					}
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * {@link main.java.SolarEventPublisher#subscribe(Flow.Subscriber)}
+	 */
+	@Test
+	public void testNothingComputedWithoutDemand() {
+		SolarEventPublisher publisher = new SolarEventPublisher(
+				getCalculators(), LocalDate.of(2015, 1, 1), LocalDate.of(2015,
+						12, 31), Runnable::run);
+		RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		publisher.subscribe(subscriber);
+		assertEquals(0, subscriber.records.size());
+		subscriber.subscription.request(5);
+		assertEquals(5, subscriber.records.size());
+		subscriber.subscription.request(2);
+		assertEquals(7, subscriber.records.size());
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(10);
+		assertEquals(7, subscriber.records.size());
+		assertEquals(1, subscriber.done.getCount());
+	}
+
+	/**
+	 * {@link main.java.SolarEventPublisher#subscribe(Flow.Subscriber)}
+	 */
+	@Test
+	public void testInvalidRequestAndEmptyRange() {
+		SolarEventPublisher publisher = new SolarEventPublisher(
+				getCalculators(), LocalDate.of(2015, 1, 1), LocalDate.of(2015,
+						1, 1), Runnable::run);
+		RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+
+		SolarEventPublisher empty = new SolarEventPublisher(
+				Collections.<SunriseSunsetCalculator> emptyList(),
+				LocalDate.of(2015, 1, 1), LocalDate.of(2015, 1, 1),
+				Runnable::run);
+		RecordingSubscriber completed = new RecordingSubscriber(0);
+		empty.subscribe(completed);
+		assertEquals(0, completed.done.getCount());
+		assertEquals(null, completed.error);
+	}
+
+	private static List<SunriseSunsetCalculator> getCalculators() {
+		return Arrays.asList(new SunriseSunsetCalculator("America/New_York",
+				new BigDecimal("39.9522"), new BigDecimal("-75.1642"),
+				CalculationMode.DOUBLE), new SunriseSunsetCalculator(
+				"Europe/Oslo", new BigDecimal("78.2232"), new BigDecimal(
+						"15.6267"), CalculationMode.DOUBLE),
+				new SunriseSunsetCalculator("Australia/Sydney", new BigDecimal(
+						"-33.8688"), new BigDecimal("151.2093"),
+						CalculationMode.EPHEMERIS_TABLE));
+	}
+
+	/* Requests a batch of records each time the previous batch arrived */
+	private static final class RecordingSubscriber implements
+			Flow.Subscriber<SolarEventRecord> {
+		private final int batch;
+		private final List<SolarEventRecord> records =
+				new ArrayList<SolarEventRecord>();
+		private final CountDownLatch done = new CountDownLatch(1);
+		private Flow.Subscription subscription;
+		private int outstanding;
+		private volatile Throwable error;
+
+		RecordingSubscriber(int batch) {
+			this.batch = batch;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (batch > 0) {
+				outstanding = batch;
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onNext(SolarEventRecord record) {
+			records.add(record);
+			if ((batch > 0) && (outstanding == 0)) {
+				error = new IllegalStateException("More records than requested");
+			}
+			if ((batch > 0) && (--outstanding == 0)) {
+				outstanding = batch;
+				subscription.request(batch);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.SolarEvent;
+import main.java.SolarEventTracker;
+import main.java.SolarEventTracker.NextEvent;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SolarEventTrackerTest} class tests the functionality within the
+ * {@link SolarEventTracker} class
+ * 
+ * @version 1.0
+ */
+public class SolarEventTrackerTest {
+
+	/**
+	 * {@link main.java.SolarEventTracker#getNext(SolarEvent, Instant)}
+	 */
+	@Test
+	public void testNextEventMatchesSearch() {
+		String[][] locations = { { "America/New_York", "39.9522", "-75.1642" },
+				{ "Arctic/Longyearbyen", "78.2232", "15.6267" },
+				{ "Australia/Sydney", "-33.8688", "151.2093" } };
+		for (String[] location : locations) {
+			SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+					location[0], new BigDecimal(location[1]), new BigDecimal(
+							location[2]), CalculationMode.DOUBLE);
+			SolarEventTracker tracker = new SolarEventTracker(calculator);
+			Instant instant = LocalDate.of(2015, 1, 1)
+					.atStartOfDay(ZoneId.of(location[0])).toInstant();
+			ZoneId zoneId = ZoneId.of(location[0]);
+			for (int step = 0; step < 4000; step++) {
+				Instant first = null;
+				for (SolarEvent event : SolarEvent.values()) {
+					Instant expected = search(calculator, zoneId, event,
+							instant);
+					assertEquals(location[0] + " " + event + " after "
+							+ instant, expected, tracker.getNext(event,
+							instant));
+					if ((expected != null)
+							&& ((first == null) || expected.isBefore(first))) {
+						first = expected;
+					}
+				}
+				NextEvent next = tracker.getNext(instant);
+				assertEquals(first, next.getInstant());
+				assertEquals(next.getInstant(),
+						tracker.getNext(next.getEvent(), instant));
+				instant = instant.plusSeconds(7919);
+			}
+		}
+	}
+
+	/**
+	 * Tests that the days of the polar day are skipped
+	 */
+	@Test
+	public void testPolarDay() {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"Arctic/Longyearbyen", new BigDecimal("78.2232"),
+				new BigDecimal("15.6267"), CalculationMode.DOUBLE);
+		SolarEventTracker tracker = new SolarEventTracker(calculator);
+		Instant june = Instant.parse("2015-06-01T00:00:00Z");
+		Instant sunset = tracker.getNext(SolarEvent.OFFICIAL_SUNSET, june);
+		assertNotNull(sunset);
+		assertTrue(sunset.isAfter(Instant.parse("2015-08-20T00:00:00Z")));
+		assertTrue(sunset.isBefore(Instant.parse("2015-09-01T00:00:00Z")));
+
+		/* The sun never goes 18 degrees below the horizon at the pole */
+		SolarEventTracker pole = new SolarEventTracker(
+				new SunriseSunsetCalculator(TimeZone.getTimeZone("UTC"),
+						new BigDecimal(90), BigDecimal.ZERO,
+						CalculationMode.DOUBLE));
+		assertNull(pole.getNext(SolarEvent.ASTRONOMICAL_SUNSET, june));
+	}
+
+	/**
+	 * Tests that the days are only computed when the day of the query
+	 * changes
+	 */
+	@Test
+	public void testDaysAreRemembered() {
+		final AtomicInteger computations = new AtomicInteger();
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				TimeZone.getTimeZone("America/New_York"), new BigDecimal(
+						"39.9522"), new BigDecimal("-75.1642"),
+				CalculationMode.DOUBLE) {
+			@Override
+			public long computeSunriseEvent(Twilight twilight, LocalDate date) {
+				computations.incrementAndGet();
+				return super.computeSunriseEvent(twilight, date);
+			}
+
+			@Override
+			public long computeSunsetEvent(Twilight twilight, LocalDate date) {
+				computations.incrementAndGet();
+				return super.computeSunsetEvent(twilight, date);
+			}
+		};
+		SolarEventTracker tracker = new SolarEventTracker(calculator);
+		Instant morning = Instant.parse("2015-06-21T10:00:00Z");
+		for (int poll = 0; poll < 1000; poll++) {
+			tracker.getNext(morning.plusSeconds(poll * 5));
+			tracker.getNext(SolarEvent.CIVIL_SUNSET,
+					morning.plusSeconds(poll * 5));
+		}
+		assertEquals(16, computations.get());
+
+		/* The next day only computes the day after it */
+		tracker.getNext(Instant.parse("2015-06-22T10:00:00Z"));
+		assertEquals(24, computations.get());
+	}
+
+	/* Searches every day from the day before the one of the instant */
+	private static Instant search(SunriseSunsetCalculator calculator,
+			ZoneId zoneId, SolarEvent event, Instant instant) {
+		LocalDate date = instant.atZone(zoneId).toLocalDate().minusDays(1);
+		for (int day = 0; day < 400; day++) {
+			long packedEvent = event.isSunrise() ? calculator
+					.computeSunriseEvent(event.twilight(), date) : calculator
+					.computeSunsetEvent(event.twilight(), date);
+			if (PackedSolarEvent.hasEvent(packedEvent)
+					&& ((PackedSolarEvent.epochSecond(packedEvent) * 1000)
+							> instant.toEpochMilli())) {
+				return Instant.ofEpochSecond(PackedSolarEvent
+						.epochSecond(packedEvent));
+			}
+			date = date.plusDays(1);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.SolarEvent;
+import main.java.SolarGridGenerator;
+import main.java.SunriseSunsetCalculator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SolarGridGeneratorTest} class tests the functionality within the
+ * {@link SolarGridGenerator} class
+ * 
+ * @version 1.0
+ */
+public class SolarGridGeneratorTest {
+	private Path file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("grid", ".bin");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * {@link main.java.SolarGridGenerator#generate(LocalDate, LocalDate, Path)}
+	 */
+	@Test
+	public void testGridMatchesCalculator() throws IOException {
+		SolarGridGenerator generator = new SolarGridGenerator(7.5,
+				CalculationMode.DOUBLE, new ForkJoinPool(3));
+		LocalDate startDate = LocalDate.of(2015, 12, 30);
+		generator.generate(startDate, LocalDate.of(2016, 1, 2), file);
+		assertEquals(25, generator.getRows());
+		assertEquals(48, generator.getColumns());
+
+		try (FileChannel channel = FileChannel.open(file)) {
+			MappedByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+			assertEquals(SolarGridGenerator.MAGIC, buffer.getInt(0));
+			assertEquals(SolarGridGenerator.VERSION, buffer.getInt(4));
+			assertEquals(25, buffer.getInt(8));
+			assertEquals(48, buffer.getInt(12));
+			assertEquals(8, buffer.getInt(16));
+			assertEquals(7.5, buffer.getDouble(20), 0);
+			assertEquals(startDate.toEpochDay(), buffer.getLong(28));
+			assertEquals(4, buffer.getInt(36));
+			assertEquals(generator.getPosition(4, SolarEvent.values()[0], 0, 0),
+					channel.size());
+
+			for (int day = 0; day < 4; day++) {
+				LocalDate date = startDate.plusDays(day);
+				for (int row = 0; row < generator.getRows(); row++) {
+					for (int column = 0; column < generator.getColumns(); column++) {
+						SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+								"GMT", BigDecimal.valueOf(generator
+										.getLatitude(row)), BigDecimal
+										.valueOf(generator.getLongitude(column)),
+								CalculationMode.DOUBLE);
+						for (SolarEvent event : SolarEvent.values()) {
+							long expected = event.isSunrise() ? calculator
+									.computeSunriseEvent(event.twilight(), date)
+									: calculator.computeSunsetEvent(
+											event.twilight(), date);
+							assertEquals(getMinutes(expected, date),
+									buffer.getInt((int) generator.getPosition(
+											day, event, row, column)));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests that the poles have the polar day/night value
+	 */
+	@Test
+	public void testPolarCells() throws IOException {
+		SolarGridGenerator generator = new SolarGridGenerator(30);
+		generator.generate(LocalDate.of(2015, 6, 21), file);
+		try (FileChannel channel = FileChannel.open(file)) {
+			MappedByteBuffer buffer = channel.map(READ_ONLY, 0, channel.size());
+			assertEquals(SolarGridGenerator.POLAR_DAY, buffer
+					.getInt((int) generator.getPosition(0,
+							SolarEvent.OFFICIAL_SUNRISE,
+							generator.getRows() - 1, 0)));
+			assertEquals(SolarGridGenerator.POLAR_NIGHT, buffer
+					.getInt((int) generator.getPosition(0,
+							SolarEvent.OFFICIAL_SUNSET, 0, 0)));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidStep() {
+		new SolarGridGenerator(0);
+	}
+
+	private int getMinutes(long packedEvent, LocalDate date) {
+		switch (PackedSolarEvent.status(packedEvent)) {
+		case PackedSolarEvent.POLAR_DAY:
+			return SolarGridGenerator.POLAR_DAY;
+		case PackedSolarEvent.POLAR_NIGHT:
+			return SolarGridGenerator.POLAR_NIGHT;
+		default:
+			return (int) ((PackedSolarEvent.epochSecond(packedEvent) - (date
+					.toEpochDay() * 86400)) / 60);
+		}
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.java.CalculationMode;
+import main.java.DateRange;
+import main.java.SolarEvent;
+import main.java.SunriseSunset;
+import main.java.SunriseSunsetCalculator;
+
+import org.junit.Test;
+
+/**
+ * The {@link SolarYearSearchTest} class tests the searches over a year of
+ * the {@link SunriseSunset} class
+ * 
+ * @version 1.0
+ */
+public class SolarYearSearchTest {
+
+	private static final String[] TIME_ZONES = { "America/New_York",
+			"Europe/London", "Australia/Sydney", "Asia/Kathmandu",
+			"Pacific/Kiritimati", "America/Adak", "UTC" };
+	private static final LocalTime[] TIMES = { LocalTime.of(0, 30),
+			LocalTime.of(4, 0), LocalTime.of(6, 0), LocalTime.of(7, 15),
+			LocalTime.of(12, 0), LocalTime.of(17, 0), LocalTime.of(20, 0),
+			LocalTime.of(23, 30) };
+
+	/**
+	 * {@link main.java.SunriseSunset#getEarliest(SolarEvent, int)} and
+	 * {@link main.java.SunriseSunset#getLatest(SolarEvent, int)}
+	 */
+	@Test
+	public void testExtremesMatchEveryDay() {
+		for (SunriseSunset sunriseSunset : getLocations()) {
+			for (int year = 2015; year <= 2016; year++) {
+				int[][] eventMinutes = sunriseSunset.getEventMinutes(year);
+				for (SolarEvent event : SolarEvent.values()) {
+					int[] minutes = eventMinutes[event.ordinal()];
+					String message = sunriseSunset.getLatitude() + " "
+							+ sunriseSunset.getLongitude() + " " + event + " "
+							+ year;
+					assertEquals(message, getExtreme(minutes, year, false),
+							sunriseSunset.getEarliest(event, year));
+					assertEquals(message, getExtreme(minutes, year, true),
+							sunriseSunset.getLatest(event, year));
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getDatesAfter(SolarEvent, int, LocalTime)}
+	 * and
+	 * {@link main.java.SunriseSunset#getDatesBefore(SolarEvent, int, LocalTime)}
+	 */
+	@Test
+	public void testDatesMatchEveryDay() {
+		for (SunriseSunset sunriseSunset : getLocations()) {
+			int[][] eventMinutes = sunriseSunset.getEventMinutes(2016);
+			for (SolarEvent event : SolarEvent.values()) {
+				int[] minutes = eventMinutes[event.ordinal()];
+				for (LocalTime time : TIMES) {
+					String message = sunriseSunset.getLatitude() + " "
+							+ sunriseSunset.getLongitude() + " " + event + " "
+							+ time;
+					assertEquals(message, getDates(minutes, time, true),
+							sunriseSunset.getDatesAfter(event, 2016, time));
+					assertEquals(message, getDates(minutes, time, false),
+							sunriseSunset.getDatesBefore(event, 2016, time));
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getDatesAfter(SolarEvent, int, LocalTime)}
+	 */
+	@Test
+	public void testSunsetAfterEightInPhiladelphia() {
+		SunriseSunset sunriseSunset = new SunriseSunset("America/New_York",
+				39.9522, -75.1642);
+		List<DateRange> dates = sunriseSunset.getDatesAfter(
+				SolarEvent.OFFICIAL_SUNSET, 2015, LocalTime.of(20, 0));
+		// The sunset is after 20:00 from 7 May to 12 August and earliest
+		// (16:35) from 6 December in the double calculation
+		assertEquals(1, dates.size());
+		assertEquals(LocalDate.of(2015, 5, 7), dates.get(0).getStart());
+		assertEquals(LocalDate.of(2015, 8, 12), dates.get(0).getEnd());
+		assertEquals(LocalDate.of(2015, 12, 6), sunriseSunset.getEarliest(
+				SolarEvent.OFFICIAL_SUNSET, 2015));
+		// There is no astronomical sunset at the north pole
+		SunriseSunset pole = new SunriseSunset("UTC", 90.0, 0.0);
+		assertNull(pole.getEarliest(SolarEvent.ASTRONOMICAL_SUNSET, 2015));
+		assertEquals(0, pole.getDatesBefore(SolarEvent.ASTRONOMICAL_SUNSET,
+				2015, LocalTime.of(23, 59)).size());
+	}
+
+	private static List<SunriseSunset> getLocations() {
+		List<SunriseSunset> locations = new ArrayList<SunriseSunset>();
+		int zone = 0;
+		for (double latitude = -89.5; latitude < 90; latitude += 7.3) {
+			for (double longitude = -177; longitude < 180; longitude += 71) {
+				locations.add(new SunriseSunset(TIME_ZONES[zone
+						% TIME_ZONES.length], latitude, longitude));
+				zone++;
+			}
+		}
+		return locations;
+	}
+
+	private static LocalDate getExtreme(int[] minutes, int year,
+			boolean latest) {
+		int best = -1;
+		for (int day = 0; day < minutes.length; day++) {
+			if ((minutes[day] != SunriseSunsetCalculator.NO_EVENT)
+					&& ((best < 0) || (latest ? minutes[day] > minutes[best]
+							: minutes[day] < minutes[best]))) {
+				best = day;
+			}
+		}
+		return (best < 0) ? null : LocalDate.of(year, 1, 1).plusDays(best);
+	}
+
+	private static List<DateRange> getDates(int[] minutes, LocalTime time,
+			boolean isAfter) {
+		int timeMinutes = (time.getHour() * 60) + time.getMinute();
+		LocalDate firstDate = LocalDate.of(2016, 1, 1);
+		List<DateRange> dates = new ArrayList<DateRange>();
+		int start = -1;
+		for (int day = 0; day <= minutes.length; day++) {
+			boolean matches = (day < minutes.length)
+					&& (minutes[day] != SunriseSunsetCalculator.NO_EVENT)
+					&& (isAfter ? minutes[day] > timeMinutes
+							: minutes[day] < timeMinutes);
+			if (matches && (start < 0)) {
+				start = day;
+			} else if (!matches && (start >= 0)) {
+				dates.add(new DateRange(firstDate.plusDays(start), firstDate
+						.plusDays(day - 1)));
+				start = -1;
+			}
+		}
+		return dates;
+	}
+}
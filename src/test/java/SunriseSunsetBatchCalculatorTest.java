@@ -0,0 +1,136 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.SunriseSunsetBatchCalculator;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetBatchCalculatorTest} class tests the functionality
+ * within the {@link SunriseSunsetBatchCalculator} class
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetBatchCalculatorTest {
+
+	/**
+	 * {@link main.java.SunriseSunsetBatchCalculator#computeSunriseEpochSeconds(Twilight, LocalDate, long[])}
+	 * {@link main.java.SunriseSunsetBatchCalculator#computeSunsetEpochSeconds(Twilight, LocalDate, long[])}
+	 */
+	@Test
+	public void testBatchMatchesCalculator() {
+		assertBatchMatchesCalculator(CalculationMode.DOUBLE);
+		assertBatchMatchesCalculator(CalculationMode.EPHEMERIS_TABLE);
+	}
+
+	/**
+	 * Tests that the locations without a sunrise/sunset get the no event
+	 * sentinel
+	 */
+	@Test
+	public void testPolarLocations() {
+		SunriseSunsetBatchCalculator batch = new SunriseSunsetBatchCalculator(
+				new double[] { 78.2232, -77.8419, 39.9522 }, new double[] {
+						15.6267, 166.6863, -75.1642 });
+		long[] epochSeconds = new long[batch.size()];
+		batch.computeSunriseEpochSeconds(Twilight.OFFICIAL,
+				LocalDate.of(2015, 6, 21), epochSeconds);
+		assertEquals(SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND,
+				epochSeconds[0]);
+		assertEquals(SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND,
+				epochSeconds[1]);
+		assertEquals(LocalDate.of(2015, 6, 21).atTime(9, 32)
+				.toEpochSecond(ZoneOffset.UTC), epochSeconds[2]);
+	}
+
+	/**
+	 * Tests that mismatched arrays and the BIG_DECIMAL mode are rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testMismatchedLocations() {
+		new SunriseSunsetBatchCalculator(new double[2], new double[3]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBigDecimalMode() {
+		new SunriseSunsetBatchCalculator(new double[2], new double[2],
+				CalculationMode.BIG_DECIMAL);
+	}
+
+	private void assertBatchMatchesCalculator(CalculationMode mode) {
+		/* A grid larger than one chunk of the batch */
+		int size = 0;
+		double[] latitudes = new double[37 * 73];
+		double[] longitudes = new double[latitudes.length];
+		for (int latitude = -90; latitude <= 90; latitude += 5) {
+			for (int longitude = -180; longitude <= 180; longitude += 5) {
+				latitudes[size] = latitude;
+				longitudes[size] = longitude;
+				size++;
+			}
+		}
+		SunriseSunsetBatchCalculator batch = new SunriseSunsetBatchCalculator(
+				latitudes, longitudes, mode);
+		long[] sunrises = new long[size];
+		long[] sunsets = new long[size];
+		LocalDate[] dates = { LocalDate.of(2015, 1, 1),
+				LocalDate.of(2015, 3, 20), LocalDate.of(2016, 6, 21),
+				LocalDate.of(2016, 12, 31) };
+		Twilight[] twilights = { Twilight.ASTRONOMICAL, Twilight.NAUTICAL,
+				Twilight.CIVIL, Twilight.OFFICIAL };
+		for (LocalDate date : dates) {
+			for (Twilight twilight : twilights) {
+				batch.computeSunriseEpochSeconds(twilight, date, sunrises);
+				batch.computeSunsetEpochSeconds(twilight, date, sunsets);
+				for (int i = 0; i < size; i++) {
+					SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+							"GMT", BigDecimal.valueOf(latitudes[i]),
+							BigDecimal.valueOf(longitudes[i]), mode);
+					assertEquals(getEpochSecond(calculator
+							.computeSunriseEvent(twilight, date)), sunrises[i]);
+					assertEquals(getEpochSecond(calculator.computeSunsetEvent(
+							twilight, date)), sunsets[i]);
+				}
+			}
+		}
+	}
+
+	private long getEpochSecond(long event) {
+		if (PackedSolarEvent.hasEvent(event)) {
+			return PackedSolarEvent.epochSecond(event);
+		}
+		return SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND;
+	}
+}
@@ -0,0 +1,281 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunsetBatchRunner;
+import main.java.SunriseSunsetBatchRunner.Format;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetBatchRunnerTest} class tests the functionality
+ * within the {@link SunriseSunsetBatchRunner} class
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetBatchRunnerTest {
+	private Path input;
+	private Path output;
+
+	@Before
+	public void setUp() throws IOException {
+		input = Files.createTempFile("rows", ".in");
+		output = Files.createTempFile("records", ".out");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(input);
+		Files.deleteIfExists(output);
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetBatchRunner#run(Path, Path)}
+	 */
+	@Test
+	public void testCsvMatchesCalculator() throws IOException {
+		List<String> rows = new ArrayList<String>();
+		rows.add("# id,latitude,longitude,zone,startDate,endDate");
+		rows.add("1,39.9522,-75.1642,America/New_York,2015-03-07,2015-03-09");
+		rows.add("");
+		rows.add("2,78.2232,15.6267,Arctic/Longyearbyen,2015-06-21,2015-06-21");
+		rows.add("3,-33.8688,151.2093,Australia/Sydney,2015-12-31,2016-01-01");
+		Files.write(input, rows, StandardCharsets.US_ASCII);
+
+		SunriseSunsetBatchRunner runner = new SunriseSunsetBatchRunner(
+				Twilight.CIVIL, CalculationMode.DOUBLE, 2, Format.CSV,
+				Format.CSV);
+		assertEquals(6, runner.run(input, output));
+
+		List<String> records = new ArrayList<String>(Files.readAllLines(
+				output, StandardCharsets.US_ASCII));
+		Collections.sort(records);
+		List<String> expected = new ArrayList<String>();
+		addRecords(expected, 1, 39.9522, -75.1642, "America/New_York",
+				LocalDate.of(2015, 3, 7), 3);
+		addRecords(expected, 2, 78.2232, 15.6267, "Arctic/Longyearbyen",
+				LocalDate.of(2015, 6, 21), 1);
+		addRecords(expected, 3, -33.8688, 151.2093, "Australia/Sydney",
+				LocalDate.of(2015, 12, 31), 2);
+		assertEquals(expected, records);
+		assertTrue(records.contains("2,2015-06-21,99:99,99:99"));
+	}
+
+	/**
+	 * Tests binary rows and records over more rows and days than the buffers
+	 * and queues hold at once
+	 */
+	@Test
+	public void testBinaryManyRows() throws IOException {
+		int rowCount = 5000;
+		ByteBuffer buffer = ByteBuffer.allocate(rowCount * 64);
+		byte[] zone = "Europe/Paris".getBytes(StandardCharsets.US_ASCII);
+		long startEpochDay = LocalDate.of(2015, 1, 1).toEpochDay();
+		for (int i = 0; i < rowCount; i++) {
+			buffer.putLong(i);
+			buffer.putDouble(-60 + ((120.0 * i) / rowCount));
+			buffer.putDouble(2.35);
+			buffer.putLong(startEpochDay + (i % 7));
+			buffer.putLong(startEpochDay + (i % 7) + 9);
+			buffer.put((byte) zone.length);
+			buffer.put(zone);
+		}
+		Files.write(input, Arrays.copyOf(buffer.array(),
+				buffer.position()));
+
+		SunriseSunsetBatchRunner runner = new SunriseSunsetBatchRunner(
+				Twilight.OFFICIAL, CalculationMode.EPHEMERIS_TABLE, 3,
+				Format.BINARY, Format.BINARY);
+		assertEquals(rowCount * 10L, runner.run(input, output));
+
+		ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(output));
+		assertEquals(rowCount * 10L * 16, records.remaining());
+		int[] days = new int[rowCount];
+		while (records.hasRemaining()) {
+			int id = (int) records.getLong();
+			int epochDay = records.getInt();
+			short sunrise = records.getShort();
+			short sunset = records.getShort();
+			assertEquals(startEpochDay + (id % 7) + days[id], epochDay);
+			days[id]++;
+			if (id == 2500) {
+				SunriseSunsetCalculator calculator =
+						new SunriseSunsetCalculator("Europe/Paris",
+								new BigDecimal(0.0),
+								new BigDecimal(2.35),
+								CalculationMode.EPHEMERIS_TABLE);
+				int[] minutes = new int[1];
+				LocalDate date = LocalDate.ofEpochDay(epochDay);
+				calculator.computeSunriseMinutes(Twilight.OFFICIAL, date,
+						minutes);
+				assertEquals(minutes[0], sunrise);
+				calculator.computeSunsetMinutes(Twilight.OFFICIAL, date,
+						minutes);
+				assertEquals(minutes[0], sunset);
+			}
+		}
+		for (int i = 0; i < rowCount; i++) {
+			assertEquals(10, days[i]);
+		}
+	}
+
+	/**
+	 * Tests that an invalid row stops the batch with its line number
+	 */
+	@Test
+	public void testInvalidRow() throws IOException {
+		List<String> rows = new ArrayList<String>();
+		for (int i = 0; i < 3000; i++) {
+			rows.add(i + ",39.9522,-75.1642,America/New_York,2015-03-07,"
+					+ "2015-03-09");
+		}
+		rows.add("3000,north,-75.1642,America/New_York,2015-03-07,2015-03-09");
+		Files.write(input, rows, StandardCharsets.US_ASCII);
+		try {
+			new SunriseSunsetBatchRunner().run(input, output);
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Line 3001"));
+		}
+	}
+
+	/**
+	 * Tests that the fields parsed in the buffer are those of
+	 * {@code Double.parseDouble} and {@code LocalDate.parse}, blanks and
+	 * exponents included
+	 */
+	@Test
+	public void testCsvFieldsParsedLikeText() throws IOException {
+		Random random = new Random(42);
+		List<String> rows = new ArrayList<String>();
+		List<String> expected = new ArrayList<String>();
+		for (int i = 0; i < 200; i++) {
+			String latitude = String.format(Locale.ROOT, "%." + (i % 16)
+					+ "f", (random.nextDouble() * 120) - 60);
+			String longitude = Double.toString((random.nextDouble() * 360)
+					- 180);
+			if (i % 5 == 0) {
+				longitude = longitude + "e0";
+			}
+			rows.add(" " + i + " ,\t" + latitude + "," + longitude
+					+ ", Europe/Paris ,2015-06-21, 2015-06-21 ");
+			addRecords(expected, i, Double.parseDouble(latitude),
+					Double.parseDouble(longitude), "Europe/Paris",
+					LocalDate.of(2015, 6, 21), 1);
+		}
+		Files.write(input, rows, StandardCharsets.US_ASCII);
+
+		SunriseSunsetBatchRunner runner = new SunriseSunsetBatchRunner(
+				Twilight.CIVIL, CalculationMode.DOUBLE, 2, Format.CSV,
+				Format.CSV);
+		assertEquals(200, runner.run(input, output));
+		List<String> records = new ArrayList<String>(Files.readAllLines(
+				output, StandardCharsets.US_ASCII));
+		Collections.sort(records);
+		Collections.sort(expected);
+		assertEquals(expected, records);
+	}
+
+	/**
+	 * Tests that an unknown zone stops the batch with its line or row number
+	 * rather than being computed in GMT
+	 */
+	@Test
+	public void testUnknownZone() throws IOException {
+		List<String> rows = new ArrayList<String>();
+		rows.add("1,39.9522,-75.1642,America/New_York,2015-03-07,2015-03-09");
+		rows.add("2,39.9522,-75.1642,America/New_Yrok,2015-03-07,2015-03-09");
+		Files.write(input, rows, StandardCharsets.US_ASCII);
+		try {
+			new SunriseSunsetBatchRunner().run(input, output);
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Line 2"));
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		byte[] zone = "Europe/Pariss".getBytes(StandardCharsets.US_ASCII);
+		buffer.putLong(1);
+		buffer.putDouble(48.8566);
+		buffer.putDouble(2.35);
+		buffer.putLong(LocalDate.of(2015, 1, 1).toEpochDay());
+		buffer.putLong(LocalDate.of(2015, 1, 1).toEpochDay());
+		buffer.put((byte) zone.length);
+		buffer.put(zone);
+		Files.write(input, Arrays.copyOf(buffer.array(), buffer.position()));
+		try {
+			new SunriseSunsetBatchRunner(Twilight.OFFICIAL,
+					CalculationMode.DOUBLE, 1, Format.BINARY, Format.BINARY)
+					.run(input, output);
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().startsWith("Row 1"));
+		}
+	}
+
+	private static void addRecords(List<String> records, long id,
+			double latitude, double longitude, String zone,
+			LocalDate startDate, int days) {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(zone,
+				new BigDecimal(latitude), new BigDecimal(longitude),
+				CalculationMode.DOUBLE);
+		for (int day = 0; day < days; day++) {
+			LocalDate date = startDate.plusDays(day);
+			records.add(id + "," + date + ","
+					+ getTime(calculator.computeSunriseDateTime(
+							Twilight.CIVIL, date)) + ","
+					+ getTime(calculator.computeSunsetDateTime(
+							Twilight.CIVIL, date)));
+		}
+	}
+
+	private static String getTime(ZonedDateTime dateTime) {
+		return (dateTime == null) ? "99:99" : String.format("%02d:%02d",
+				dateTime.getHour(), dateTime.getMinute());
+	}
+}
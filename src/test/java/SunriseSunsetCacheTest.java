@@ -0,0 +1,202 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunset;
+import main.java.SunriseSunsetCache;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetCacheTest} class tests the functionality within the
+ * {@link SunriseSunsetCache} class
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetCacheTest {
+
+	/**
+	 * {@link main.java.SunriseSunsetCache#getOfficialSunrise(String, double, double, LocalDate)}
+	 * {@link main.java.SunriseSunsetCache#getOfficialSunset(String, double, double, LocalDate)}
+	 */
+	@Test
+	public void testSameTimesAsSunriseSunset() {
+		SunriseSunsetCache cache = new SunriseSunsetCache(100);
+		SunriseSunset philadelphia = new SunriseSunset("America/New_York",
+				"39.9522", "-75.1642");
+		for (int month = 1; month <= 12; month++) {
+			LocalDate date = LocalDate.of(2015, month, 15);
+			Calendar calendar = Calendar.getInstance();
+			calendar.clear();
+			calendar.set(2015, month - 1, 15);
+			assertEquals(philadelphia.getOfficialSunrise(calendar),
+					cache.getOfficialSunrise("America/New_York", 39.9522,
+							-75.1642, date));
+			assertEquals(philadelphia.getOfficialSunset(calendar),
+					cache.getOfficialSunset("America/New_York", 39.9522,
+							-75.1642, date));
+			/* The same location rounded to a ten-thousandth of a degree */
+			assertEquals(philadelphia.getOfficialSunset(calendar),
+					cache.getOfficialSunset("America/New_York", 39.95221,
+							-75.16419, date));
+		}
+		assertEquals(12, cache.getHitCount());
+		assertEquals(24, cache.getMissCount());
+		assertEquals(1.0 / 3, cache.getHitRatio(), 1e-9);
+		assertEquals(24, cache.size());
+	}
+
+	/**
+	 * Tests that the cache gives the times of {@link SunriseSunset} in each
+	 * {@link CalculationMode} on every day of a year, daylight saving time
+	 * changes included
+	 */
+	@Test
+	public void testEveryDayMatchesSunriseSunset() {
+		TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCache cache = new SunriseSunsetCache(1000,
+					SunriseSunsetCache.DEFAULT_QUANTUM, mode);
+			SunriseSunset philadelphia = new SunriseSunset(timeZone,
+					new BigDecimal("39.9522"), new BigDecimal("-75.1642"),
+					mode);
+			Calendar calendar = new GregorianCalendar(timeZone);
+			LocalDate date = LocalDate.of(2015, 1, 1);
+			for (; date.getYear() == 2015; date = date.plusDays(1)) {
+				calendar.clear();
+				calendar.set(2015, date.getMonthValue() - 1,
+						date.getDayOfMonth());
+				assertEquals(mode + " " + date,
+						philadelphia.getOfficialSunrise(calendar),
+						cache.getOfficialSunrise("America/New_York", 39.9522,
+								-75.1642, date));
+				assertEquals(mode + " " + date,
+						philadelphia.getOfficialSunset(calendar),
+						cache.getOfficialSunset("America/New_York", 39.9522,
+								-75.1642, date));
+			}
+		}
+	}
+
+	/**
+	 * Tests that an unknown time zone is rejected rather than taken as GMT
+	 */
+	@Test(expected = DateTimeException.class)
+	public void testUnknownTimeZone() {
+		new SunriseSunsetCache(10).getOfficialSunrise("America/New_Yrok",
+				39.9522, -75.1642, LocalDate.of(2015, 6, 21));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCache#getSunriseEvent(String, double, double, Twilight, LocalDate)}
+	 */
+	@Test
+	public void testPackedEvents() {
+		SunriseSunsetCache cache = new SunriseSunsetCache(10);
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"Europe/Oslo", new BigDecimal("78.2232"), new BigDecimal(
+						"15.6267"), CalculationMode.BIG_DECIMAL);
+		LocalDate date = LocalDate.of(2015, 6, 21);
+		assertEquals(calculator.computeSunriseEvent(Twilight.CIVIL, date),
+				cache.getSunriseEvent("Europe/Oslo", 78.2232, 15.6267,
+						Twilight.CIVIL, date));
+		assertEquals(calculator.computeSunsetEvent(Twilight.CIVIL, date),
+				cache.getSunsetEvent("Europe/Oslo", 78.2232, 15.6267,
+						Twilight.CIVIL, date));
+		assertEquals("99:99", cache.getSunrise("Europe/Oslo", 78.2232,
+				15.6267, Twilight.CIVIL, date));
+	}
+
+	/**
+	 * Tests that a referenced entry gets a second chance before eviction
+	 */
+	@Test
+	public void testEviction() {
+		SunriseSunsetCache cache = new SunriseSunsetCache(2);
+		LocalDate date = LocalDate.of(2015, 1, 1);
+		cache.getOfficialSunrise("GMT", 51.5, 0, date);
+		cache.getOfficialSunrise("GMT", 52.5, 0, date);
+		cache.getOfficialSunrise("GMT", 51.5, 0, date);
+		cache.getOfficialSunrise("GMT", 53.5, 0, date);
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(2, cache.size());
+
+		cache.getOfficialSunrise("GMT", 51.5, 0, date);
+		assertEquals(2, cache.getHitCount());
+		cache.getOfficialSunrise("GMT", 52.5, 0, date);
+		assertEquals(4, cache.getMissCount());
+		assertEquals(2, cache.size());
+		assertEquals(true, cache.getAverageLoadNanos() > 0);
+	}
+
+	/**
+	 * Tests that many threads share the cache without exceeding its size
+	 */
+	@Test
+	public void testConcurrentLookups() throws Exception {
+		final SunriseSunsetCache cache = new SunriseSunsetCache(50);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 2000; i++) {
+				final double latitude = i % 80;
+				results.add(executor.submit(new Callable<String>() {
+					@Override
+					public String call() {
+						return cache.getOfficialSunset("GMT", latitude, 0,
+								LocalDate.of(2015, 3, 20));
+					}
+				}));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				assertEquals(
+						cache.getOfficialSunset("GMT", i % 80, 0,
+								LocalDate.of(2015, 3, 20)), results.get(i)
+								.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(true, cache.size() <= 50);
+		assertEquals(4000, cache.getHitCount() + cache.getMissCount());
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import main.java.SunriseSunset;
+import main.java.SunriseSunsetCalculator;
+import main.java.SunriseSunsetCalculatorRegistry;
+import main.java.Twilight;
+
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetCalculatorRegistryTest} class tests the
+ * functionality within the {@link SunriseSunsetCalculatorRegistry} class and
+ * the shared {@link Twilight} instances
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetCalculatorRegistryTest {
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculatorRegistry#getCalculator(double, double, TimeZone)}
+	 */
+	@Test
+	public void testCalculatorIsShared() {
+		SunriseSunsetCalculatorRegistry registry = new SunriseSunsetCalculatorRegistry(
+				10);
+		TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		SunriseSunsetCalculator calculator = registry.getCalculator(39.9522,
+				-75.1642, timeZone);
+		assertSame(calculator, registry.getCalculator(39.9522, -75.1642,
+				TimeZone.getTimeZone("America/New_York")));
+		assertNotSame(calculator,
+				registry.getCalculator(39.9522, -75.1642,
+						TimeZone.getTimeZone("America/Chicago")));
+		assertEquals(2, registry.size());
+
+		/* A time zone with the same identifier but other rules */
+		SimpleTimeZone custom = new SimpleTimeZone(0, "America/New_York");
+		assertNotSame(calculator,
+				registry.getCalculator(39.9522, -75.1642, custom));
+		assertSame(calculator,
+				registry.getCalculator(39.9522, -75.1642, timeZone));
+	}
+
+	/**
+	 * Tests that the registry holds at most its maximum size
+	 */
+	@Test
+	public void testBoundedSize() {
+		SunriseSunsetCalculatorRegistry registry = new SunriseSunsetCalculatorRegistry(
+				4);
+		TimeZone timeZone = TimeZone.getTimeZone("GMT");
+		for (int latitude = 0; latitude < 10; latitude++) {
+			registry.getCalculator(latitude, 0, timeZone);
+		}
+		assertEquals(4, registry.size());
+		assertEquals(6, registry.getEvictionCount());
+	}
+
+	/**
+	 * {@link main.java.Twilight#valueOf(double)}
+	 */
+	@Test
+	public void testTwilightIsShared() {
+		assertSame(Twilight.OFFICIAL, Twilight.valueOf(90.8333));
+		assertSame(Twilight.CIVIL, Twilight.valueOf(90 + 6.0));
+		assertSame(Twilight.valueOf(93.5), Twilight.valueOf(93.5));
+		assertEquals(new BigDecimal("93.5"), Twilight.valueOf(93.5).degrees());
+	}
+
+	/**
+	 * Tests that the static methods give the same times as a new calculator
+	 */
+	@Test
+	public void testStaticMethods() {
+		TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				timeZone, new BigDecimal(39.9522), new BigDecimal(-75.1642));
+		for (int month = 0; month < 12; month++) {
+			Calendar date = Calendar.getInstance(timeZone);
+			date.clear();
+			date.set(2015, month, 1);
+			assertEquals(
+					calculator.computeSunriseCalendar(new Twilight(84), date),
+					SunriseSunset.getSunrise(39.9522, -75.1642, timeZone,
+							date, 6));
+			assertEquals(
+					calculator.computeSunsetCalendar(new Twilight(96), date),
+					SunriseSunset.getSunset(39.9522, -75.1642, timeZone, date,
+							-6));
+		}
+	}
+}
@@ -0,0 +1,461 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static main.java.Twilight.ASTRONOMICAL;
+import static main.java.Twilight.CIVIL;
+import static main.java.Twilight.NAUTICAL;
+import static main.java.Twilight.OFFICIAL;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetCalculatorTest} tests the implementation of the
+ * {@link SunriseSunsetCalculator} class
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetCalculatorTest extends BaseTestCase {
+	private static final Twilight[] TWILIGHTS = { ASTRONOMICAL, NAUTICAL,
+			CIVIL, OFFICIAL };
+
+	private SunriseSunsetCalculator bigDecimalCalculator;
+	private SunriseSunsetCalculator doubleCalculator;
+
+	/**
+	 * Setup of the {@link SunriseSunsetCalculatorTest}
+	 */
+	@Before
+	public void setup() {
+		// November 1, 2008
+		super.setup(10, 1, 2008);
+		bigDecimalCalculator = createCalculator("America/New_York", "39.9937",
+				"-75.7850", CalculationMode.BIG_DECIMAL);
+		doubleCalculator = createCalculator("America/New_York", "39.9937",
+				"-75.7850", CalculationMode.DOUBLE);
+	}
+
+	/**
+	 * Tear down of the {@link SunriseSunsetCalculatorTest}
+	 */
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#getMode()}
+	 */
+	@Test
+	public void testDefaultMode() {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				"America/New_York", "39.9937", "-75.7850");
+		assertEquals(CalculationMode.BIG_DECIMAL, calculator.getMode());
+		assertEquals(CalculationMode.DOUBLE, doubleCalculator.getMode());
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseTime(Twilight, Calendar)}
+	 */
+	@Test
+	public void testDoubleModeOfficialSunrise() {
+		assertTimeEquals("07:33",
+				doubleCalculator.computeSunriseTime(OFFICIAL, eventDate),
+				eventDate.getTime().toString());
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunsetTime(Twilight, Calendar)}
+	 */
+	@Test
+	public void testDoubleModeOfficialSunset() {
+		assertTimeEquals("18:00",
+				doubleCalculator.computeSunsetTime(OFFICIAL, eventDate),
+				eventDate.getTime().toString());
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseCalendar(Twilight, Calendar)}
+	 */
+	@Test
+	public void testDoubleModeOfficialSunriseCalendar() {
+		Calendar officialSunrise = doubleCalculator.computeSunriseCalendar(
+				OFFICIAL, eventDate);
+		assertEquals("Sat Nov 01 11:33:00 UTC 2008", officialSunrise.getTime()
+				.toString());
+	}
+
+	/**
+	 * Tests that both modes agree on every day of a year for every
+	 * {@link Twilight}
+	 */
+	@Test
+	public void testDoubleModeMatchesBigDecimalMode() {
+		assertModesAgree(CalculationMode.DOUBLE);
+	}
+
+	/**
+	 * Tests that the ephemeris table agrees with the other modes on every day
+	 * of a year for every {@link Twilight}
+	 */
+	@Test
+	public void testEphemerisTableModeMatchesBigDecimalMode() {
+		assertModesAgree(CalculationMode.EPHEMERIS_TABLE);
+	}
+
+	/**
+	 * Tests that every mode agrees when the true longitude of the sun is just
+	 * below 180 degrees, where the BigDecimal tangent changes sign
+	 */
+	@Test
+	public void testModesAgreeNearHalfTurnOfTrueLongitude() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCalculator auckland = createCalculator(
+					"Pacific/Auckland", "-58.4164", "-168.0403", mode);
+			Calendar winter = Calendar.getInstance(TimeZone
+					.getTimeZone("Pacific/Auckland"));
+			winter.clear();
+			winter.set(2026, Calendar.JUNE, 21);
+			assertEquals(mode.toString(), "06:17",
+					auckland.computeSunriseTime(NAUTICAL, winter));
+
+			SunriseSunsetCalculator pacific = createCalculator("UTC",
+					"22.3213", "138.7797", mode);
+			Calendar equinox = Calendar.getInstance(TimeZone
+					.getTimeZone("UTC"));
+			equinox.clear();
+			equinox.set(2016, Calendar.SEPTEMBER, 22);
+			assertEquals(mode.toString(), "09:55",
+					pacific.computeSunsetTime(ASTRONOMICAL, equinox));
+		}
+	}
+
+	/**
+	 * Tests that the fast trigonometry gives the same rounded times as
+	 * {@code java.lang.Math} every 5 degrees of latitude and 10 degrees of
+	 * longitude, every fifth day of a year
+	 */
+	@Test
+	public void testFastMathModeMatchesDoubleModeOnGlobalGrid() {
+		for (int latitude = -85; latitude <= 85; latitude += 5) {
+			for (int longitude = -180; longitude < 180; longitude += 10) {
+				SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+						"GMT", BigDecimal.valueOf(latitude),
+						BigDecimal.valueOf(longitude), CalculationMode.DOUBLE);
+				SunriseSunsetCalculator fastCalculator = new SunriseSunsetCalculator(
+						"GMT", BigDecimal.valueOf(latitude),
+						BigDecimal.valueOf(longitude),
+						CalculationMode.FAST_MATH);
+				for (LocalDate date = LocalDate.of(2016, 1, 1); date
+						.getYear() == 2016; date = date.plusDays(5)) {
+					for (Twilight twilight : TWILIGHTS) {
+						assertEquals(
+								calculator.computeSunriseEvent(twilight, date),
+								fastCalculator.computeSunriseEvent(twilight,
+										date));
+						assertEquals(
+								calculator.computeSunsetEvent(twilight, date),
+								fastCalculator.computeSunsetEvent(twilight,
+										date));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests that both modes report no sunrise for the polar night
+	 */
+	@Test
+	public void testDoubleModeNoSunrise() {
+		SunriseSunsetCalculator calculator = createCalculator("Europe/Oslo",
+				"78.2232", "15.6267", CalculationMode.DOUBLE);
+		Calendar date = Calendar.getInstance();
+		date.set(2015, Calendar.DECEMBER, 21);
+		assertEquals("99:99", calculator.computeSunriseTime(OFFICIAL, date));
+		assertEquals(null, calculator.computeSunriseCalendar(OFFICIAL, date));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseMinutes(Twilight, Calendar)}
+	 */
+	@Test
+	public void testSunriseMinutesMatchTime() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCalculator calculator = createCalculator(
+					"America/New_York", "39.9937", "-75.7850", mode);
+			for (Twilight twilight : TWILIGHTS) {
+				assertEquals(calculator.computeSunriseTime(twilight, eventDate),
+						formatMinutes(calculator.computeSunriseMinutes(
+								twilight, eventDate)));
+				assertEquals(calculator.computeSunsetTime(twilight, eventDate),
+						formatMinutes(calculator.computeSunsetMinutes(
+								twilight, eventDate)));
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEpochSecond(Twilight, Calendar)}
+	 */
+	@Test
+	public void testEpochSecondMatchesCalendar() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCalculator calculator = createCalculator(
+					"America/New_York", "39.9937", "-75.7850", mode);
+			for (Twilight twilight : TWILIGHTS) {
+				assertEquals(calculator.computeSunriseCalendar(twilight,
+						eventDate).getTimeInMillis() / 1000,
+						calculator.computeSunriseEpochSecond(twilight,
+								eventDate));
+				assertEquals(calculator.computeSunsetCalendar(twilight,
+						eventDate).getTimeInMillis() / 1000,
+						calculator.computeSunsetEpochSecond(twilight,
+								eventDate));
+			}
+		}
+	}
+
+	/**
+	 * Tests an event on the day before the given date
+	 */
+	@Test
+	public void testEpochSecondOnDayBefore() {
+		SunriseSunsetCalculator calculator = createCalculator("GMT", "55.03",
+				"82.91", CalculationMode.DOUBLE);
+		Calendar date = Calendar.getInstance();
+		date.set(2012, 4, 7);
+		assertEquals(calculator.computeSunriseCalendar(OFFICIAL, date)
+				.getTimeInMillis() / 1000,
+				calculator.computeSunriseEpochSecond(OFFICIAL, date));
+		assertEquals(22 * 60 + 35,
+				calculator.computeSunriseMinutes(OFFICIAL, date));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEvent(Twilight, Calendar)}
+	 */
+	@Test
+	public void testPolarDayAndNight() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			SunriseSunsetCalculator calculator = createCalculator(
+					"Europe/Oslo", "78.2232", "15.6267", mode);
+			Calendar date = Calendar.getInstance();
+			date.set(2015, Calendar.DECEMBER, 21);
+			long polarNight = calculator.computeSunriseEvent(OFFICIAL, date);
+			assertEquals(PackedSolarEvent.POLAR_NIGHT,
+					PackedSolarEvent.status(polarNight));
+			assertEquals(SunriseSunsetCalculator.NO_EVENT,
+					calculator.computeSunriseMinutes(OFFICIAL, date));
+			assertEquals(SunriseSunsetCalculator.NO_EVENT_EPOCH_SECOND,
+					calculator.computeSunriseEpochSecond(OFFICIAL, date));
+
+			date.set(2015, Calendar.JUNE, 21);
+			long polarDay = calculator.computeSunsetEvent(OFFICIAL, date);
+			assertEquals(PackedSolarEvent.POLAR_DAY,
+					PackedSolarEvent.status(polarDay));
+			assertEquals(false, PackedSolarEvent.hasEvent(polarDay));
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeSunriseEvent(Twilight, LocalDate)}
+	 * {@link main.java.SunriseSunsetCalculator#computeSunsetEvent(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testBigDecimalModeLocalDateMatchesCalendar() {
+		Calendar date = new GregorianCalendar(
+				TimeZone.getTimeZone("America/New_York"));
+		for (LocalDate day = LocalDate.of(2015, 1, 1); day.getYear() == 2015;
+				day = day.plusDays(1)) {
+			date.clear();
+			date.set(day.getYear(), day.getMonthValue() - 1,
+					day.getDayOfMonth());
+			assertEquals(day.toString(),
+					bigDecimalCalculator.computeSunriseEvent(OFFICIAL, date),
+					bigDecimalCalculator.computeSunriseEvent(OFFICIAL, day));
+			assertEquals(day.toString(),
+					bigDecimalCalculator.computeSunsetEvent(CIVIL, date),
+					bigDecimalCalculator.computeSunsetEvent(CIVIL, day));
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeDayLengthMinutes(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testDayLengthMatchesSunriseAndSunset() {
+		for (CalculationMode mode : CalculationMode.values()) {
+			for (int latitude = -60; latitude <= 60; latitude += 15) {
+				SunriseSunsetCalculator calculator = createCalculator(
+						"America/New_York", String.valueOf(latitude),
+						"-75.7850", mode);
+				LocalDate date = LocalDate.of(2015, 1, 1);
+				for (; date.getYear() == 2015; date = date.plusDays(3)) {
+					long officialSunrise = calculator.computeSunriseEvent(
+							OFFICIAL, date);
+					long officialSunset = calculator.computeSunsetEvent(
+							OFFICIAL, date);
+					int dayLength = calculator.computeDayLengthMinutes(
+							OFFICIAL, date);
+					assertNear(getMinutesBetween(officialSunrise,
+							officialSunset), dayLength, 1, date.toString());
+					// The solar noon is halfway between sunrise and sunset
+					long noonSecond = (PackedSolarEvent
+							.epochSecond(officialSunrise) + PackedSolarEvent
+							.epochSecond(officialSunset)) / 2;
+					LocalTime noon = Instant.ofEpochSecond(noonSecond)
+							.atZone(ZoneId.of("America/New_York"))
+							.toLocalTime();
+					assertNear((noon.getHour() * 60) + noon.getMinute(),
+							calculator.computeSolarNoonMinutes(date), 2,
+							date.toString());
+					for (Twilight twilight : TWILIGHTS) {
+						int twilightLength = getMinutesBetween(
+								calculator.computeSunriseEvent(twilight, date),
+								calculator.computeSunsetEvent(twilight, date));
+						assertNear(twilightLength,
+								calculator.computeDayLengthMinutes(twilight,
+										date), 1, mode + " " + latitude + " "
+										+ date);
+						assertNear(twilightLength - dayLength,
+								calculator.computeTwilightMinutes(twilight,
+										date), 1, mode + " " + latitude + " "
+										+ date);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunsetCalculator#computeDaylightMinutes(Twilight[], LocalDate, int[], int[][])}
+	 */
+	@Test
+	public void testDaylightMinutesMatchEachDay() {
+		SunriseSunsetCalculator calculator = createCalculator("Europe/Oslo",
+				"78.2232", "15.6267", CalculationMode.DOUBLE);
+		LocalDate startDate = LocalDate.of(2015, 12, 1);
+		int[] solarNoonMinutes = new int[400];
+		int[][] dayLengthMinutes = new int[TWILIGHTS.length][400];
+		calculator.computeDaylightMinutes(TWILIGHTS, startDate,
+				solarNoonMinutes, dayLengthMinutes);
+		for (int day = 0; day < 400; day++) {
+			LocalDate date = startDate.plusDays(day);
+			assertEquals(calculator.computeSolarNoonMinutes(date),
+					solarNoonMinutes[day]);
+			for (int i = 0; i < TWILIGHTS.length; i++) {
+				assertEquals(calculator.computeDayLengthMinutes(TWILIGHTS[i],
+						date), dayLengthMinutes[i][day]);
+			}
+		}
+		// The polar night and the midnight sun
+		assertEquals(0, calculator.computeDayLengthMinutes(OFFICIAL,
+				LocalDate.of(2015, 12, 21)));
+		assertEquals(1440, calculator.computeDayLengthMinutes(OFFICIAL,
+				LocalDate.of(2015, 6, 21)));
+		assertEquals(0, calculator.computeTwilightMinutes(CIVIL,
+				LocalDate.of(2015, 6, 21)));
+	}
+
+	private int getMinutesBetween(long packedSunrise, long packedSunset) {
+		int status = PackedSolarEvent.status(packedSunrise);
+		if (status == PackedSolarEvent.POLAR_DAY) {
+			return 1440;
+		} else if (!PackedSolarEvent.hasEvent(packedSunrise)) {
+			return 0;
+		}
+		// A sunset after midnight is on the day before the sunrise
+		long seconds = PackedSolarEvent.epochSecond(packedSunset)
+				- PackedSolarEvent.epochSecond(packedSunrise);
+		return Math.floorMod((int) (seconds / 60), 1440);
+	}
+
+	private void assertNear(int expected, int actual, int tolerance,
+			String message) {
+		assertEquals(message + " expected " + expected + " but was " + actual,
+				true, Math.abs(expected - actual) <= tolerance);
+	}
+
+	private String formatMinutes(int minutes) {
+		if (minutes == SunriseSunsetCalculator.NO_EVENT) {
+			return "99:99";
+		}
+		return String.format("%02d:%02d", minutes / 60, minutes % 60);
+	}
+
+	private void assertModesAgree(CalculationMode mode) {
+		assertModesAgree("America/New_York", "39.9937", "-75.7850", mode);
+		assertModesAgree("Europe/London", "51.5073", "-0.1277", mode);
+		assertModesAgree("Asia/Kolkata", "22.56", "88.36", mode);
+		assertModesAgree("Australia/Sydney", "-33.8688", "151.2093", mode);
+	}
+
+	private void assertModesAgree(String timeZoneIdentifier, String latitude,
+			String longitude, CalculationMode mode) {
+		SunriseSunsetCalculator expected = createCalculator(
+				timeZoneIdentifier, latitude, longitude,
+				CalculationMode.BIG_DECIMAL);
+		SunriseSunsetCalculator actual = createCalculator(timeZoneIdentifier,
+				latitude, longitude, mode);
+		Calendar date = Calendar.getInstance();
+		date.set(2015, Calendar.JANUARY, 1);
+		for (int day = 0; day < 365; day++) {
+			for (Twilight twilight : TWILIGHTS) {
+				assertTimeEquals(expected.computeSunriseTime(twilight, date),
+						actual.computeSunriseTime(twilight, date), date
+								.getTime().toString());
+				assertTimeEquals(expected.computeSunsetTime(twilight, date),
+						actual.computeSunsetTime(twilight, date), date
+								.getTime().toString());
+			}
+			date.add(Calendar.DAY_OF_YEAR, 1);
+		}
+	}
+
+	private SunriseSunsetCalculator createCalculator(
+			String timeZoneIdentifier, String latitude, String longitude,
+			CalculationMode mode) {
+		return new SunriseSunsetCalculator(
+				TimeZone.getTimeZone(timeZoneIdentifier), new BigDecimal(
+						latitude), new BigDecimal(longitude), mode);
+	}
+}
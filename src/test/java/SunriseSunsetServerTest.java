@@ -0,0 +1,168 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import main.java.CalculationMode;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
+import server.java.SunriseSunsetServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The {@link SunriseSunsetServerTest} class tests the functionality within
+ * the {@link SunriseSunsetServer} class
+ * 
+ * @version 1.0
+ */
+public class SunriseSunsetServerTest {
+	private SunriseSunsetServer server;
+
+	/**
+	 * Starts the {@link SunriseSunsetServer} on a free port
+	 */
+	@Before
+	public void setup() throws IOException {
+		server = new SunriseSunsetServer(new InetSocketAddress("localhost", 0));
+		server.start();
+	}
+
+	/**
+	 * Stops the {@link SunriseSunsetServer}
+	 */
+	@After
+	public void tearDown() {
+		server.stop(0);
+	}
+
+	/**
+	 * GET /sun
+	 */
+	@Test
+	public void testGetSun() throws IOException {
+		HttpURLConnection connection = open("/sun?lat=39.9522&lon=-75.1642"
+				+ "&tz=America%2FNew_York&date=2015-06-21&twilight=civil");
+		assertEquals(200, connection.getResponseCode());
+		String expected = "{\"lat\":39.9522,\"lon\":-75.1642,"
+				+ "\"tz\":\"America/New_York\",\"date\":\"2015-06-21\","
+				+ "\"sunrise\":\"" + getTime(39.9522, -75.1642,
+						"America/New_York", "2015-06-21", true)
+				+ "\",\"sunset\":\"" + getTime(39.9522, -75.1642,
+						"America/New_York", "2015-06-21", false) + "\"}";
+		assertEquals(expected, read(connection.getInputStream()));
+
+		HttpURLConnection polar = open("/sun?lat=78.2232&lon=15.6267"
+				+ "&tz=Europe/Oslo&date=2015-12-21");
+		assertTrue(read(polar.getInputStream()).endsWith(
+				"\"sunrise\":null,\"sunset\":null}"));
+
+		assertEquals(400, open("/sun?lat=91&lon=0&tz=UTC&date=2015-01-01")
+				.getResponseCode());
+		assertEquals(400, open("/sun?lat=0&lon=0&tz=Nowhere&date=2015-01-01")
+				.getResponseCode());
+		assertEquals(400, open("/sun?lat=0&lon=0&tz=UTC").getResponseCode());
+	}
+
+	/**
+	 * POST /sun/batch
+	 */
+	@Test
+	public void testPostBatch() throws IOException {
+		StringBuilder body = new StringBuilder("# lat,lon,tz,date\n");
+		int locations = 3000;
+		for (int i = 0; i < locations; i++) {
+			body.append((i % 160) - 80).append(',').append((i % 360) - 180)
+					.append(",UTC,2015-03-").append(10 + (i % 20))
+					.append('\n');
+		}
+		body.append("12,34,UTC,not a date\n");
+		HttpURLConnection connection = open("/sun/batch?twilight=nautical");
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream output = connection.getOutputStream()) {
+			output.write(body.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		assertEquals(200, connection.getResponseCode());
+		String json = read(connection.getInputStream());
+		assertTrue(json.startsWith("[{\"lat\":-80.0,\"lon\":-180.0,"
+				+ "\"tz\":\"UTC\",\"date\":\"2015-03-10\""));
+		assertTrue(json.endsWith(",{\"line\":" + (locations + 2)
+				+ ",\"error\":\"Text 'not a date' could not be parsed at index 0\"}]"));
+		int objects = 0;
+		for (int i = json.indexOf('{'); i >= 0; i = json.indexOf('{', i + 1)) {
+			objects++;
+		}
+		assertEquals(locations + 1, objects);
+		assertEquals(405, open("/sun/batch").getResponseCode());
+	}
+
+	private HttpURLConnection open(String path) throws IOException {
+		return (HttpURLConnection) new URL("http://localhost:"
+				+ server.getPort() + path).openConnection();
+	}
+
+	private static String getTime(double latitude, double longitude,
+			String zone, String date, boolean isSunrise) {
+		SunriseSunsetCalculator calculator = new SunriseSunsetCalculator(
+				zone, BigDecimal.valueOf(latitude),
+				BigDecimal.valueOf(longitude), CalculationMode.DOUBLE);
+		int[] minutes = new int[1];
+		if (isSunrise) {
+			calculator.computeSunriseMinutes(Twilight.CIVIL,
+					LocalDate.parse(date), minutes);
+		} else {
+			calculator.computeSunsetMinutes(Twilight.CIVIL,
+					LocalDate.parse(date), minutes);
+		}
+		return String.format("%02d:%02d", minutes[0] / 60, minutes[0] % 60);
+	}
+
+	private static String read(InputStream input) throws IOException {
+		try (InputStream stream = input) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = stream.read(buffer)) > 0) {
+				bytes.write(buffer, 0, read);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -23,14 +23,35 @@
  */
 package test.java;
 
+import static main.java.Twilight.CIVIL;
+import static main.java.Twilight.OFFICIAL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
-
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.TimeZone;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import main.java.CalculationMode;
+import main.java.PackedSolarEvent;
+import main.java.SolarEvent;
 import main.java.SunriseSunset;
+import main.java.SunriseSunsetCalculator;
+import main.java.Twilight;
 
 import org.junit.After;
 import org.junit.Before;
@@ -231,6 +252,242 @@ public class SunriseSunsetTest extends BaseTestCase {
 				.toString());
 	}
 
+	/**
+	 * {@link main.java.SunriseSunset#getSunriseMinutes(Twilight, Calendar)}
+	 */
+	@Test
+	public void testComputeOfficialSunriseMinutes() {
+		assertEquals(7 * 60 + 33, calc.getSunriseMinutes(OFFICIAL, eventDate));
+		assertEquals(18 * 60, calc.getSunsetMinutes(OFFICIAL, eventDate));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getSunriseEpochSecond(Twilight, Calendar)}
+	 */
+	@Test
+	public void testComputeOfficialSunriseEpochSecond() {
+		assertEquals(calc.getOfficialSunriseCalendar(eventDate)
+				.getTimeInMillis() / 1000,
+				calc.getSunriseEpochSecond(OFFICIAL, eventDate));
+		assertEquals(calc.getOfficialSunsetCalendar(eventDate)
+				.getTimeInMillis() / 1000,
+				calc.getSunsetEpochSecond(OFFICIAL, eventDate));
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getEventMinutes(int)}
+	 */
+	@Test
+	public void testEventMinutesForYear() {
+		SunriseSunset calculator = new SunriseSunset("America/New_York",
+				new BigDecimal("39.9937"), new BigDecimal("-75.7850"),
+				CalculationMode.DOUBLE);
+		int[][] eventMinutes = calculator.getEventMinutes(2016);
+		assertEquals(SolarEvent.values().length, eventMinutes.length);
+		assertEquals(366, eventMinutes[0].length);
+
+		Calendar date = Calendar.getInstance();
+		date.set(2016, Calendar.JANUARY, 1, 12, 0, 0);
+		for (int day = 0; day < 366; day++) {
+			for (SolarEvent event : SolarEvent.values()) {
+				int expected = event.isSunrise() ? calculator
+						.getSunriseMinutes(event.twilight(), date) : calculator
+						.getSunsetMinutes(event.twilight(), date);
+				assertEquals(event + " on " + date.getTime(), expected,
+						eventMinutes[event.ordinal()][day]);
+			}
+			date.add(Calendar.DAY_OF_YEAR, 1);
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getEventMinutes(LocalDate, LocalDate)}
+	 */
+	@Test
+	public void testEventMinutesAcrossYears() {
+		int[][] eventMinutes = calc.getEventMinutes(LocalDate.of(2015, 12, 30),
+				LocalDate.of(2016, 1, 2));
+		int[][] december = calc.getEventMinutes(2015);
+		int[][] january = calc.getEventMinutes(2016);
+		for (SolarEvent event : SolarEvent.values()) {
+			int[] minutes = eventMinutes[event.ordinal()];
+			assertEquals(4, minutes.length);
+			assertEquals(december[event.ordinal()][363], minutes[0]);
+			assertEquals(december[event.ordinal()][364], minutes[1]);
+			assertEquals(january[event.ordinal()][0], minutes[2]);
+			assertEquals(january[event.ordinal()][1], minutes[3]);
+		}
+	}
+
+	/**
+	 * Tests the polar night in the {@link SunriseSunset#getEventMinutes(int)}
+	 */
+	@Test
+	public void testEventMinutesPolarNight() {
+		SunriseSunset longyearbyen = new SunriseSunset("Europe/Oslo",
+				"78.2232", "15.6267");
+		int[][] eventMinutes = longyearbyen.getEventMinutes(2015);
+		assertEquals(SunriseSunsetCalculator.NO_EVENT,
+				eventMinutes[SolarEvent.OFFICIAL_SUNRISE.ordinal()][354]);
+		assertEquals(SunriseSunsetCalculator.NO_EVENT,
+				eventMinutes[SolarEvent.OFFICIAL_SUNSET.ordinal()][171]);
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getEventMinutes(Calendar)}
+	 */
+	@Test
+	public void testEventMinutesForDate() {
+		SunriseSunset calculator = new SunriseSunset("America/New_York",
+				new BigDecimal("39.9937"), new BigDecimal("-75.7850"),
+				CalculationMode.DOUBLE);
+		int[] eventMinutes = calculator.getEventMinutes(eventDate);
+		for (SolarEvent event : SolarEvent.values()) {
+			int expected = event.isSunrise() ? calculator.getSunriseMinutes(
+					event.twilight(), eventDate) : calculator.getSunsetMinutes(
+					event.twilight(), eventDate);
+			assertEquals(event.toString(), expected,
+					eventMinutes[event.ordinal()]);
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getSunriseMinutes(Twilight[], Calendar)}
+	 */
+	@Test
+	public void testSunriseMinutesForTwilights() {
+		SunriseSunset calculator = new SunriseSunset("America/New_York",
+				new BigDecimal("39.9937"), new BigDecimal("-75.7850"),
+				CalculationMode.DOUBLE);
+		Twilight[] twilights = { new Twilight(99), Twilight.CIVIL,
+				new Twilight(93) };
+		int[] sunrises = calculator.getSunriseMinutes(twilights, eventDate);
+		int[] sunsets = calculator.getSunsetMinutes(twilights, eventDate);
+		for (int i = 0; i < twilights.length; i++) {
+			assertEquals(calculator.getSunriseMinutes(twilights[i], eventDate),
+					sunrises[i]);
+			assertEquals(calculator.getSunsetMinutes(twilights[i], eventDate),
+					sunsets[i]);
+		}
+	}
+
+	/**
+	 * {@link main.java.SunriseSunset#getSunriseDateTime(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testComputeOfficialSunriseDateTime() {
+		LocalDate date = LocalDate.of(2008, 11, 1);
+		ZonedDateTime officialSunrise = calc.getSunriseDateTime(OFFICIAL, date);
+		assertEquals("2008-11-01T07:33-04:00[America/New_York]",
+				officialSunrise.toString());
+		assertEquals("2008-11-01T18:00-04:00",
+				calc.getSunsetOffsetDateTime(OFFICIAL, date).toString());
+		assertEquals("2008-11-01T11:33:00Z",
+				calc.getSunriseInstant(OFFICIAL, date).toString());
+	}
+
+	/**
+	 * Tests that the {@link LocalDate} methods use the
+	 * {@link CalculationMode#BIG_DECIMAL} of a default {@code SunriseSunset}
+	 * like the {@link Calendar} methods, on every day of a year
+	 */
+	@Test
+	public void testDateTimeMatchesCalendarMode() {
+		SunriseSunset philadelphia = new SunriseSunset("America/New_York",
+				"39.9937", "-75.7850");
+		Calendar date = new GregorianCalendar(
+				TimeZone.getTimeZone("America/New_York"));
+		for (LocalDate day = LocalDate.of(2015, 1, 1); day.getYear() == 2015;
+				day = day.plusDays(1)) {
+			date.clear();
+			date.set(day.getYear(), day.getMonthValue() - 1,
+					day.getDayOfMonth());
+			assertEquals(day.toString(), PackedSolarEvent
+					.epochSecond(philadelphia.getSunriseEvent(OFFICIAL, date)),
+					philadelphia.getSunriseInstant(OFFICIAL, day)
+							.getEpochSecond());
+			assertEquals(day.toString(), PackedSolarEvent
+					.epochSecond(philadelphia.getSunsetEvent(CIVIL, date)),
+					philadelphia.getSunsetInstant(CIVIL, day).getEpochSecond());
+		}
+	}
+
+	/**
+	 * Tests the {@link LocalDate} methods do not change with the thread
+	 */
+	@Test
+	public void testDateTimeSharedBetweenThreads() throws Exception {
+		final SunriseSunset shared = new SunriseSunset("America/New_York",
+				"39.9937", "-75.7850");
+		final LocalDate startDate = LocalDate.of(2015, 1, 1);
+		final Instant[] expected = new Instant[365];
+		for (int day = 0; day < expected.length; day++) {
+			expected[day] = shared.getSunsetInstant(CIVIL,
+					startDate.plusDays(day));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int task = 0; task < 8; task++) {
+				results.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() {
+						for (int day = 0; day < expected.length; day++) {
+							if (!expected[day].equals(shared.getSunsetInstant(
+									CIVIL, startDate.plusDays(day)))) {
+								return false;
+							}
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests the polar night in the
+	 * {@link SunriseSunset#getSunriseInstant(Twilight, LocalDate)}
+	 */
+	@Test
+	public void testDateTimePolarNight() {
+		SunriseSunset longyearbyen = new SunriseSunset("Europe/Oslo",
+				"78.2232", "15.6267");
+		LocalDate date = LocalDate.of(2015, 12, 21);
+		assertNull(longyearbyen.getSunriseInstant(OFFICIAL, date));
+		assertNull(longyearbyen.getSunriseDateTime(OFFICIAL, date));
+		assertNull(longyearbyen.getSunriseOffsetDateTime(OFFICIAL, date));
+	}
+
+	/**
+	 * Tests the {@link SunriseSunset#getDayLength(Twilight, LocalDate)} and
+	 * {@link SunriseSunset#getSolarNoon(LocalDate)} against the sunrise and
+	 * sunset
+	 */
+	@Test
+	public void testDayLengthAndSolarNoon() {
+		SunriseSunset philadelphia = new SunriseSunset("America/New_York",
+				"39.9522", "-75.1642");
+		LocalDate date = LocalDate.of(2015, 6, 21);
+		ZonedDateTime sunrise = philadelphia.getSunriseDateTime(OFFICIAL, date);
+		ZonedDateTime sunset = philadelphia.getSunsetDateTime(OFFICIAL, date);
+		long minutes = Duration.between(sunrise, sunset).toMinutes();
+		assertTrue(Math.abs(minutes
+				- philadelphia.getDayLength(OFFICIAL, date).toMinutes()) <= 1);
+		LocalTime noon = sunrise.plusMinutes(minutes / 2).toLocalTime();
+		assertTrue(Math.abs(Duration.between(noon,
+				philadelphia.getSolarNoon(date)).toMinutes()) <= 2);
+		Duration twilight = philadelphia.getDayLength(CIVIL, date).minus(
+				philadelphia.getDayLength(OFFICIAL, date));
+		assertTrue(Math.abs(twilight.minus(
+				philadelphia.getTwilightDuration(CIVIL, date)).toMinutes()) <= 1);
+	}
+
 	/**
 	 * Tests specific location with a different {@link TimeZone}
 	 */
@@ -0,0 +1,162 @@
+/*
+ The MIT License (MIT)
+
+ Copyright (c) <year> <copyright holders>
+
+ Permission is hereby granted, free of charge, to any person obtaining a copy
+ of this software and associated documentation files (the "Software"), to deal
+ in the Software without restriction, including without limitation the rights
+ to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ copies of the Software, and to permit persons to whom the Software is
+ furnished to do so, subject to the following conditions:
+
+ The above copyright notice and this permission notice shall be included in
+ all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ THE SOFTWARE.
+ */
+package test.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import main.java.ZoneOffsetTable;
+
+import org.junit.Test;
+
+/**
+ * The {@link ZoneOffsetTableTest} class tests the functionality within the
+ * {@link ZoneOffsetTable} class
+ * 
+ * @version 1.0
+ */
+public class ZoneOffsetTableTest {
+	private static final long MILLIS_PER_HOUR = 3600000L;
+
+	/**
+	 * Tests that every offset of the table matches the {@code TimeZone} and a
+	 * {@code Calendar} each hour of the year and around each transition
+	 */
+	@Test
+	public void testOffsetsMatchTimeZone() {
+		String[] identifiers = { "America/New_York", "Europe/London",
+				"Australia/Sydney", "America/Santiago", "Asia/Kolkata",
+				"Europe/Moscow", "Pacific/Apia", "Australia/Lord_Howe", "UTC" };
+		int[] years = { 1995, 2011, 2014, 2015, 2016 };
+		for (String identifier : identifiers) {
+			TimeZone timeZone = TimeZone.getTimeZone(identifier);
+			for (int year : years) {
+				ZoneOffsetTable table = ZoneOffsetTable.getInstance(timeZone,
+						year);
+				assertEquals(year, table.getYear());
+				Calendar calendar = new GregorianCalendar(timeZone);
+				calendar.clear();
+				calendar.set(year, Calendar.JANUARY, 1);
+				long start = calendar.getTimeInMillis()
+						- (24 * MILLIS_PER_HOUR);
+				for (int hour = 0; hour < (368 * 24); hour++) {
+					long epochMillis = start + (hour * MILLIS_PER_HOUR);
+					assertSameOffsets(identifier, table, timeZone, epochMillis);
+					long next = epochMillis + MILLIS_PER_HOUR;
+					if (timeZone.getOffset(next) != timeZone
+							.getOffset(epochMillis)) {
+						/* Check each minute and the milliseconds around it */
+						for (long minute = 0; minute <= 60; minute++) {
+							long around = epochMillis + (minute * 60000L);
+							assertSameOffsets(identifier, table, timeZone,
+									around - 1);
+							assertSameOffsets(identifier, table, timeZone,
+									around);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests the number of transitions found for zones with and without
+	 * daylight saving time
+	 */
+	@Test
+	public void testTransitionCount() {
+		assertEquals(2,
+				ZoneOffsetTable.getInstance(
+						TimeZone.getTimeZone("America/New_York"), 2015)
+						.getTransitionCount());
+		assertEquals(2,
+				ZoneOffsetTable.getInstance(
+						TimeZone.getTimeZone("Australia/Sydney"), 2015)
+						.getTransitionCount());
+		assertEquals(0,
+				ZoneOffsetTable.getInstance(
+						TimeZone.getTimeZone("Asia/Kolkata"), 2015)
+						.getTransitionCount());
+	}
+
+	/**
+	 * Tests the instants outside of the year of the table
+	 */
+	@Test
+	public void testOutsideOfYear() {
+		TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		ZoneOffsetTable table = ZoneOffsetTable.getInstance(timeZone, 2015);
+		long july2010 = new GregorianCalendar(2010, Calendar.JULY, 1)
+				.getTimeInMillis();
+		assertFalse(table.contains(july2010));
+		assertSameOffsets("America/New_York", table, timeZone, july2010);
+		long july2015 = new GregorianCalendar(2015, Calendar.JULY, 1)
+				.getTimeInMillis();
+		assertTrue(table.contains(july2015));
+	}
+
+	/**
+	 * Tests that the tables are shared by the time zones with the same rules
+	 */
+	@Test
+	public void testTableIsShared() {
+		ZoneOffsetTable table = ZoneOffsetTable.getInstance(
+				TimeZone.getTimeZone("Europe/Paris"), 2015);
+		assertSame(table, ZoneOffsetTable.getInstance(
+				TimeZone.getTimeZone("Europe/Paris"), 2015));
+		assertNotSame(table, ZoneOffsetTable.getInstance(
+				TimeZone.getTimeZone("Europe/Paris"), 2016));
+
+		/* A time zone with the same identifier but other rules */
+		SimpleTimeZone custom = new SimpleTimeZone(0, "Europe/Paris");
+		ZoneOffsetTable customTable = ZoneOffsetTable.getInstance(custom, 2015);
+		assertNotSame(table, customTable);
+		assertEquals(0, customTable.getOffset(new GregorianCalendar(2015,
+				Calendar.JULY, 1).getTimeInMillis()));
+	}
+
+	private static void assertSameOffsets(String identifier,
+			ZoneOffsetTable table, TimeZone timeZone, long epochMillis) {
+		String message = identifier + " at " + epochMillis;
+		Calendar calendar = new GregorianCalendar(timeZone);
+		calendar.setTimeInMillis(epochMillis);
+		assertEquals(message, timeZone.getOffset(epochMillis),
+				table.getOffset(epochMillis));
+		assertEquals(message, calendar.get(Calendar.ZONE_OFFSET),
+				table.getRawOffset(epochMillis));
+		assertEquals(message, timeZone.inDaylightTime(new Date(epochMillis)),
+				table.inDaylightTime(epochMillis));
+		assertEquals(message, calendar.get(Calendar.DAY_OF_YEAR),
+				table.getDayOfYear(epochMillis));
+	}
+}